@@ -3,39 +3,76 @@ package com.restaurant;
 import com.restaurant.application.console.ConsoleMenu;
 import com.restaurant.application.console.OrderConsoleAdapter;
 import com.restaurant.application.console.ProductConsoleAdapter;
+import com.restaurant.application.file.FileCouponLoader;
 import com.restaurant.application.file.FileProductLoader;
+import com.restaurant.application.file.MenuFileWatcher;
+import com.restaurant.domain.model.CategoryDictionary;
 import com.restaurant.domain.repository.CouponRepository;
-import com.restaurant.domain.repository.OrderRepository;
 import com.restaurant.domain.repository.ProductRepository;
 import com.restaurant.domain.service.DiscountService;
+import com.restaurant.domain.service.FloorState;
+import com.restaurant.domain.service.KitchenDispatcher;
+import com.restaurant.domain.service.SalesAnalytics;
 import com.restaurant.infrastructure.InMemoryCouponRepository;
-import com.restaurant.infrastructure.InMemoryOrderRepository;
 import com.restaurant.infrastructure.InMemoryProductRepository;
+import com.restaurant.infrastructure.journal.ArchivingOrderRepository;
+import com.restaurant.infrastructure.journal.JournalingOrderRepository;
 import com.restaurant.usecase.OrderUseCase;
 import com.restaurant.usecase.ProductUseCase;
+import io.micrometer.core.instrument.Metrics;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.util.Scanner;
 
 public class Main {
+    // Directorio del journal de pedidos (se puede cambiar con -Drestaurant.journal.dir=...)
+    private static final String JOURNAL_DIR = System.getProperty("restaurant.journal.dir", "data/journal");
+    // Pedidos cerrados y cancelados antiguos (-Drestaurant.archive.dir=...)
+    private static final String ARCHIVE_DIR = System.getProperty("restaurant.archive.dir", "data/archive");
+    // Carta en disco que se recarga al cambiar (-Drestaurant.menu.file=...); sin ella se usa menu.txt del classpath
+    private static final String MENU_FILE = System.getProperty("restaurant.menu.file", "");
+
     public static void main(String[] args) {
         ConsoleMenu mainMenu = createMainMenu();
         mainMenu.showMainMenu();
     }
 
     private static ConsoleMenu createMainMenu() {
-        // Repositorios en memoria
-        ProductRepository productRepository = new InMemoryProductRepository();
-        OrderRepository orderRepository = new InMemoryOrderRepository();
+        // Repositorios en memoria; los pedidos además se registran en disco para sobrevivir a un reinicio
+        // y los terminados más antiguos se archivan comprimidos para no crecer en memoria
+        // Un solo diccionario de categorías: la carta y los pedidos recuperados comparten cada nombre
+        CategoryDictionary categories = new CategoryDictionary();
+        ProductRepository productRepository = new InMemoryProductRepository(categories);
+        ArchivingOrderRepository orderRepository = new ArchivingOrderRepository(
+                new JournalingOrderRepository(Path.of(JOURNAL_DIR), JournalingOrderRepository.DEFAULT_CHECKPOINT_INTERVAL, categories),
+                Path.of(ARCHIVE_DIR), ArchivingOrderRepository.DEFAULT_HOT_TERMINAL_ORDERS, categories);
         CouponRepository couponRepository = new InMemoryCouponRepository();
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> closeQuietly(orderRepository)));
 
         // Cargar productos desde archivo
-        FileProductLoader productLoader = new FileProductLoader(productRepository);
-        productLoader.loadProducts("menu.txt");
+        if (MENU_FILE.isBlank()) {
+            FileProductLoader productLoader = new FileProductLoader(productRepository);
+            productLoader.loadProducts("menu.txt");
+        } else {
+            MenuFileWatcher menuWatcher = new MenuFileWatcher(productRepository, Path.of(MENU_FILE));
+            menuWatcher.start();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> closeQuietly(menuWatcher)));
+        }
+
+        // Cargar cupones desde archivo
+        FileCouponLoader couponLoader = new FileCouponLoader(couponRepository);
+        couponLoader.loadCoupons("coupons.txt");
 
         // Servicios y casos de uso
         DiscountService discountService = new DiscountService(couponRepository);
         ProductUseCase productUseCase = new ProductUseCase(productRepository);
-        OrderUseCase orderUseCase = new OrderUseCase(orderRepository, couponRepository, discountService);
+        // Los acumulados de ventas parten de los pedidos cerrados antes (el archivo aporta los suyos ya sumados)
+        SalesAnalytics salesAnalytics = new SalesAnalytics();
+        orderRepository.seedSalesAnalytics(salesAnalytics);
+        // Una mesa, un pedido abierto: la consola elige los pedidos por número de mesa
+        OrderUseCase orderUseCase = new OrderUseCase(orderRepository, couponRepository, discountService,
+                KitchenDispatcher.NONE, salesAnalytics, new FloorState(), Metrics.globalRegistry);
 
         // Adaptadores de consola
         ProductConsoleAdapter productAdapter = new ProductConsoleAdapter(productUseCase);
@@ -45,6 +82,22 @@ public class Main {
         Scanner scanner = new Scanner(System.in);
         return new ConsoleMenu(productAdapter, orderAdapter, scanner);
     }
+
+    private static void closeQuietly(MenuFileWatcher menuWatcher) {
+        try {
+            menuWatcher.close();
+        } catch (IOException e) {
+            System.err.println("Error closing menu watcher: " + e.getMessage());
+        }
+    }
+
+    private static void closeQuietly(ArchivingOrderRepository orderRepository) {
+        try {
+            orderRepository.close();
+        } catch (IOException e) {
+            System.err.println("Error closing order journal: " + e.getMessage());
+        }
+    }
 }
 
 
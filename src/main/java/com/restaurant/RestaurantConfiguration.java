@@ -0,0 +1,170 @@
+package com.restaurant;
+
+import com.restaurant.application.file.FileCouponLoader;
+import com.restaurant.application.file.FileProductLoader;
+import com.restaurant.application.file.MenuFileWatcher;
+import com.restaurant.domain.model.CategoryDictionary;
+import com.restaurant.domain.repository.CouponRepository;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.domain.repository.ProductRepository;
+import com.restaurant.domain.service.DiscountService;
+import com.restaurant.domain.service.FloorState;
+import com.restaurant.domain.service.SalesAnalytics;
+import com.restaurant.domain.service.ZReportGenerator;
+import com.restaurant.infrastructure.InMemoryCouponRepository;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import com.restaurant.infrastructure.journal.ArchivingOrderRepository;
+import com.restaurant.infrastructure.kitchen.KitchenDispatchPipeline;
+import com.restaurant.infrastructure.metrics.MeteredCouponRepository;
+import com.restaurant.infrastructure.metrics.MeteredOrderRepository;
+import com.restaurant.infrastructure.metrics.MeteredProductRepository;
+import com.restaurant.usecase.OrderUseCase;
+import com.restaurant.usecase.ProductUseCase;
+import com.restaurant.usecase.ReportUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * Equivalente de Main.createMainMenu para la aplicación Spring: repositorios, servicios y casos de uso.
+ * Los repositorios en memoria se usan salvo que restaurant.repository=jpa (ver infrastructure.jpa).
+ */
+@Configuration
+public class RestaurantConfiguration {
+    private static final Logger kitchenLog = LoggerFactory.getLogger("com.restaurant.kitchen");
+    private static final Logger menuLog = LoggerFactory.getLogger("com.restaurant.menu");
+
+    // Compartido por los repositorios (en memoria o JPA) que crean productos
+    @Bean
+    public CategoryDictionary categoryDictionary() {
+        return new CategoryDictionary();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "restaurant.repository", havingValue = "memory", matchIfMissing = true)
+    public ProductRepository productRepository(CategoryDictionary categoryDictionary) {
+        return new InMemoryProductRepository(categoryDictionary);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "restaurant.repository", havingValue = "memory", matchIfMissing = true)
+    public OrderRepository orderRepository(
+            @Value("${restaurant.orders.archive-dir:}") String archiveDir,
+            @Value("${restaurant.orders.hot-terminal-orders:" + ArchivingOrderRepository.DEFAULT_HOT_TERMINAL_ORDERS + "}") int hotTerminalOrders,
+            CategoryDictionary categoryDictionary) {
+        if (archiveDir.isBlank()) {
+            return new InMemoryOrderRepository();
+        }
+        return new ArchivingOrderRepository(new InMemoryOrderRepository(), Path.of(archiveDir), hotTerminalOrders,
+                categoryDictionary);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "restaurant.repository", havingValue = "memory", matchIfMissing = true)
+    public CouponRepository couponRepository() {
+        return new InMemoryCouponRepository();
+    }
+
+    /**
+     * Envuelve los repositorios (en memoria o JPA) con sus decoradores de métricas.
+     * Es estático para que Spring lo registre antes de crear los repositorios.
+     */
+    @Bean
+    public static BeanPostProcessor meteredRepositories(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ProductRepository products && !(bean instanceof MeteredProductRepository)) {
+                    return new MeteredProductRepository(products, meterRegistry.getObject());
+                }
+                if (bean instanceof OrderRepository orders && !(bean instanceof MeteredOrderRepository)) {
+                    return new MeteredOrderRepository(orders, meterRegistry.getObject());
+                }
+                if (bean instanceof CouponRepository coupons && !(bean instanceof MeteredCouponRepository)) {
+                    return new MeteredCouponRepository(coupons, meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public DiscountService discountService(CouponRepository couponRepository) {
+        return new DiscountService(couponRepository);
+    }
+
+    // Se carga una sola vez con los pedidos cerrados que ya tenga el repositorio (ver seedSalesAnalytics)
+    @Bean
+    public SalesAnalytics salesAnalytics(OrderRepository orderRepository) {
+        SalesAnalytics salesAnalytics = new SalesAnalytics();
+        orderRepository.seedSalesAnalytics(salesAnalytics);
+        return salesAnalytics;
+    }
+
+    @Bean
+    public ReportUseCase reportUseCase(OrderRepository orderRepository) {
+        return new ReportUseCase(orderRepository, new ZReportGenerator());
+    }
+
+    @Bean
+    public ProductUseCase productUseCase(ProductRepository productRepository, MeterRegistry meterRegistry) {
+        return new ProductUseCase(productRepository, meterRegistry);
+    }
+
+    // Cada estación recibe sus tickets por lotes; por ahora se registran en el log de cocina
+    @Bean(destroyMethod = "close")
+    public KitchenDispatchPipeline kitchenDispatchPipeline(
+            @Value("${restaurant.kitchen.station-capacity:" + KitchenDispatchPipeline.DEFAULT_STATION_CAPACITY + "}") int stationCapacity,
+            @Value("${restaurant.kitchen.max-batch:" + KitchenDispatchPipeline.DEFAULT_MAX_BATCH + "}") int maxBatch) {
+        return new KitchenDispatchPipeline((station, batch) -> batch.forEach(ticket ->
+                kitchenLog.info("[{}] Mesa {}: {}", station, ticket.tableNumber(), ticket.item())),
+                stationCapacity, maxBatch);
+    }
+
+    @Bean
+    public FloorState floorState(@Value("${restaurant.floor.tables:" + FloorState.DEFAULT_TABLES + "}") int tables) {
+        return new FloorState(tables);
+    }
+
+    @Bean
+    public OrderUseCase orderUseCase(OrderRepository orderRepository, CouponRepository couponRepository,
+                                     DiscountService discountService, KitchenDispatchPipeline kitchenDispatchPipeline,
+                                     SalesAnalytics salesAnalytics, FloorState floorState, MeterRegistry meterRegistry) {
+        return new OrderUseCase(orderRepository, couponRepository, discountService, kitchenDispatchPipeline,
+                salesAnalytics, floorState, meterRegistry);
+    }
+
+    // Con restaurant.menu.file la carta se carga de ese archivo y se recarga cada vez que cambia
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "restaurant.menu.file")
+    public MenuFileWatcher menuFileWatcher(ProductRepository productRepository,
+                                           @Value("${restaurant.menu.file}") String menuFile) {
+        MenuFileWatcher watcher = new MenuFileWatcher(productRepository, Path.of(menuFile),
+                diff -> menuLog.info("Carta recargada desde {}: {}", menuFile, diff));
+        watcher.start();
+        return watcher;
+    }
+
+    // Carga la carta y los cupones al arrancar, igual que la consola (la carta solo si el repositorio está
+    // vacío y no la carga menuFileWatcher)
+    @Bean
+    public ApplicationRunner catalogLoader(ProductRepository productRepository, CouponRepository couponRepository,
+                                           @Value("${restaurant.menu.file:}") String menuFile) {
+        return args -> {
+            if (menuFile.isBlank() && productRepository.findAll().isEmpty()) {
+                new FileProductLoader(productRepository).loadProducts("menu.txt");
+            }
+            new FileCouponLoader(couponRepository).loadCoupons("coupons.txt");
+        };
+    }
+}
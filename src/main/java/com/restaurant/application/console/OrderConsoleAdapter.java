@@ -1,25 +1,31 @@
 package com.restaurant.application.console;
 
+import com.restaurant.application.receipt.ReceiptRenderer;
+import com.restaurant.domain.model.MenuSnapshot;
 import com.restaurant.domain.model.Order;
-import com.restaurant.domain.model.OrderStatus;
 import com.restaurant.domain.model.Product;
 import com.restaurant.usecase.OrderUseCase;
 import com.restaurant.usecase.ProductUseCase;
 
-import java.text.NumberFormat;
 import java.util.*;
 
 public class OrderConsoleAdapter {
+    private static final int MAX_SUGGESTIONS = 5;
+
     private final OrderUseCase orderUseCase;
     private final ProductUseCase productUseCase;
     private final Scanner scanner;
-    private final NumberFormat currencyFormat;
+    private final ReceiptRenderer receiptRenderer;
+
+    // Lista de productos ya formateada para la versión 'renderedVersion' de la carta
+    private long renderedVersion = -1;
+    private String renderedMenu;
 
     public OrderConsoleAdapter(OrderUseCase orderUseCase, ProductUseCase productUseCase) {
         this.orderUseCase = orderUseCase;
         this.productUseCase = productUseCase;
         this.scanner = new Scanner(System.in);
-        this.currencyFormat = NumberFormat.getCurrencyInstance(new Locale("es", "CO"));
+        this.receiptRenderer = new ReceiptRenderer();
     }
 
     public void createOrder() {
@@ -36,7 +42,7 @@ public class OrderConsoleAdapter {
             // 3. Añadir productos
             addItemsToOrder(order.getId());
 
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | IllegalStateException e) {
             System.out.println("\n❌ Error: " + e.getMessage());
         } catch (Exception e) {
             System.out.println("\n⚠️ Error inesperado al crear el pedido");
@@ -77,7 +83,7 @@ public class OrderConsoleAdapter {
             // 4. Mostrar resumen
             printReceipt(closedOrder);
 
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | IllegalStateException e) {
             System.out.println("\n❌ Error: " + e.getMessage());
         } catch (Exception e) {
             System.out.println("\n⚠️ Error inesperado al cerrar el pedido");
@@ -86,35 +92,23 @@ public class OrderConsoleAdapter {
         }
     }
     private void printReceipt(Order order) {
-        System.out.println("\n=== 🧾 RECIBO DE PAGO ===");
-        printOrderDetails(order);
-
-        System.out.printf("\n💰 TOTAL A PAGAR: %s%n",
-                currencyFormat.format(order.calculateTotal()));
+        System.out.print(receiptRenderer.renderReceipt(order));
     }
 
     public void markOrderAsDelivered() {
-        System.out.print("Ingrese el ID del pedido a marcar como entregado: ");
-        String orderIdInput = scanner.nextLine().trim();
+        UUID orderId = selectOrderId("marcar como entregado");
+        if (orderId == null) return;
 
         try {
-            UUID orderId = UUID.fromString(orderIdInput);
-            Optional<Order> orderOpt = orderUseCase.getOrderById(orderId);
-
-            if (orderOpt.isPresent()) {
-                Order order = orderOpt.get();
-
-                if (order.getStatus() == OrderStatus.IN_PROGRESS) {
-                    order.changeStatus(OrderStatus.DELIVERED);
-                    System.out.println("✅ El pedido ha sido marcado como ENTREGADO.");
-                } else {
-                    System.out.println("⚠️ El pedido no está en progreso y no se puede marcar como entregado.");
-                }
+            if (orderUseCase.markOrderAsDelivered(orderId)) {
+                System.out.println("✅ El pedido ha sido marcado como ENTREGADO.");
             } else {
-                System.out.println("❌ No se encontró un pedido con ese ID.");
+                System.out.println("⚠️ El pedido no está en progreso y no se puede marcar como entregado.");
             }
         } catch (IllegalArgumentException e) {
-            System.out.println("❌ ID de pedido inválido.");
+            System.out.println("❌ No se encontró el pedido.");
+        } catch (IllegalStateException e) {
+            System.out.println("❌ " + e.getMessage());
         }
     }
 
@@ -133,7 +127,7 @@ public class OrderConsoleAdapter {
             } else {
                 System.out.println("\n⚠️ No se pudo cancelar el pedido. Puede que ya haya sido entregado.");
             }
-        } catch (IllegalArgumentException e) {
+        } catch (IllegalArgumentException | IllegalStateException e) {
             System.out.println("\n❌ Error: " + e.getMessage());
         } catch (Exception e) {
             System.out.println("\n⚠️ Error inesperado al cancelar el pedido");
@@ -147,13 +141,10 @@ public class OrderConsoleAdapter {
     private int readTableNumber() {
         while (true) {
             try {
-                System.out.print("Ingrese el número de mesa (1-50): ");
+                // El rango lo valida el caso de uso con las mesas del salón
+                System.out.print("Ingrese el número de mesa: ");
                 int tableNumber = scanner.nextInt();
                 scanner.nextLine();
-
-                if (tableNumber < 1 || tableNumber > 50) {
-                    throw new IllegalArgumentException("Número de mesa inválido");
-                }
                 return tableNumber;
             } catch (InputMismatchException e) {
                 System.out.println("Por favor ingrese un número válido");
@@ -162,29 +153,40 @@ public class OrderConsoleAdapter {
         }
     }
 
+    // La lista se muestra en cada vuelta de addItemsToOrder: solo se formatea cuando cambia la carta
+    private String renderMenu() {
+        MenuSnapshot menu = productUseCase.getMenu();
+        if (menu.version() != renderedVersion) {
+            StringBuilder out = new StringBuilder(48 * menu.products().size());
+            for (Product product : menu.products()) {
+                out.append("- ").append(product.getName()).append(" (");
+                receiptRenderer.appendCurrency(out, product.getPrice());
+                out.append(')').append(System.lineSeparator());
+            }
+            renderedMenu = out.toString();
+            renderedVersion = menu.version();
+        }
+        return renderedMenu;
+    }
+
     private void addItemsToOrder(UUID orderId) {
         boolean addingItems = true;
 
         while (addingItems) {
             System.out.println("\n🛒 Añadiendo productos al pedido:");
-            productUseCase.getAllProducts().forEach(p ->
-                    System.out.printf("- %s (%s)%n", p.getName(), currencyFormat.format(p.getPrice()))
-            );
+            System.out.print(renderMenu());
 
             System.out.print("\nIngrese el nombre del producto (o 'fin' para terminar): ");
-            String productName = scanner.nextLine().trim().toLowerCase(); // Normaliza el nombre ingresado
+            String productName = scanner.nextLine().trim();
 
             if (productName.equalsIgnoreCase("fin")) {
                 addingItems = false;
                 continue;
             }
 
-            Optional<Product> product = productUseCase.getAllProducts().stream()
-                    .filter(p -> p.getName().trim().toLowerCase().equals(productName)) // Normaliza el nombre en la comparación
-                    .findFirst();
+            Optional<Product> product = resolveProduct(productName);
 
             if (product.isEmpty()) {
-                System.out.println("⚠️ Producto no encontrado");
                 continue;
             }
 
@@ -210,6 +212,27 @@ public class OrderConsoleAdapter {
         }
     }
 
+    // Busca por nombre exacto; si no existe, autocompleta cuando el prefijo identifica un único producto
+    private Optional<Product> resolveProduct(String input) {
+        Optional<Product> exact = productUseCase.findProductByName(input);
+        if (exact.isPresent()) {
+            return exact;
+        }
+
+        List<Product> suggestions = productUseCase.suggestProducts(input, MAX_SUGGESTIONS);
+        if (suggestions.size() == 1) {
+            System.out.printf("🔎 Autocompletado: %s%n", suggestions.get(0).getName());
+            return Optional.of(suggestions.get(0));
+        }
+
+        System.out.println("⚠️ Producto no encontrado");
+        if (!suggestions.isEmpty()) {
+            System.out.println("¿Quiso decir?");
+            suggestions.forEach(p -> System.out.printf("- %s%n", p.getName()));
+        }
+        return Optional.empty();
+    }
+
     private UUID selectOrderId(String action) {
         List<Order> activeOrders = orderUseCase.getActiveOrders();
         if (activeOrders.isEmpty()) {
@@ -217,57 +240,32 @@ public class OrderConsoleAdapter {
             return null;
         }
 
+        // El pedido se elige por mesa: cada mesa tiene a lo sumo un pedido abierto
         while (true) {
-            try {
-                System.out.printf("\nIngrese el ID del pedido a %s (o 'salir' para cancelar): ", action);
-                String input = scanner.nextLine();
+            System.out.printf("\nIngrese el número de mesa del pedido a %s (o 'salir' para cancelar): ", action);
+            String input = scanner.nextLine().trim();
 
-                if (input.equalsIgnoreCase("salir")) {
-                    return null;
-                }
+            if (input.equalsIgnoreCase("salir")) {
+                return null;
+            }
 
-                return UUID.fromString(input);
+            try {
+                int tableNumber = Integer.parseInt(input);
+                Optional<Order> order = orderUseCase.getOpenOrderForTable(tableNumber);
+                if (order.isPresent()) {
+                    return order.get().getId();
+                }
+                System.out.println("⚠️ La mesa #" + tableNumber + " no tiene un pedido abierto");
+            } catch (NumberFormatException e) {
+                System.out.println("⚠️ Número de mesa inválido");
             } catch (IllegalArgumentException e) {
-                System.out.println("⚠️ ID inválido. Debe ser un UUID válido");
+                System.out.println("⚠️ " + e.getMessage());
             }
         }
     }
 
     private void printOrderDetails(Order order) {
-        System.out.println("\n=================================");
-        System.out.printf("📋 Pedido #%s%n", order.getId());
-        System.out.printf("🪑 Mesa: #%d%n", order.getTableNumber());
-        System.out.printf("📊 Estado: %s%n", translateStatus(order.getStatus()));
-
-        System.out.println("\n🍽️ Productos:");
-        order.getItems().forEach(item ->
-                System.out.printf("- %2d x %-20s %10s%n",
-                        item.quantity(),
-                        item.product().getName(),
-                        currencyFormat.format(item.product().getPrice())));
-
-        // Muestra el subtotal (sin descuento)
-        System.out.println("\n💵 Subtotal: " + currencyFormat.format(order.calculateSubtotal()));
-
-        // Si hay descuento, mostrarlo también acá
-        if (order.isDiscountApplied()) {
-            System.out.printf("🎫 Descuento aplicado: -%s (%.2f%%)%n",
-                    currencyFormat.format(order.getDiscountAmount()),
-                    order.getDiscountPercentage());
-        }
-
-        System.out.println("=================================");
-    }
-
-
-    private String translateStatus(OrderStatus status) {
-        return switch (status) {
-            case CREATED -> "🆕 Creado";
-            case IN_PROGRESS -> "👨‍🍳 En preparación";
-            case DELIVERED -> "✅ Entregado";
-            case CANCELLED -> "❌ Cancelado";
-            case CLOSED -> "💰 Cerrado/Pagado";
-        };
+        System.out.print(receiptRenderer.renderDetails(order));
     }
 
     private void pause() {
@@ -1,5 +1,7 @@
 package com.restaurant.application.console;
 
+import com.restaurant.domain.model.MenuSnapshot;
+import com.restaurant.domain.model.Money;
 import com.restaurant.domain.model.Product;
 import com.restaurant.usecase.ProductUseCase;
 
@@ -9,9 +11,15 @@ import java.util.Scanner;
 import java.util.UUID;
 
 public class ProductConsoleAdapter {
+    private static final int MAX_SUGGESTIONS = 5;
+
     private final ProductUseCase productUseCase;
     private final Scanner scanner;
 
+    // Carta ya formateada y la versión con la que se formateó
+    private long renderedVersion = -1;
+    private String renderedMenu;
+
     public ProductConsoleAdapter(ProductUseCase productUseCase) {
         this.productUseCase = productUseCase;
         this.scanner = new Scanner(System.in);
@@ -21,22 +29,33 @@ public class ProductConsoleAdapter {
      * Muestra todos los productos disponibles en la carta
      */
     public void showAllProducts() {
-        List<Product> products = productUseCase.getAllProducts();
+        MenuSnapshot menu = productUseCase.getMenu();
 
-        if (products.isEmpty()) {
+        if (menu.isEmpty()) {
             System.out.println("\nNo hay productos disponibles en la carta.");
             return;
         }
 
-        System.out.println("\n=== CARTA COMPLETA ===");
-        System.out.printf("%-20s %-10s %-15s%n", "NOMBRE", "PRECIO", "CATEGORÍA");
-        System.out.println("----------------------------------------");
+        // Solo se vuelve a formatear cuando la carta cambió
+        if (menu.version() != renderedVersion) {
+            renderedMenu = render(menu);
+            renderedVersion = menu.version();
+        }
+        System.out.print(renderedMenu);
+    }
 
-        products.forEach(product ->
-                System.out.printf("%-20s $%-9.2f %-15s%n",
+    private static String render(MenuSnapshot menu) {
+        StringBuilder out = new StringBuilder(64 * (menu.products().size() + 4));
+        out.append("\n=== CARTA COMPLETA ===\n");
+        out.append(String.format("%-20s %-10s %-15s%n", "NOMBRE", "PRECIO", "CATEGORÍA"));
+        out.append("----------------------------------------\n");
+
+        menu.products().forEach(product ->
+                out.append(String.format("%-20s $%-9s %-15s%n",
                         product.getName(),
-                        product.getPrice(),
-                        product.getCategory()));
+                        Money.toPlainString(product.getPrice()),
+                        product.getCategory())));
+        return out.toString();
     }
 
     /**
@@ -74,11 +93,11 @@ public class ProductConsoleAdapter {
 
         System.out.printf("\n=== %s ===%n", category);
         products.forEach(product ->
-                System.out.printf("- %s ($%.2f)%n", product.getName(), product.getPrice()));
+                System.out.printf("- %s ($%s)%n", product.getName(), Money.toPlainString(product.getPrice())));
     }
 
     /**
-     * Permite seleccionar un producto de la carta
+     * Permite seleccionar un producto de la carta por nombre exacto o por un prefijo que lo identifique
      * @return Optional con el producto seleccionado o empty si no se seleccionó
      */
     public Optional<Product> selectProduct() {
@@ -86,9 +105,18 @@ public class ProductConsoleAdapter {
         System.out.print("\nIngrese el nombre exacto del producto que desea seleccionar: ");
         String productName = scanner.nextLine();
 
-        return productUseCase.getAllProducts().stream()
-                .filter(p -> p.getName().equalsIgnoreCase(productName))
-                .findFirst();
+        Optional<Product> product = productUseCase.findProductByName(productName);
+        if (product.isEmpty()) {
+            List<Product> suggestions = productUseCase.suggestProducts(productName, MAX_SUGGESTIONS);
+            if (suggestions.size() == 1) {
+                return Optional.of(suggestions.get(0));
+            }
+            if (!suggestions.isEmpty()) {
+                System.out.println("¿Quiso decir?");
+                suggestions.forEach(p -> System.out.printf("- %s%n", p.getName()));
+            }
+        }
+        return product;
     }
 
     /**
@@ -132,8 +160,7 @@ public class ProductConsoleAdapter {
         String name = scanner.nextLine();
 
         System.out.print("Precio: ");
-        double price = scanner.nextDouble();
-        scanner.nextLine(); // Limpiar buffer
+        long price = Money.parse(scanner.nextLine());
 
         System.out.print("Categoría (ENTRADA/PLATO_FUERTE/BEBIDA/POSTRE): ");
         String category = scanner.nextLine().toUpperCase();
@@ -165,15 +192,15 @@ public class ProductConsoleAdapter {
             Product product = existingProduct.get();
             System.out.println("\nProducto seleccionado:");
             System.out.printf("Nombre: %s%n", product.getName());
-            System.out.printf("Precio actual: $%.2f%n", product.getPrice());
+            System.out.printf("Precio actual: $%s%n", Money.toPlainString(product.getPrice()));
             System.out.printf("Categoría actual: %s%n", product.getCategory());
 
             System.out.print("\nNuevo nombre (deje vacío para no cambiar): ");
             String newName = scanner.nextLine();
 
-            System.out.print("Nuevo precio (0 para no cambiar): ");
-            double newPrice = scanner.nextDouble();
-            scanner.nextLine(); // Limpiar buffer
+            System.out.print("Nuevo precio (0 o vacío para no cambiar): ");
+            String newPriceInput = scanner.nextLine();
+            long newPrice = newPriceInput.isBlank() ? 0 : Money.parse(newPriceInput);
 
             System.out.print("Nueva categoría (deje vacío para no cambiar): ");
             String newCategory = scanner.nextLine().toUpperCase();
@@ -0,0 +1,61 @@
+package com.restaurant.application.file;
+
+import com.restaurant.domain.model.Coupon;
+import com.restaurant.domain.model.Money;
+import com.restaurant.domain.repository.CouponRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carga cupones en bloque con el formato "CODIGO, valorDescuento, porcentaje" (una línea por cupón)
+ */
+public class FileCouponLoader {
+    private final CouponRepository couponRepository;
+
+    public FileCouponLoader(CouponRepository couponRepository) {
+        this.couponRepository = couponRepository;
+    }
+
+    // Carga cupones desde un recurso del classpath
+    public void loadCoupons(String filename) {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(filename);
+             BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            couponRepository.saveAll(readCoupons(br));
+        } catch (Exception e) {
+            System.err.println("Error loading coupons: " + e.getMessage());
+        }
+    }
+
+    // Carga cupones desde un archivo del sistema (p. ej. los lotes emitidos por mercadeo)
+    public void loadCoupons(Path path) {
+        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            couponRepository.saveAll(readCoupons(br));
+        } catch (Exception e) {
+            System.err.println("Error loading coupons: " + e.getMessage());
+        }
+    }
+
+    private List<Coupon> readCoupons(BufferedReader br) throws IOException {
+        List<Coupon> coupons = new ArrayList<>();
+
+        String line;
+        while ((line = br.readLine()) != null) {
+            String[] parts = line.split(",");
+            if (parts.length == 3) {
+                coupons.add(new Coupon(
+                        parts[0].trim().toUpperCase(),
+                        Money.parse(parts[1]),
+                        Double.parseDouble(parts[2].trim())));
+            }
+        }
+        return coupons;
+    }
+}
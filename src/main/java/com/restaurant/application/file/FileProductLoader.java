@@ -1,11 +1,17 @@
 package com.restaurant.application.file;
 
+import com.restaurant.domain.model.Money;
 import com.restaurant.domain.model.Product;
 import com.restaurant.domain.repository.ProductRepository;
 
 import java.io.BufferedReader;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -16,27 +22,117 @@ public class FileProductLoader {
         this.productRepository = productRepository;
     }
 
-    public void loadProducts(String filename) {
+    // Carga la carta desde un recurso del classpath
+    public LoadReport loadProducts(String filename) {
+        try (InputStream is = getClass().getClassLoader().getResourceAsStream(filename);
+             BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+            return save(readProducts(br));
+        } catch (Exception e) {
+            System.err.println("Error loading products: " + e.getMessage());
+            return LoadReport.EMPTY;
+        }
+    }
+
+    // Carga la carta desde un archivo del sistema (cartas grandes o exportadas por otro sistema)
+    public LoadReport loadProducts(Path path) {
+        try (BufferedReader br = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            return save(readProducts(br));
+        } catch (Exception e) {
+            System.err.println("Error loading products: " + e.getMessage());
+            return LoadReport.EMPTY;
+        }
+    }
+
+    // Una línea mal formada no aborta la carga: se informa con su número y se sigue con la siguiente
+    private LoadReport save(ReadResult result) {
+        productRepository.saveAll(result.products());
+        for (LoadReport.LineError error : result.errors()) {
+            System.err.println("Menu line " + error.line() + " skipped (" + error.reason() + "): " + error.content());
+        }
+        return new LoadReport(result.lines(), result.products().size(), result.errorCount(), result.errors());
+    }
+
+    /**
+     * Carga catálogos grandes (millones de líneas) desde un archivo: lo lee mapeado en memoria,
+     * procesa bloques en paralelo y guarda los productos por lotes a medida que se leen.
+     * A diferencia de loadProducts, no descarta en silencio las líneas mal formadas:
+     * las devuelve en el reporte con su número de línea.
+     */
+    public LoadReport loadProductsParallel(Path path) {
+        return loadProductsParallel(path, Runtime.getRuntime().availableProcessors());
+    }
+
+    public LoadReport loadProductsParallel(Path path, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        return loadProductsParallel(path, parallelism, MappedMenuReader.DEFAULT_CHUNK_BYTES, MappedMenuReader.DEFAULT_BATCH_SIZE);
+    }
+
+    LoadReport loadProductsParallel(Path path, int parallelism, int chunkBytes, int batchSize) {
+        try {
+            return new MappedMenuReader(productRepository, chunkBytes, batchSize, parallelism).read(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not load products from " + path, e);
+        }
+    }
+
+    record ReadResult(long lines, List<Product> products, long errorCount, List<LoadReport.LineError> errors) {
+    }
+
+    // Formato de la carta: nombre, precio, categoría. Las líneas vacías se ignoran y las inválidas se informan
+    static ReadResult readProducts(BufferedReader br) throws IOException {
         List<Product> products = new ArrayList<>();
+        List<LoadReport.LineError> errors = new ArrayList<>();
+        long lines = 0;
+        long errorCount = 0;
 
-        try (InputStream is = getClass().getClassLoader().getResourceAsStream(filename);
-             BufferedReader br = new BufferedReader(new InputStreamReader(is))) {
-
-            String line;
-            while ((line = br.readLine()) != null) {
-                String[] parts = line.split(",");
-                if (parts.length == 3) {
-                    Product product = Product.builder()
-                            .name(parts[0].trim())
-                            .price(Double.parseDouble(parts[1].trim()))
-                            .category(parts[2].trim().toUpperCase())
-                            .build();
-                    products.add(product);
+        String line;
+        while ((line = br.readLine()) != null) {
+            lines++;
+            if (line.isBlank()) {
+                continue;
+            }
+            try {
+                products.add(parseValidLine(line));
+            } catch (IllegalArgumentException e) {
+                errorCount++;
+                if (errors.size() < MappedMenuReader.MAX_REPORTED_ERRORS) {
+                    errors.add(new LoadReport.LineError(lines, line, e.getMessage()));
                 }
             }
-            productRepository.saveAll(products);
-        } catch (Exception e) {
-            System.err.println("Error loading products: " + e.getMessage());
         }
+        return new ReadResult(lines, products, errorCount, List.copyOf(errors));
+    }
+
+    // Devuelve null si la línea no tiene tres campos o el precio no es válido ni positivo
+    static Product parseLine(String line) {
+        try {
+            return parseValidLine(line);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    // Lanza IllegalArgumentException con el motivo del rechazo, con los mismos textos que la carga en paralelo
+    private static Product parseValidLine(String line) {
+        String[] parts = line.split(",");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Se esperaban 3 campos: nombre, precio, categoría");
+        }
+        long price;
+        try {
+            price = Money.parse(parts[1]);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            throw new IllegalArgumentException("Precio inválido");
+        }
+        if (price <= 0) {
+            throw new IllegalArgumentException("El precio debe ser mayor que cero");
+        }
+        return Product.builder()
+                .name(parts[0].trim())
+                .price(price)
+                .category(parts[2].trim().toUpperCase())
+                .build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,19 @@
+package com.restaurant.application.file;
+
+import java.util.List;
+
+/**
+ * Resultado de una carga: líneas leídas, productos guardados y las líneas rechazadas.
+ * Solo se conservan las primeras {@code errors().size()} líneas con error; {@code errorCount} las cuenta todas.
+ */
+public record LoadReport(long linesRead, long productsLoaded, long errorCount, List<LineError> errors) {
+
+    static final LoadReport EMPTY = new LoadReport(0, 0, 0, List.of());
+
+    public record LineError(long line, String content, String reason) {
+    }
+
+    public boolean hasErrors() {
+        return errorCount > 0;
+    }
+}
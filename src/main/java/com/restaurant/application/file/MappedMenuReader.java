@@ -0,0 +1,297 @@
+package com.restaurant.application.file;
+
+import com.restaurant.domain.model.Money;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.repository.ProductRepository;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Lector de cartas "nombre, precio, categoría" para archivos grandes: divide el archivo en bloques
+ * que terminan en fin de línea, mapea cada bloque en memoria y los procesa en paralelo, guardando
+ * los productos por lotes. El heap usado queda acotado por (hilos x tamaño de lote), no por el archivo.
+ */
+final class MappedMenuReader {
+    static final int DEFAULT_CHUNK_BYTES = 16 * 1024 * 1024;
+    static final int DEFAULT_BATCH_SIZE = 10_000;
+    static final int MAX_REPORTED_ERRORS = 1_000;
+
+    private final ProductRepository productRepository;
+    private final int chunkBytes;
+    private final int batchSize;
+    private final int parallelism;
+
+    MappedMenuReader(ProductRepository productRepository, int chunkBytes, int batchSize, int parallelism) {
+        this.productRepository = productRepository;
+        this.chunkBytes = chunkBytes;
+        this.batchSize = batchSize;
+        this.parallelism = parallelism;
+    }
+
+    LoadReport read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            List<long[]> chunks = split(channel);
+            ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, chunks.size())));
+            try {
+                List<Future<ChunkResult>> results = new ArrayList<>(chunks.size());
+                for (long[] chunk : chunks) {
+                    results.add(executor.submit(() -> parseChunk(channel, chunk[0], chunk[1])));
+                }
+                return merge(results);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+    }
+
+    // Límites [inicio, fin) de cada bloque, ajustados para terminar justo después de un '\n'
+    private List<long[]> split(FileChannel channel) throws IOException {
+        long size = channel.size();
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer probe = ByteBuffer.allocate(4096);
+
+        long start = 0;
+        while (start < size) {
+            long end = Math.min(start + chunkBytes, size);
+            while (end < size) {
+                probe.clear();
+                int read = channel.read(probe, end);
+                int newline = -1;
+                for (int i = 0; i < read && newline < 0; i++) {
+                    if (probe.get(i) == '\n') {
+                        newline = i;
+                    }
+                }
+                if (newline >= 0) {
+                    end += newline + 1;
+                    break;
+                }
+                end += read;
+            }
+            chunks.add(new long[]{start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    private LoadReport merge(List<Future<ChunkResult>> results) throws IOException {
+        long lines = 0;
+        long loaded = 0;
+        long errorCount = 0;
+        List<LoadReport.LineError> errors = new ArrayList<>();
+
+        for (Future<ChunkResult> future : results) {
+            ChunkResult chunk = await(future);
+            // Cada bloque numera sus líneas desde 1: se desplazan con las líneas de los bloques anteriores
+            for (LoadReport.LineError error : chunk.errors()) {
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new LoadReport.LineError(lines + error.line(), error.content(), error.reason()));
+                }
+            }
+            lines += chunk.lines();
+            loaded += chunk.loaded();
+            errorCount += chunk.errorCount();
+        }
+        return new LoadReport(lines, loaded, errorCount, List.copyOf(errors));
+    }
+
+    private static ChunkResult await(Future<ChunkResult> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading products", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof UncheckedIOException cause) {
+                throw cause.getCause();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    // ===== PARSEO DE UN BLOQUE =====
+
+    private ChunkResult parseChunk(FileChannel channel, long start, long end) throws IOException {
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+        ByteSlice slice = new ByteSlice(buffer);
+        Map<String, String> categories = new HashMap<>();
+        List<Product> batch = new ArrayList<>(batchSize);
+        List<LoadReport.LineError> errors = new ArrayList<>();
+        long lines = 0;
+        long loaded = 0;
+        long errorCount = 0;
+
+        int limit = buffer.limit();
+        int lineStart = 0;
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            while (lineEnd < limit && buffer.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            int next = lineEnd + 1;
+            if (lineEnd > lineStart && buffer.get(lineEnd - 1) == '\r') {
+                lineEnd--;
+            }
+            lines++;
+
+            String error = parseLine(buffer, slice, lineStart, lineEnd, categories, batch);
+            if (error != null) {
+                errorCount++;
+                if (errors.size() < MAX_REPORTED_ERRORS) {
+                    errors.add(new LoadReport.LineError(lines, decode(buffer, lineStart, lineEnd), error));
+                }
+            }
+            if (batch.size() == batchSize) {
+                productRepository.saveAll(batch);
+                loaded += batch.size();
+                batch = new ArrayList<>(batchSize);
+            }
+            lineStart = next;
+        }
+
+        if (!batch.isEmpty()) {
+            productRepository.saveAll(batch);
+            loaded += batch.size();
+        }
+        return new ChunkResult(lines, loaded, errorCount, errors);
+    }
+
+    /**
+     * Interpreta una línea y, si es válida, la agrega al lote.
+     * @return el motivo del rechazo, o null si la línea es válida o está vacía
+     */
+    private static String parseLine(ByteBuffer buffer, ByteSlice slice, int start, int end,
+                                    Map<String, String> categories, List<Product> batch) {
+        if (isBlank(buffer, start, end)) {
+            return null;
+        }
+
+        int firstComma = indexOf(buffer, ',', start, end);
+        int secondComma = firstComma < 0 ? -1 : indexOf(buffer, ',', firstComma + 1, end);
+        if (secondComma < 0 || indexOf(buffer, ',', secondComma + 1, end) >= 0) {
+            return "Se esperaban 3 campos: nombre, precio, categoría";
+        }
+
+        String name = decodeTrimmed(buffer, start, firstComma);
+        if (name.isEmpty()) {
+            return "Nombre vacío";
+        }
+
+        long price;
+        try {
+            price = Money.parse(slice.wrap(firstComma + 1, secondComma));
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return "Precio inválido";
+        }
+        if (price <= 0) {
+            return "El precio debe ser mayor que cero";
+        }
+
+        String category = decodeTrimmed(buffer, secondComma + 1, end);
+        if (category.isEmpty()) {
+            return "Categoría vacía";
+        }
+
+        batch.add(Product.builder()
+                .name(name)
+                .price(price)
+                .category(categories.computeIfAbsent(category, String::toUpperCase))
+                .build());
+        return null;
+    }
+
+    private static int indexOf(ByteBuffer buffer, char c, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == c) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (!isWhitespace(buffer.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String decodeTrimmed(ByteBuffer buffer, int start, int end) {
+        while (start < end && isWhitespace(buffer.get(start))) start++;
+        while (end > start && isWhitespace(buffer.get(end - 1))) end--;
+        return decode(buffer, start, end);
+    }
+
+    private static String decode(ByteBuffer buffer, int start, int end) {
+        byte[] bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isWhitespace(byte b) {
+        return b == ' ' || b == '\t' || b == '\r';
+    }
+
+    private record ChunkResult(long lines, long loaded, long errorCount, List<LoadReport.LineError> errors) {
+    }
+
+    // Vista de un rango ASCII del buffer como CharSequence, para Money.parse sin crear Strings
+    private static final class ByteSlice implements CharSequence {
+        private final ByteBuffer buffer;
+        private int start;
+        private int end;
+
+        ByteSlice(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        ByteSlice wrap(int start, int end) {
+            this.start = start;
+            this.end = end;
+            return this;
+        }
+
+        @Override
+        public int length() {
+            return end - start;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (buffer.get(start + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int from, int to) {
+            return toString().subSequence(from, to);
+        }
+
+        @Override
+        public String toString() {
+            return decode(buffer, start, end);
+        }
+    }
+}
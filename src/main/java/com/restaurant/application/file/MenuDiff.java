@@ -0,0 +1,22 @@
+package com.restaurant.application.file;
+
+import com.restaurant.domain.model.Product;
+
+import java.util.List;
+
+/**
+ * Cambios aplicados al recargar la carta: productos nuevos, eliminados y modificados
+ * (precio, categoría o mayúsculas del nombre). Los modificados conservan su ID.
+ */
+public record MenuDiff(List<Product> added, List<Product> removed, List<Product> repriced) {
+    public static final MenuDiff NONE = new MenuDiff(List.of(), List.of(), List.of());
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && repriced.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return added.size() + " nuevos, " + removed.size() + " eliminados, " + repriced.size() + " modificados";
+    }
+}
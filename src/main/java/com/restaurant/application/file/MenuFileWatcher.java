@@ -0,0 +1,313 @@
+package com.restaurant.application.file;
+
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.repository.ProductRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Vigila el archivo de la carta y, cuando cambia, aplica al repositorio solo la diferencia:
+ * productos nuevos, eliminados y modificados. Los productos se identifican por nombre
+ * (sin distinguir mayúsculas), así un cambio de precio conserva el ID y los pedidos que lo usan.
+ *
+ * Entre recargas se conserva el contenido anterior del archivo: solo se interpretan las líneas
+ * entre el prefijo y el sufijo comunes, así un cambio pequeño en una carta grande cuesta poco más
+ * que leer el archivo. Si la carta cambió por otro camino (consola, REST) se compara todo el archivo.
+ *
+ * El archivo es la fuente de la carta: un producto del repositorio que no está en el archivo
+ * se elimina. Si el archivo no se puede leer o queda sin productos (p. ej. a medio guardar)
+ * la carta actual se conserva.
+ */
+public class MenuFileWatcher implements Closeable {
+    // Los editores suelen guardar en varias escrituras: se espera este tiempo sin eventos antes de recargar
+    static final long DEFAULT_SETTLE_MILLIS = 50;
+
+    private final ProductRepository productRepository;
+    private final Path file;
+    private final Consumer<MenuDiff> onReload;
+    private final long settleMillis;
+
+    private WatchService watchService;
+    private Thread thread;
+
+    // Contenido del archivo en la última recarga aplicada y cuántas líneas tiene cada nombre,
+    // válidos mientras la versión de la carta siga siendo 'indexedVersion'
+    private byte[] contents;
+    private Map<String, Integer> nameCounts = new HashMap<>();
+    private long indexedVersion = -1;
+
+    public MenuFileWatcher(ProductRepository productRepository, Path file) {
+        this(productRepository, file, diff -> { });
+    }
+
+    public MenuFileWatcher(ProductRepository productRepository, Path file, Consumer<MenuDiff> onReload) {
+        this(productRepository, file, onReload, DEFAULT_SETTLE_MILLIS);
+    }
+
+    MenuFileWatcher(ProductRepository productRepository, Path file, Consumer<MenuDiff> onReload, long settleMillis) {
+        this.productRepository = productRepository;
+        this.file = file.toAbsolutePath();
+        this.onReload = onReload;
+        this.settleMillis = settleMillis;
+    }
+
+    /**
+     * Carga la carta actual del archivo y empieza a vigilarlo en un hilo daemon.
+     * @return los cambios de la carga inicial
+     */
+    public synchronized MenuDiff start() {
+        if (thread != null) {
+            throw new IllegalStateException("Menu watcher already started");
+        }
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            file.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not watch menu file " + file, e);
+        }
+
+        MenuDiff initial = reload();
+        thread = new Thread(this::watch, "menu-file-watcher");
+        thread.setDaemon(true);
+        thread.start();
+        return initial;
+    }
+
+    /**
+     * Lee el archivo y aplica la diferencia con el repositorio. Se puede llamar sin start()
+     * para recargar a mano.
+     */
+    public synchronized MenuDiff reload() {
+        byte[] next;
+        try {
+            next = Files.readAllBytes(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read menu file " + file, e);
+        }
+
+        // Si alguien más cambió la carta desde la última recarga, se compara el archivo completo
+        MenuDiff diff = contents != null && indexedVersion == productRepository.menuVersion()
+                ? diffChangedRegion(next)
+                : diffAll(next);
+        if (diff == null) {
+            return MenuDiff.NONE;
+        }
+        apply(diff);
+        contents = next;
+        indexedVersion = productRepository.menuVersion();
+        return diff;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (watchService != null) {
+            watchService.close();
+        }
+    }
+
+    // Compara todas las líneas del archivo con todo el repositorio; null si el archivo no tiene productos
+    private MenuDiff diffAll(byte[] next) {
+        List<Product> fileProducts = parseLines(next, 0, next.length);
+        if (fileProducts.isEmpty()) {
+            return null;
+        }
+
+        Map<String, Product> existing = new HashMap<>();
+        for (Product product : productRepository.findAll()) {
+            if (product.getName() != null) {
+                existing.put(normalizeName(product.getName()), product);
+            }
+        }
+        nameCounts = new HashMap<>();
+        for (Product product : fileProducts) {
+            nameCounts.merge(normalizeName(product.getName()), 1, Integer::sum);
+        }
+        List<Product> removed = new ArrayList<>();
+        existing.forEach((name, product) -> {
+            if (!nameCounts.containsKey(name)) {
+                removed.add(product);
+            }
+        });
+        return diff(fileProducts, removed);
+    }
+
+    /**
+     * Solo interpreta las líneas entre el prefijo y el sufijo comunes con la versión anterior del
+     * archivo: las líneas viejas de esa zona son candidatas a eliminarse y las nuevas a agregarse
+     * o modificarse. Devuelve null si el archivo no cambió o quedó sin productos.
+     */
+    private MenuDiff diffChangedRegion(byte[] next) {
+        int prefix = Arrays.mismatch(contents, next);
+        if (prefix < 0) {
+            return null;
+        }
+        // La zona cambiada empieza y termina en límites de línea
+        int start = prefix;
+        while (start > 0 && next[start - 1] != '\n') {
+            start--;
+        }
+        int maxSuffix = Math.min(contents.length, next.length) - start;
+        int suffix = 0;
+        while (suffix < maxSuffix && contents[contents.length - 1 - suffix] == next[next.length - 1 - suffix]) {
+            suffix++;
+        }
+        while (suffix > 0 && next[next.length - suffix - 1] != '\n') {
+            suffix--;
+        }
+
+        List<Product> oldLines = parseLines(contents, start, contents.length - suffix);
+        List<Product> newLines = parseLines(next, start, next.length - suffix);
+        oldLines.forEach(product -> nameCounts.merge(normalizeName(product.getName()), -1, MenuFileWatcher::sumOrRemove));
+        newLines.forEach(product -> nameCounts.merge(normalizeName(product.getName()), 1, MenuFileWatcher::sumOrRemove));
+        if (nameCounts.isEmpty()) {
+            // Archivo sin productos: se conserva la carta y el conteo anterior
+            newLines.forEach(product -> nameCounts.merge(normalizeName(product.getName()), -1, MenuFileWatcher::sumOrRemove));
+            oldLines.forEach(product -> nameCounts.merge(normalizeName(product.getName()), 1, MenuFileWatcher::sumOrRemove));
+            return null;
+        }
+
+        // Un nombre de la zona vieja se elimina solo si ya no aparece en ninguna línea del archivo
+        List<Product> removed = new ArrayList<>();
+        Set<String> checked = new HashSet<>();
+        for (Product product : oldLines) {
+            String name = normalizeName(product.getName());
+            if (!nameCounts.containsKey(name) && checked.add(name)) {
+                productRepository.findByName(name).ifPresent(removed::add);
+            }
+        }
+        return diff(newLines, removed);
+    }
+
+    // Compara las líneas dadas con lo que hay en el repositorio bajo el mismo nombre
+    private MenuDiff diff(List<Product> fileProducts, List<Product> removed) {
+        // Si el archivo repite un nombre, vale la última línea
+        Map<String, Product> wanted = new LinkedHashMap<>();
+        for (Product product : fileProducts) {
+            wanted.put(normalizeName(product.getName()), product);
+        }
+
+        List<Product> added = new ArrayList<>();
+        List<Product> repriced = new ArrayList<>();
+        wanted.forEach((name, product) -> {
+            Optional<Product> current = productRepository.findByName(name);
+            if (current.isEmpty()) {
+                added.add(product);
+            } else if (differs(current.get(), product)) {
+                repriced.add(Product.builder()
+                        .id(current.get().getId())
+                        .name(product.getName())
+                        .price(product.getPrice())
+                        .category(product.getCategory())
+                        .build());
+            }
+        });
+        if (added.isEmpty() && removed.isEmpty() && repriced.isEmpty()) {
+            return MenuDiff.NONE;
+        }
+        return new MenuDiff(List.copyOf(added), List.copyOf(removed), List.copyOf(repriced));
+    }
+
+    private static List<Product> parseLines(byte[] bytes, int from, int to) {
+        List<Product> products = new ArrayList<>();
+        if (from >= to) {
+            return products;
+        }
+        String text = new String(bytes, from, to - from, StandardCharsets.UTF_8);
+        for (String line : text.split("\\R")) {
+            Product product = FileProductLoader.parseLine(line);
+            if (product != null) {
+                products.add(product);
+            }
+        }
+        return products;
+    }
+
+    private static Integer sumOrRemove(Integer count, Integer delta) {
+        int sum = count + delta;
+        return sum == 0 ? null : sum;
+    }
+
+    private static boolean differs(Product current, Product wanted) {
+        return current.getPrice() != wanted.getPrice()
+                || !Objects.equals(current.getCategory(), wanted.getCategory())
+                || !current.getName().equals(wanted.getName());
+    }
+
+    private void apply(MenuDiff diff) {
+        if (diff.isEmpty()) {
+            return;
+        }
+        // Nuevos y modificados en un solo saveAll: se publican juntos
+        List<Product> upserts = new ArrayList<>(diff.added().size() + diff.repriced().size());
+        upserts.addAll(diff.added());
+        upserts.addAll(diff.repriced());
+        productRepository.saveAll(upserts);
+        diff.removed().forEach(product -> productRepository.deleteById(product.getId()));
+        onReload.accept(diff);
+    }
+
+    private void watch() {
+        Path fileName = file.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = touchesFile(key, fileName);
+                // Se agrupan los eventos de un mismo guardado
+                while ((key = watchService.poll(settleMillis, TimeUnit.MILLISECONDS)) != null) {
+                    changed |= touchesFile(key, fileName);
+                }
+                if (changed) {
+                    reloadQuietly();
+                }
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // close(): fin del hilo
+        }
+    }
+
+    private void reloadQuietly() {
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            System.err.println("Error reloading menu: " + e.getMessage());
+        }
+    }
+
+    private static boolean touchesFile(WatchKey key, Path fileName) {
+        boolean touches = false;
+        for (WatchEvent<?> event : key.pollEvents()) {
+            touches |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+        }
+        key.reset();
+        return touches;
+    }
+
+    private static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
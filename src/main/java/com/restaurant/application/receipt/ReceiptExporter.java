@@ -0,0 +1,83 @@
+package com.restaurant.application.receipt;
+
+import com.restaurant.domain.model.Order;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Exporta recibos en lote (p. ej. al cierre de turno) a un solo archivo UTF-8: cada recibo se arma
+ * en un StringBuilder reutilizado, se codifica sobre un buffer directo y se escribe por el mismo
+ * FileChannel, con una sola sincronización a disco al final.
+ */
+public class ReceiptExporter {
+    static final int BUFFER_BYTES = 256 * 1024;
+
+    private final ReceiptRenderer renderer;
+
+    public ReceiptExporter() {
+        this(new ReceiptRenderer());
+    }
+
+    public ReceiptExporter(ReceiptRenderer renderer) {
+        this.renderer = renderer;
+    }
+
+    /**
+     * Reemplaza 'file' con los recibos de 'orders' en orden.
+     * @return la cantidad de recibos escritos
+     */
+    public synchronized int export(Path file, Iterable<Order> orders) {
+        CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+        ByteBuffer bytes = ByteBuffer.allocateDirect(BUFFER_BYTES);
+        StringBuilder receipt = new StringBuilder(1024);
+
+        int written = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Order order : orders) {
+                receipt.setLength(0);
+                renderer.appendReceipt(order, receipt);
+                encode(encoder, CharBuffer.wrap(receipt), bytes, channel);
+                written++;
+            }
+            flush(bytes, channel);
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not export receipts to " + file, e);
+        }
+        return written;
+    }
+
+    // Cada recibo es texto completo (sin pares sustitutos partidos): se codifica de una vez
+    private static void encode(CharsetEncoder encoder, CharBuffer chars, ByteBuffer bytes, FileChannel channel)
+            throws IOException {
+        encoder.reset();
+        CoderResult result;
+        while ((result = encoder.encode(chars, bytes, true)).isOverflow()) {
+            flush(bytes, channel);
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+            flush(bytes, channel);
+        }
+    }
+
+    private static void flush(ByteBuffer bytes, FileChannel channel) throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        bytes.clear();
+    }
+}
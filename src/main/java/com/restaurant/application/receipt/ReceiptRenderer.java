@@ -0,0 +1,230 @@
+package com.restaurant.application.receipt;
+
+import com.restaurant.domain.model.Money;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.text.DecimalFormat;
+import java.text.DecimalFormatSymbols;
+import java.text.NumberFormat;
+import java.util.Locale;
+import java.util.UUID;
+
+/**
+ * Arma el detalle y el recibo de un pedido con el mismo texto que la consola, sin String.format:
+ * los textos fijos y el formato de moneda del locale se preparan una vez en el constructor y cada
+ * recibo se escribe sobre un StringBuilder reutilizado.
+ *
+ * No es thread-safe: una instancia por hilo (la consola usa una; la exportación, una por lote).
+ */
+public class ReceiptRenderer {
+    public static final Locale DEFAULT_LOCALE = new Locale("es", "CO");
+
+    private static final String SEPARATOR = "=================================\n";
+    private static final String RECEIPT_HEADER = "\n=== 🧾 RECIBO DE PAGO ===\n";
+    private static final String ORDER = "📋 Pedido #";
+    private static final String TABLE = "🪑 Mesa: #";
+    private static final String STATUS = "📊 Estado: ";
+    private static final String PRODUCTS = "\n🍽️ Productos:\n";
+    private static final String SUBTOTAL = "\n💵 Subtotal: ";
+    private static final String DISCOUNT = "🎫 Descuento aplicado: -";
+    private static final String TOTAL = "\n💰 TOTAL A PAGAR: ";
+    private static final int QUANTITY_WIDTH = 2;
+    private static final int NAME_WIDTH = 20;
+    private static final int PRICE_WIDTH = 10;
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private static final String[] STATUS_LABELS = new String[OrderStatus.values().length];
+
+    static {
+        for (OrderStatus status : OrderStatus.values()) {
+            STATUS_LABELS[status.ordinal()] = switch (status) {
+                case CREATED -> "🆕 Creado";
+                case IN_PROGRESS -> "👨‍🍳 En preparación";
+                case DELIVERED -> "✅ Entregado";
+                case CANCELLED -> "❌ Cancelado";
+                case CLOSED -> "💰 Cerrado/Pagado";
+            };
+        }
+    }
+
+    // Formato de moneda del locale, descompuesto para escribirlo dígito a dígito
+    private final NumberFormat currencyFormat;
+    private final boolean fastCurrency;
+    private final String positivePrefix;
+    private final String positiveSuffix;
+    private final String negativePrefix;
+    private final String negativeSuffix;
+    private final char groupingSeparator;
+    private final char decimalSeparator;
+    private final int groupingSize;
+
+    private final StringBuilder buffer = new StringBuilder(1024);
+    private final StringBuilder amount = new StringBuilder(32);
+    private final char[] digits = new char[20];
+
+    public ReceiptRenderer() {
+        this(DEFAULT_LOCALE);
+    }
+
+    public ReceiptRenderer(Locale locale) {
+        this.currencyFormat = NumberFormat.getCurrencyInstance(locale);
+        if (currencyFormat instanceof DecimalFormat format) {
+            DecimalFormatSymbols symbols = format.getDecimalFormatSymbols();
+            this.fastCurrency = format.getMinimumFractionDigits() == Money.SCALE
+                    && format.getMaximumFractionDigits() == Money.SCALE
+                    && format.getGroupingSize() > 0;
+            this.positivePrefix = format.getPositivePrefix();
+            this.positiveSuffix = format.getPositiveSuffix();
+            this.negativePrefix = format.getNegativePrefix();
+            this.negativeSuffix = format.getNegativeSuffix();
+            this.groupingSeparator = symbols.getMonetaryGroupingSeparator();
+            this.decimalSeparator = symbols.getMonetaryDecimalSeparator();
+            this.groupingSize = format.isGroupingUsed() ? format.getGroupingSize() : Integer.MAX_VALUE;
+        } else {
+            this.fastCurrency = false;
+            this.positivePrefix = this.positiveSuffix = this.negativePrefix = this.negativeSuffix = "";
+            this.groupingSeparator = this.decimalSeparator = 0;
+            this.groupingSize = 0;
+        }
+    }
+
+    // Recibo de pago: detalle del pedido más el total a pagar
+    public String renderReceipt(Order order) {
+        buffer.setLength(0);
+        appendReceipt(order, buffer);
+        return buffer.toString();
+    }
+
+    public String renderDetails(Order order) {
+        buffer.setLength(0);
+        appendDetails(order, buffer);
+        return buffer.toString();
+    }
+
+    public void appendReceipt(Order order, StringBuilder out) {
+        out.append(RECEIPT_HEADER);
+        appendDetails(order, out);
+        out.append(TOTAL);
+        appendCurrency(out, order.calculateTotal());
+        out.append('\n');
+    }
+
+    public void appendDetails(Order order, StringBuilder out) {
+        out.append('\n').append(SEPARATOR);
+        out.append(ORDER);
+        appendUuid(out, order.getId());
+        out.append('\n').append(TABLE).append(order.getTableNumber()).append('\n');
+        out.append(STATUS).append(STATUS_LABELS[order.getStatus().ordinal()]).append('\n');
+
+        out.append(PRODUCTS);
+        for (OrderItem item : order.getItems()) {
+            out.append("- ");
+            int start = out.length();
+            out.append(item.quantity());
+            padLeft(out, start, QUANTITY_WIDTH);
+            out.append(" x ");
+            start = out.length();
+            out.append(item.product().getName());
+            padRight(out, start, NAME_WIDTH);
+            out.append(' ');
+            amount.setLength(0);
+            appendCurrency(amount, item.unitPrice());
+            for (int i = amount.length(); i < PRICE_WIDTH; i++) {
+                out.append(' ');
+            }
+            out.append(amount).append('\n');
+        }
+
+        out.append(SUBTOTAL);
+        appendCurrency(out, order.calculateSubtotal());
+        out.append('\n');
+
+        if (order.isDiscountApplied()) {
+            out.append(DISCOUNT);
+            appendCurrency(out, order.getDiscountAmount());
+            // Igual que %.2f: redondeo HALF_UP sobre la representación decimal del double
+            out.append(" (").append(BigDecimal.valueOf(order.getDiscountPercentage()).setScale(2, RoundingMode.HALF_UP))
+                    .append("%)\n");
+        }
+        out.append(SEPARATOR);
+    }
+
+    public String formatCurrency(long value) {
+        amount.setLength(0);
+        appendCurrency(amount, value);
+        return amount.toString();
+    }
+
+    // Mismo texto que NumberFormat.getCurrencyInstance(locale).format(Money.toBigDecimal(amount))
+    public void appendCurrency(StringBuilder out, long value) {
+        if (!fastCurrency) {
+            out.append(currencyFormat.format(Money.toBigDecimal(value)));
+            return;
+        }
+
+        boolean negative = value < 0;
+        out.append(negative ? negativePrefix : positivePrefix);
+
+        // Dígitos de derecha a izquierda sobre un arreglo reutilizado (Long.MIN_VALUE no tiene valor absoluto)
+        int position = digits.length;
+        long remaining = value;
+        int written = 0;
+        do {
+            digits[--position] = (char) ('0' + Math.abs(remaining % 10));
+            remaining /= 10;
+            written++;
+        } while (remaining != 0 || written <= Money.SCALE);
+
+        int integerDigits = digits.length - position - Money.SCALE;
+        for (int i = 0; i < integerDigits; i++) {
+            if (i > 0 && (integerDigits - i) % groupingSize == 0) {
+                out.append(groupingSeparator);
+            }
+            out.append(digits[position + i]);
+        }
+        out.append(decimalSeparator).append(digits, position + integerDigits, Money.SCALE);
+        out.append(negative ? negativeSuffix : positiveSuffix);
+    }
+
+    // Como UUID.toString, sin crear el String intermedio
+    private static void appendUuid(StringBuilder out, UUID id) {
+        if (id == null) {
+            out.append("null");
+            return;
+        }
+        appendHex(out, id.getMostSignificantBits() >>> 32, 8);
+        out.append('-');
+        appendHex(out, id.getMostSignificantBits() >>> 16, 4);
+        out.append('-');
+        appendHex(out, id.getMostSignificantBits(), 4);
+        out.append('-');
+        appendHex(out, id.getLeastSignificantBits() >>> 48, 4);
+        out.append('-');
+        appendHex(out, id.getLeastSignificantBits(), 12);
+    }
+
+    private static void appendHex(StringBuilder out, long value, int digits) {
+        for (int shift = (digits - 1) * 4; shift >= 0; shift -= 4) {
+            out.append(HEX[(int) (value >>> shift) & 0xf]);
+        }
+    }
+
+    // Alinea a la derecha lo escrito desde 'start' (como %2d)
+    private static void padLeft(StringBuilder out, int start, int width) {
+        int missing = width - (out.length() - start);
+        for (int i = 0; i < missing; i++) {
+            out.insert(start, ' ');
+        }
+    }
+
+    // Completa con espacios a la derecha (como %-20s)
+    private static void padRight(StringBuilder out, int start, int width) {
+        for (int i = out.length() - start; i < width; i++) {
+            out.append(' ');
+        }
+    }
+}
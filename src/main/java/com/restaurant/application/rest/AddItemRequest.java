@@ -0,0 +1,9 @@
+package com.restaurant.application.rest;
+
+import java.util.UUID;
+
+/**
+ * Producto a añadir, por ID o por nombre exacto
+ */
+public record AddItemRequest(UUID productId, String productName, Integer quantity) {
+}
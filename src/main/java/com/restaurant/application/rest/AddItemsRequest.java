@@ -0,0 +1,9 @@
+package com.restaurant.application.rest;
+
+import java.util.List;
+
+/**
+ * Varias líneas a añadir de una vez (p. ej. el pedido completo de una mesa desde una comandera)
+ */
+public record AddItemsRequest(List<AddItemRequest> items) {
+}
@@ -0,0 +1,4 @@
+package com.restaurant.application.rest;
+
+public record CloseOrderRequest(String couponCode) {
+}
@@ -0,0 +1,25 @@
+package com.restaurant.application.rest;
+
+import com.restaurant.infrastructure.kitchen.KitchenDispatchPipeline;
+import com.restaurant.infrastructure.kitchen.StationStats;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/kitchen")
+public class KitchenController {
+    private final KitchenDispatchPipeline kitchenDispatchPipeline;
+
+    public KitchenController(KitchenDispatchPipeline kitchenDispatchPipeline) {
+        this.kitchenDispatchPipeline = kitchenDispatchPipeline;
+    }
+
+    // Profundidad de cola y tickets aceptados/rechazados por estación
+    @GetMapping("/stations")
+    public List<StationStats> getStations() {
+        return kitchenDispatchPipeline.stats();
+    }
+}
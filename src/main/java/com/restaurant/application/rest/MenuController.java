@@ -0,0 +1,64 @@
+package com.restaurant.application.rest;
+
+import com.restaurant.domain.model.MenuSnapshot;
+import com.restaurant.usecase.ProductUseCase;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/menu")
+public class MenuController {
+    private static final int MAX_SUGGESTIONS = 10;
+
+    private final ProductUseCase productUseCase;
+
+    // Respuesta de la carta completa ya convertida, válida mientras no cambie la versión
+    private volatile CachedMenu cachedMenu = new CachedMenu(-1, List.of());
+
+    public MenuController(ProductUseCase productUseCase) {
+        this.productUseCase = productUseCase;
+    }
+
+    // La carta completa lleva la versión como ETag: un cliente con la versión vigente recibe 304
+    @GetMapping
+    public List<ProductResponse> getMenu(@RequestParam(required = false) String category, WebRequest request) {
+        if (category != null && !category.isBlank()) {
+            return productUseCase.getProductsByCategory(category).stream().map(ProductResponse::from).toList();
+        }
+
+        MenuSnapshot menu = productUseCase.getMenu();
+        if (request.checkNotModified(Long.toString(menu.version()))) {
+            return null;
+        }
+        CachedMenu cached = cachedMenu;
+        if (cached.version() != menu.version()) {
+            cached = new CachedMenu(menu.version(), menu.products().stream().map(ProductResponse::from).toList());
+            cachedMenu = cached;
+        }
+        return cached.products();
+    }
+
+    @GetMapping("/search")
+    public List<ProductResponse> search(@RequestParam String prefix) {
+        return productUseCase.suggestProducts(prefix, MAX_SUGGESTIONS).stream()
+                .map(ProductResponse::from)
+                .toList();
+    }
+
+    @GetMapping("/{id}")
+    public ProductResponse getProduct(@PathVariable UUID id) {
+        return productUseCase.getProductById(id)
+                .map(ProductResponse::from)
+                .orElseThrow(() -> new NotFoundException("Producto no encontrado"));
+    }
+
+    private record CachedMenu(long version, List<ProductResponse> products) {
+    }
+}
@@ -0,0 +1,7 @@
+package com.restaurant.application.rest;
+
+class NotFoundException extends RuntimeException {
+    NotFoundException(String message) {
+        super(message);
+    }
+}
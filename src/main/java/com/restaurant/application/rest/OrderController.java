@@ -0,0 +1,120 @@
+package com.restaurant.application.rest;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.Product;
+import com.restaurant.usecase.OrderUseCase;
+import com.restaurant.usecase.ProductUseCase;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@RestController
+@RequestMapping("/api/orders")
+public class OrderController {
+    private final OrderUseCase orderUseCase;
+    private final ProductUseCase productUseCase;
+
+    public OrderController(OrderUseCase orderUseCase, ProductUseCase productUseCase) {
+        this.orderUseCase = orderUseCase;
+        this.productUseCase = productUseCase;
+    }
+
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public OrderResponse createOrder(@RequestBody CreateOrderRequest request) {
+        // El rango de mesas lo valida el caso de uso
+        if (request.tableNumber() == null) {
+            throw new IllegalArgumentException("Número de mesa inválido");
+        }
+        return OrderResponse.from(orderUseCase.createOrder(request.tableNumber()));
+    }
+
+    @GetMapping
+    public List<OrderResponse> getActiveOrders() {
+        return orderUseCase.getActiveOrders().stream().map(OrderResponse::from).toList();
+    }
+
+    @GetMapping("/tables/free")
+    public List<Integer> getFreeTables() {
+        return orderUseCase.getFreeTables();
+    }
+
+    @GetMapping("/tables/{tableNumber}")
+    public OrderResponse getOpenOrderForTable(@PathVariable int tableNumber) {
+        return OrderResponse.from(orderUseCase.getOpenOrderForTable(tableNumber)
+                .orElseThrow(() -> new NotFoundException("La mesa " + tableNumber + " no tiene un pedido abierto")));
+    }
+
+    @GetMapping("/{id}")
+    public OrderResponse getOrder(@PathVariable UUID id) {
+        return OrderResponse.from(findOrder(id));
+    }
+
+    @PostMapping("/{id}/items")
+    public OrderResponse addItem(@PathVariable UUID id, @RequestBody AddItemRequest request) {
+        Product product = resolveProduct(request);
+        return OrderResponse.from(orderUseCase.addItemToOrder(id, product, request.quantity()));
+    }
+
+    // Todas las líneas se validan y se guardan juntas: si una falla, no se agrega ninguna
+    @PostMapping("/{id}/items/batch")
+    public OrderResponse addItems(@PathVariable UUID id, @RequestBody AddItemsRequest request) {
+        if (request.items() == null || request.items().isEmpty()) {
+            throw new IllegalArgumentException("Debe agregar al menos un producto");
+        }
+        List<OrderItem> lines = new ArrayList<>(request.items().size());
+        for (AddItemRequest item : request.items()) {
+            if (item == null || item.quantity() == null) {
+                throw new IllegalArgumentException("El producto o la cantidad son inválidos");
+            }
+            lines.add(new OrderItem(resolveProduct(item), item.quantity()));
+        }
+        return OrderResponse.from(orderUseCase.addItemsToOrder(id, lines));
+    }
+
+    @PostMapping("/{id}/deliver")
+    public OrderResponse deliver(@PathVariable UUID id) {
+        if (!orderUseCase.markOrderAsDelivered(id)) {
+            throw new IllegalStateException("El pedido no está en progreso y no se puede marcar como entregado");
+        }
+        return OrderResponse.from(findOrder(id));
+    }
+
+    @PostMapping("/{id}/close")
+    public OrderResponse close(@PathVariable UUID id, @RequestBody(required = false) CloseOrderRequest request) {
+        String couponCode = request == null ? null : request.couponCode();
+        return OrderResponse.from(orderUseCase.closeOrder(id, couponCode));
+    }
+
+    @PostMapping("/{id}/cancel")
+    public OrderResponse cancel(@PathVariable UUID id) {
+        if (!orderUseCase.cancelOrder(id)) {
+            throw new IllegalStateException("No se pudo cancelar el pedido. Puede que ya haya sido entregado");
+        }
+        return OrderResponse.from(findOrder(id));
+    }
+
+    private Order findOrder(UUID id) {
+        return orderUseCase.getOrderById(id)
+                .orElseThrow(() -> new NotFoundException("Pedido no encontrado"));
+    }
+
+    private Product resolveProduct(AddItemRequest request) {
+        if (request.productId() != null) {
+            return productUseCase.getProductById(request.productId())
+                    .orElseThrow(() -> new NotFoundException("Producto no encontrado"));
+        }
+        return productUseCase.findProductByName(request.productName())
+                .orElseThrow(() -> new NotFoundException("Producto no encontrado"));
+    }
+}
@@ -0,0 +1,39 @@
+package com.restaurant.application.rest;
+
+import com.restaurant.domain.model.Money;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.UUID;
+
+public record OrderResponse(UUID id,
+                            Integer tableNumber,
+                            OrderStatus status,
+                            List<Line> items,
+                            BigDecimal subtotal,
+                            BigDecimal discount,
+                            double discountPercentage,
+                            BigDecimal total) {
+
+    public record Line(UUID productId, String productName, int quantity, BigDecimal unitPrice, BigDecimal subtotal) {
+
+        static Line from(OrderItem item) {
+            return new Line(item.product().getId(), item.product().getName(), item.quantity(),
+                    Money.toBigDecimal(item.unitPrice()), Money.toBigDecimal(item.getSubtotal()));
+        }
+    }
+
+    static OrderResponse from(Order order) {
+        return new OrderResponse(order.getId(),
+                order.getTableNumber(),
+                order.getStatus(),
+                order.getItems().stream().map(Line::from).toList(),
+                Money.toBigDecimal(order.calculateSubtotal()),
+                Money.toBigDecimal(order.getDiscountAmount()),
+                order.getDiscountPercentage(),
+                Money.toBigDecimal(order.calculateTotal()));
+    }
+}
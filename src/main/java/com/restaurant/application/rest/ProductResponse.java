@@ -0,0 +1,15 @@
+package com.restaurant.application.rest;
+
+import com.restaurant.domain.model.Money;
+import com.restaurant.domain.model.Product;
+
+import java.math.BigDecimal;
+import java.util.UUID;
+
+public record ProductResponse(UUID id, String name, BigDecimal price, String category) {
+
+    static ProductResponse from(Product product) {
+        return new ProductResponse(product.getId(), product.getName(),
+                Money.toBigDecimal(product.getPrice()), product.getCategory());
+    }
+}
@@ -0,0 +1,58 @@
+package com.restaurant.application.rest;
+
+import com.restaurant.domain.model.ZReport;
+import com.restaurant.domain.service.SalesAnalytics;
+import com.restaurant.domain.service.SalesAnalytics.SalesTotals;
+import com.restaurant.usecase.ReportUseCase;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+import java.util.UUID;
+
+// Tablero de ventas: lee los acumulados, no recorre los pedidos
+@RestController
+@RequestMapping("/api/sales")
+public class SalesController {
+    private final SalesAnalytics salesAnalytics;
+    private final ReportUseCase reportUseCase;
+
+    public SalesController(SalesAnalytics salesAnalytics, ReportUseCase reportUseCase) {
+        this.salesAnalytics = salesAnalytics;
+        this.reportUseCase = reportUseCase;
+    }
+
+    @GetMapping
+    public SalesTotals getTotal() {
+        return salesAnalytics.total();
+    }
+
+    @GetMapping("/categories")
+    public Map<String, SalesTotals> getByCategory() {
+        return salesAnalytics.categories();
+    }
+
+    @GetMapping("/tables")
+    public Map<Integer, SalesTotals> getByTable() {
+        return salesAnalytics.tables();
+    }
+
+    @GetMapping("/products")
+    public Map<UUID, SalesTotals> getByProduct() {
+        return salesAnalytics.products();
+    }
+
+    // Cierre del día: recorre todos los pedidos cerrados en paralelo
+    @GetMapping("/z-report")
+    public ZReport getZReport() {
+        return reportUseCase.getEndOfDayReport();
+    }
+
+    // Franja horaria del día acumulada desde el arranque; no incluye los pedidos cerrados antes
+    @GetMapping("/hours/{hour}")
+    public SalesTotals getByHour(@PathVariable int hour) {
+        return salesAnalytics.byHour(hour);
+    }
+}
@@ -0,0 +1,58 @@
+package com.restaurant.application.rest;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.SecurityFilterChain;
+
+/**
+ * La API la usan dispositivos, no navegadores: autenticación HTTP Basic, sin sesión ni CSRF.
+ * Solo /actuator/health es público; las métricas (/actuator/prometheus) piden el mismo usuario.
+ * Sin servidor web (p. ej. benchmarks sobre los repositorios JPA) no hay nada que proteger.
+ */
+@Configuration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+public class SecurityConfiguration {
+    private static final Logger log = LoggerFactory.getLogger(SecurityConfiguration.class);
+
+    @Bean
+    public SecurityFilterChain apiSecurity(HttpSecurity http) throws Exception {
+        return http
+                .csrf(csrf -> csrf.disable())
+                .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+                .authorizeHttpRequests(auth -> auth
+                        .requestMatchers("/actuator/health").permitAll()
+                        .anyRequest().authenticated())
+                .httpBasic(Customizer.withDefaults())
+                .build();
+    }
+
+    /**
+     * Usuario de spring.security.user.*, igual que la autoconfiguración de Spring Boot pero sin exponer
+     * UserDetailsPasswordService: si no, tras el primer login la contraseña {noop} se "actualiza" a bcrypt
+     * y, al no haber sesión, cada petición pagaría un hash bcrypt (~100 ms de CPU).
+     */
+    @Bean
+    public UserDetailsService userDetailsService(SecurityProperties properties) {
+        SecurityProperties.User user = properties.getUser();
+        if (user.isPasswordGenerated()) {
+            log.warn("Using generated security password: {}", user.getPassword());
+        }
+
+        String password = user.getPassword().matches("^\\{.+}.*$") ? user.getPassword() : "{noop}" + user.getPassword();
+        InMemoryUserDetailsManager users = new InMemoryUserDetailsManager(User.withUsername(user.getName())
+                .password(password)
+                .roles(user.getRoles().toArray(String[]::new))
+                .build());
+        return users::loadUserByUsername;
+    }
+}
@@ -0,0 +1,36 @@
+package com.restaurant.domain.model;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Diccionario de categorías: el nombre de cada categoría distinta se guarda una sola vez. Quien
+ * crea productos en cantidad (repositorios, journal) pasa la categoría por intern, así miles de
+ * productos (y las líneas de pedido que los referencian) comparten la misma instancia de cada nombre.
+ *
+ * Las categorías se comparan normalizadas, igual que el índice por categoría de los repositorios:
+ * "Bebida " y "BEBIDA" son la misma y conservan el nombre con el que se vio la primera vez.
+ * Las entradas no se liberan: el diccionario crece con las categorías distintas, no con los productos.
+ */
+public final class CategoryDictionary {
+    // Nombre normalizado -> instancia compartida del nombre
+    private final Map<String, String> names = new ConcurrentHashMap<>();
+
+    public static String normalize(String category) {
+        return category.trim().toUpperCase(Locale.ROOT);
+    }
+
+    // Instancia compartida del nombre de 'category' (null si no tiene)
+    public String intern(String category) {
+        if (category == null) {
+            return null;
+        }
+        return names.computeIfAbsent(normalize(category), key -> category.trim());
+    }
+
+    // Cantidad de categorías registradas
+    public int size() {
+        return names.size();
+    }
+}
@@ -1,6 +1,10 @@
 package com.restaurant.domain.model;
 
-public record Coupon(String code, double discountValue, double discountPercent) {
+/**
+ * @param discountValue   Descuento fijo en unidades menores (ver Money)
+ * @param discountPercent Porcentaje de descuento (0 a 100)
+ */
+public record Coupon(String code, long discountValue, double discountPercent) {
 
     public Coupon {
         if (discountPercent < 0 || discountPercent > 100) {
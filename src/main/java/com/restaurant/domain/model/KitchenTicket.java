@@ -0,0 +1,17 @@
+package com.restaurant.domain.model;
+
+import java.util.UUID;
+
+/**
+ * Línea de un pedido enviada a cocina
+ * @param orderId     Pedido al que pertenece
+ * @param tableNumber Mesa que la pidió
+ * @param item        Producto y cantidad a preparar
+ */
+public record KitchenTicket(UUID orderId, Integer tableNumber, OrderItem item) {
+
+    // Estación de cocina que la prepara: la categoría del producto
+    public String category() {
+        return item.product().getCategory();
+    }
+}
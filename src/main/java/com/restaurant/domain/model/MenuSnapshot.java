@@ -0,0 +1,47 @@
+package com.restaurant.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Carta inmutable en una versión dada: productos ordenados por categoría y nombre, y agrupados
+ * por categoría. El repositorio publica una nueva versión con cada cambio de productos, así quien
+ * guarda algo derivado de la carta (texto, respuesta HTTP) solo lo recalcula si cambió la versión.
+ */
+public record MenuSnapshot(long version, List<Product> products, Map<String, List<Product>> byCategory) {
+    public static final MenuSnapshot EMPTY = new MenuSnapshot(0, List.of(), Map.of());
+
+    private static final String NO_CATEGORY = "";
+    private static final Comparator<Product> MENU_ORDER = Comparator
+            .comparing((Product product) -> categoryOf(product))
+            .thenComparing(Product::getName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER))
+            .thenComparing(Product::getId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    public static MenuSnapshot of(long version, Collection<Product> products) {
+        List<Product> sorted = new ArrayList<>(products);
+        sorted.sort(MENU_ORDER);
+
+        Map<String, List<Product>> byCategory = new LinkedHashMap<>();
+        int from = 0;
+        for (int i = 1; i <= sorted.size(); i++) {
+            if (i == sorted.size() || !categoryOf(sorted.get(i)).equals(categoryOf(sorted.get(from)))) {
+                byCategory.put(categoryOf(sorted.get(from)), List.copyOf(sorted.subList(from, i)));
+                from = i;
+            }
+        }
+        return new MenuSnapshot(version, List.copyOf(sorted), Collections.unmodifiableMap(byCategory));
+    }
+
+    public boolean isEmpty() {
+        return products.isEmpty();
+    }
+
+    private static String categoryOf(Product product) {
+        return product.getCategory() == null ? NO_CATEGORY : product.getCategory();
+    }
+}
@@ -0,0 +1,139 @@
+package com.restaurant.domain.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Aritmética de dinero en punto fijo.
+ * Los montos se representan como {@code long} en unidades menores (centavos, 2 decimales),
+ * así las operaciones son exactas, no asignan objetos y los porcentajes redondean HALF_UP.
+ * Los desbordamientos lanzan {@link ArithmeticException}.
+ */
+public final class Money {
+    public static final int SCALE = 2;
+    public static final long ZERO = 0L;
+
+    private static final long MINOR_PER_UNIT = 100L;
+    private static final long BASIS_POINTS = 10_000L;
+
+    private Money() {
+    }
+
+    // Convierte unidades enteras (pesos) a unidades menores
+    public static long ofUnits(long units) {
+        return Math.multiplyExact(units, MINOR_PER_UNIT);
+    }
+
+    public static long add(long amount, long other) {
+        return Math.addExact(amount, other);
+    }
+
+    public static long subtract(long amount, long other) {
+        return Math.subtractExact(amount, other);
+    }
+
+    public static long multiply(long amount, int quantity) {
+        return Math.multiplyExact(amount, quantity);
+    }
+
+    /**
+     * Calcula el porcentaje de un monto. El porcentaje se toma con hasta dos decimales
+     * (12.5 = 12,50 %) y el resultado se redondea HALF_UP a la unidad menor.
+     */
+    public static long percentOf(long amount, double percent) {
+        long basisPoints = Math.round(percent * 100);
+        return divideHalfUp(Math.multiplyExact(amount, basisPoints), BASIS_POINTS);
+    }
+
+    /**
+     * Interpreta un monto decimal en unidades mayores ("15000", "15000.5", "-3.25").
+     * Los decimales que sobran se redondean HALF_UP.
+     */
+    public static long parse(CharSequence text) {
+        if (text == null) {
+            throw new IllegalArgumentException("Monto inválido: null");
+        }
+
+        int start = 0;
+        int end = text.length();
+        while (start < end && Character.isWhitespace(text.charAt(start))) start++;
+        while (end > start && Character.isWhitespace(text.charAt(end - 1))) end--;
+
+        boolean negative = false;
+        if (start < end && (text.charAt(start) == '-' || text.charAt(start) == '+')) {
+            negative = text.charAt(start) == '-';
+            start++;
+        }
+
+        long units = 0;
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        boolean seenDigit = false;
+        boolean inFraction = false;
+
+        for (int i = start; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && !inFraction) {
+                inFraction = true;
+            } else if (c >= '0' && c <= '9') {
+                seenDigit = true;
+                int digit = c - '0';
+                if (!inFraction) {
+                    units = Math.addExact(Math.multiplyExact(units, 10), digit);
+                } else if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + digit;
+                    fractionDigits++;
+                } else if (fractionDigits == SCALE) {
+                    roundUp = digit >= 5;
+                    fractionDigits++;
+                }
+            } else {
+                throw new IllegalArgumentException("Monto inválido: " + text);
+            }
+        }
+        if (!seenDigit) {
+            throw new IllegalArgumentException("Monto inválido: " + text);
+        }
+
+        while (fractionDigits < SCALE) {
+            fraction *= 10;
+            fractionDigits++;
+        }
+        long amount = Math.addExact(ofUnits(units), fraction + (roundUp ? 1 : 0));
+        return negative ? -amount : amount;
+    }
+
+    // Conversión exacta para formatear con NumberFormat u otras APIs de presentación
+    public static BigDecimal toBigDecimal(long amount) {
+        return BigDecimal.valueOf(amount, SCALE);
+    }
+
+    // Representación plana con dos decimales, p. ej. "15000.00"
+    public static String toPlainString(long amount) {
+        StringBuilder sb = new StringBuilder(24);
+        appendPlain(sb, amount);
+        return sb.toString();
+    }
+
+    public static void appendPlain(StringBuilder sb, long amount) {
+        if (amount < 0) {
+            sb.append('-');
+        }
+        long abs = Math.abs(amount);
+        long fraction = abs % MINOR_PER_UNIT;
+        sb.append(abs / MINOR_PER_UNIT).append('.');
+        if (fraction < 10) {
+            sb.append('0');
+        }
+        sb.append(fraction);
+    }
+
+    private static long divideHalfUp(long value, long divisor) {
+        long quotient = value / divisor;
+        long remainder = value % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += Long.signum(value);
+        }
+        return quotient;
+    }
+}
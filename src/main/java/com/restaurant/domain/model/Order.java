@@ -1,43 +1,160 @@
 package com.restaurant.domain.model;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import java.util.ArrayList;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 import java.util.UUID;
 
+/**
+ * Las líneas se guardan empaquetadas en arreglos paralelos: el producto (la instancia compartida
+ * de la carta), la cantidad y el precio unitario al momento de la venta. Los totales salen de ese
+ * precio, así un cambio de precio posterior en la carta no altera los pedidos ya registrados.
+ */
 @Getter
 public class Order {
+    private static final Product[] NO_PRODUCTS = new Product[0];
+    private static final int[] NO_QUANTITIES = new int[0];
+    private static final long[] NO_PRICES = new long[0];
+    // Con pocas líneas basta recorrerlas para fusionar cantidades; desde aquí se indexan por producto
+    private static final int INDEXED_LINES = 8;
+
     private final UUID id;
     private final Integer tableNumber;
-    private final List<OrderItem> items;
+    @Getter(AccessLevel.NONE)
+    private Product[] lineProducts;
+    @Getter(AccessLevel.NONE)
+    private int[] lineQuantities;
+    @Getter(AccessLevel.NONE)
+    private long[] linePrices;
+    private int lineCount;
+    // Posición de la última línea de cada producto; null mientras el pedido tenga pocas líneas
+    @Getter(AccessLevel.NONE)
+    private Map<UUID, Integer> lineByProduct;
     private OrderStatus status;
-    public boolean couponApplied;
-    public double discountAmount;
-    public double discountPercentage;
-    private double total;
+    private boolean couponApplied;
+    // Montos en unidades menores (ver Money)
+    private long discountAmount;
+    private double discountPercentage;
+    // Acumulado de los subtotales de las líneas, se actualiza en cada addItem
+    private long subtotal;
+    private long total;
+    // Versión guardada del pedido, la asigna el repositorio (ver OrderRepository.compareAndSet)
+    private long version;
 
     public Order(Integer tableNumber) {
-        this.id = UUID.randomUUID();
+        this(UUID.randomUUID(), tableNumber);
+    }
+
+    // Reconstruye un pedido existente (p. ej. al recuperar el estado desde disco)
+    public Order(UUID id, Integer tableNumber) {
+        this.id = id;
         this.tableNumber = tableNumber;
-        this.items = new ArrayList<>();
+        this.lineProducts = NO_PRODUCTS;
+        this.lineQuantities = NO_QUANTITIES;
+        this.linePrices = NO_PRICES;
         this.status = OrderStatus.CREATED;
         this.couponApplied = false;
-        this.discountAmount = 0.0;
+        this.discountAmount = Money.ZERO;
         this.discountPercentage = 0.0;
-        this.total = 0.0;
+        this.subtotal = Money.ZERO;
+        this.total = Money.ZERO;
+        this.version = 0;
+    }
+
+    private Order(Order source) {
+        this.id = source.id;
+        this.tableNumber = source.tableNumber;
+        this.lineProducts = Arrays.copyOf(source.lineProducts, source.lineProducts.length);
+        this.lineQuantities = Arrays.copyOf(source.lineQuantities, source.lineQuantities.length);
+        this.linePrices = Arrays.copyOf(source.linePrices, source.linePrices.length);
+        this.lineCount = source.lineCount;
+        this.lineByProduct = source.lineByProduct == null ? null : new HashMap<>(source.lineByProduct);
+        this.status = source.status;
+        this.couponApplied = source.couponApplied;
+        this.discountAmount = source.discountAmount;
+        this.discountPercentage = source.discountPercentage;
+        this.subtotal = source.subtotal;
+        this.total = source.total;
+        this.version = source.version;
+    }
+
+    /**
+     * Copia independiente del pedido (se copian los arreglos de líneas, no los productos).
+     * Los casos de uso modifican una copia y la guardan con compareAndSet, así el pedido
+     * publicado en el repositorio nunca cambia mientras otros lo leen.
+     */
+    public Order copy() {
+        return new Order(this);
+    }
+
+    // Vista de solo lectura de las líneas; cada get arma un OrderItem a partir de los arreglos
+    public List<OrderItem> getItems() {
+        return new Items();
+    }
+
+    // Acceso a las líneas sin crear OrderItem, para quien recorre muchos pedidos
+    public Product getLineProduct(int line) {
+        return lineProducts[checkLine(line)];
+    }
+
+    public int getLineQuantity(int line) {
+        return lineQuantities[checkLine(line)];
+    }
+
+    public long getLineUnitPrice(int line) {
+        return linePrices[checkLine(line)];
+    }
+
+    public long getLineSubtotal(int line) {
+        return Money.multiply(linePrices[checkLine(line)], lineQuantities[line]);
     }
 
-    public double calculateSubtotal() {
-        return items.stream()
-                .mapToDouble(OrderItem::getSubtotal)
-                .sum();
+    public long calculateSubtotal() {
+        return subtotal;
     }
 
     public void addItem(Product product, Integer quantity) {
         if (product == null || quantity == null || quantity <= 0) {
             throw new IllegalArgumentException("El producto o la cantidad son inválidos.");
         }
-        items.add(new OrderItem(product, quantity));
+
+        // El subtotal se calcula antes de tocar las líneas: si desborda, el pedido queda como estaba
+        long newSubtotal = Money.add(subtotal, Money.multiply(product.getPrice(), quantity));
+        addLine(product, quantity);
+
+        subtotal = newSubtotal;
+        updateTotal();
+    }
+
+    /**
+     * Agrega varias líneas de una vez (p. ej. el pedido completo de una mesa): valida todas antes
+     * de tocar el pedido, así una línea inválida no deja el pedido a medias, y actualiza el total una sola vez.
+     * Cada línea se agrega al precio actual de su producto, igual que addItem.
+     */
+    public void addItems(Collection<OrderItem> lines) {
+        if (lines == null || lines.isEmpty()) {
+            throw new IllegalArgumentException("Debe agregar al menos un producto.");
+        }
+        long added = Money.ZERO;
+        for (OrderItem line : lines) {
+            if (line == null) {
+                throw new IllegalArgumentException("El producto o la cantidad son inválidos.");
+            }
+            added = Money.add(added, Money.multiply(line.product().getPrice(), line.quantity()));
+        }
+        long newSubtotal = Money.add(subtotal, added);
+        requireMergeableQuantities(lines);
+
+        for (OrderItem line : lines) {
+            addLine(line.product(), line.quantity());
+        }
+        subtotal = newSubtotal;
         updateTotal();
     }
 
@@ -50,7 +167,7 @@ public class Order {
         }
 
         this.discountPercentage = percentage;
-        this.discountAmount = calculateSubtotal() * (percentage / 100);
+        this.discountAmount = Money.percentOf(subtotal, percentage);
         this.couponApplied = true;
         updateTotal();
     }
@@ -62,15 +179,38 @@ public class Order {
         applyDiscount(coupon.discountPercent());
     }
 
-    public double calculateTotal() {
-        return calculateSubtotal() - discountAmount;
+    // Descuento ya calculado por el caso de uso (DiscountService) al cerrar el pedido con un cupón
+    public void applyCouponDiscount(double percentage, long discountAmount) {
+        if (couponApplied) {
+            throw new IllegalStateException("Este pedido ya tiene un cupón aplicado.");
+        }
+        if (discountAmount < 0 || discountAmount > subtotal) {
+            throw new IllegalArgumentException("El descuento no puede ser negativo ni mayor al subtotal.");
+        }
+
+        this.discountPercentage = percentage;
+        this.discountAmount = discountAmount;
+        this.couponApplied = true;
+        updateTotal();
+    }
+
+    // Reconstruye el descuento de un pedido guardado, sin validar
+    public void restoreDiscount(boolean couponApplied, double percentage, long discountAmount) {
+        this.couponApplied = couponApplied;
+        this.discountPercentage = percentage;
+        this.discountAmount = discountAmount;
+        updateTotal();
     }
 
-    public double getTotal() {
+    public long calculateTotal() {
+        return Money.subtract(subtotal, discountAmount);
+    }
+
+    public long getTotal() {
         return total;
     }
 
-    public void setTotal(double total) {
+    public void setTotal(long total) {
         this.total = total;
     }
 
@@ -78,6 +218,10 @@ public class Order {
         this.total = calculateTotal();
     }
 
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public void changeStatus(OrderStatus newStatus) {
         this.status = newStatus;
     }
@@ -90,25 +234,25 @@ public class Order {
         details.append(String.format("📊 Estado: %s\n", status));
         details.append("\n🍽️ Productos:\n");
 
-        items.forEach(item ->
-                details.append(String.format("- %2d x %-20s %10.2f\n",
-                        item.quantity(),
-                        item.product().getName(),
-                        item.product().getPrice()))
-        );
+        for (int i = 0; i < lineCount; i++) {
+            details.append(String.format("- %2d x %-20s %10s\n",
+                    lineQuantities[i],
+                    lineProducts[i].getName(),
+                    Money.toPlainString(linePrices[i])));
+        }
 
         // Calcula el subtotal sin descuento (suma de los items)
-        double subtotal = calculateSubtotal();
-        details.append(String.format("\n💵 Subtotal (sin descuento): %.2f\n", subtotal));
+        long subtotal = calculateSubtotal();
+        details.append(String.format("\n💵 Subtotal (sin descuento): %s\n", Money.toPlainString(subtotal)));
 
         // Muestra el descuento aplicado si es que hay
         if (couponApplied) {
-            details.append(String.format("🎫 Descuento aplicado: -%.2f (%.2f%%)\n", discountAmount, discountPercentage));
+            details.append(String.format("🎫 Descuento aplicado: -%s (%.2f%%)\n", Money.toPlainString(discountAmount), discountPercentage));
         }
 
         // Calcula el total final restando el descuento del subtotal
-        double finalTotal = subtotal - discountAmount;
-        details.append(String.format("\n💰 PAGÓ UN TOTAL DE: %.2f\n", finalTotal));
+        long finalTotal = Money.subtract(subtotal, discountAmount);
+        details.append(String.format("\n💰 PAGÓ UN TOTAL DE: %s\n", Money.toPlainString(finalTotal)));
         details.append("=================================\n");
 
         return details.toString();
@@ -118,4 +262,92 @@ public class Order {
         return couponApplied || discountAmount > 0;
     }
 
+    /**
+     * Comprueba, sin modificar el pedido, que sumar las cantidades del lote a las líneas de cada
+     * producto no desborde. Supone que todas se fusionan: rechaza de más solo si el precio cambió.
+     */
+    private void requireMergeableQuantities(Collection<OrderItem> lines) {
+        Map<UUID, Integer> merged = new HashMap<>();
+        for (OrderItem line : lines) {
+            UUID productId = line.product().getId();
+            if (productId == null) {
+                continue;
+            }
+            Integer quantity = merged.get(productId);
+            if (quantity == null) {
+                int position = lastLineOf(productId);
+                quantity = position >= 0 ? lineQuantities[position] : 0;
+            }
+            merged.put(productId, Math.addExact(quantity, line.quantity()));
+        }
+    }
+
+    // Si el producto ya tiene una línea con el mismo precio, se suma la cantidad en lugar de crear otra
+    private void addLine(Product product, int quantity) {
+        int position = product.getId() == null ? -1 : lastLineOf(product.getId());
+        if (position >= 0 && linePrices[position] == product.getPrice()) {
+            lineQuantities[position] = Math.addExact(lineQuantities[position], quantity);
+        } else {
+            appendLine(product, quantity);
+        }
+    }
+
+    private int lastLineOf(UUID productId) {
+        if (lineByProduct != null) {
+            Integer position = lineByProduct.get(productId);
+            return position == null ? -1 : position;
+        }
+        for (int i = lineCount - 1; i >= 0; i--) {
+            if (productId.equals(lineProducts[i].getId())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void appendLine(Product product, int quantity) {
+        if (lineCount == lineProducts.length) {
+            int capacity = Math.max(4, lineCount + (lineCount >> 1));
+            lineProducts = Arrays.copyOf(lineProducts, capacity);
+            lineQuantities = Arrays.copyOf(lineQuantities, capacity);
+            linePrices = Arrays.copyOf(linePrices, capacity);
+        }
+        lineProducts[lineCount] = product;
+        lineQuantities[lineCount] = quantity;
+        linePrices[lineCount] = product.getPrice();
+        lineCount++;
+
+        if (lineByProduct != null) {
+            if (product.getId() != null) {
+                lineByProduct.put(product.getId(), lineCount - 1);
+            }
+        } else if (lineCount > INDEXED_LINES) {
+            lineByProduct = new HashMap<>();
+            for (int i = 0; i < lineCount; i++) {
+                if (lineProducts[i].getId() != null) {
+                    lineByProduct.put(lineProducts[i].getId(), i);
+                }
+            }
+        }
+    }
+
+    private int checkLine(int line) {
+        if (line < 0 || line >= lineCount) {
+            throw new IndexOutOfBoundsException("Línea " + line + " fuera de rango (" + lineCount + " líneas)");
+        }
+        return line;
+    }
+
+    private final class Items extends AbstractList<OrderItem> implements RandomAccess {
+        @Override
+        public OrderItem get(int index) {
+            return new OrderItem(lineProducts[checkLine(index)], lineQuantities[index], linePrices[index]);
+        }
+
+        @Override
+        public int size() {
+            return lineCount;
+        }
+    }
+
 }
@@ -1,13 +1,12 @@
 package com.restaurant.domain.model;
 
-import lombok.Getter;
-
 /**
- * @param product  Producto asociado al pedido
- * @param quantity Cantidad del producto
+ * @param product   Producto asociado al pedido
+ * @param quantity  Cantidad del producto
+ * @param unitPrice Precio unitario al momento de la venta, en unidades menores (ver Money)
  */
 
-public record OrderItem(Product product, int quantity) {
+public record OrderItem(Product product, int quantity, long unitPrice) {
     public OrderItem {
         if (product == null) {
             throw new IllegalArgumentException("El producto no puede ser nulo");
@@ -17,16 +16,21 @@ public record OrderItem(Product product, int quantity) {
         }
     }
 
-    // Devuelve el subtotal (precio del producto * cantidad)
-    public double getSubtotal() {
-        return product.getPrice() * quantity;
+    // Línea al precio actual del producto
+    public OrderItem(Product product, int quantity) {
+        this(product, quantity, product == null ? 0 : product.getPrice());
+    }
+
+    // Devuelve el subtotal en unidades menores (precio unitario * cantidad)
+    public long getSubtotal() {
+        return Money.multiply(unitPrice, quantity);
     }
 
     @Override
     public String toString() {
-        return String.format("%d x %s -> Subtotal: %.2f",
+        return String.format("%d x %s -> Subtotal: %s",
                 quantity,
                 product.getName(),
-                getSubtotal());
+                Money.toPlainString(getSubtotal()));
     }
-}
\ No newline at end of file
+}
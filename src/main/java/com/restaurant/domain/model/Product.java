@@ -1,19 +1,24 @@
 package com.restaurant.domain.model;
 
-import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
 import java.util.UUID;
 
 
 @Getter
-@Builder
-@AllArgsConstructor
-@NoArgsConstructor
 public class Product {
-    private UUID id;
-    private String name;
-    private double price;
-    private String category;
+    private final UUID id;
+    private final String name;
+    // Precio en unidades menores (centavos), ver Money
+    private final long price;
+    // Los repositorios y el journal la pasan por CategoryDictionary.intern: los productos comparten la instancia
+    private final String category;
+
+    @Builder
+    public Product(UUID id, String name, long price, String category) {
+        this.id = id;
+        this.name = name;
+        this.price = price;
+        this.category = category;
+    }
 }
@@ -0,0 +1,21 @@
+package com.restaurant.domain.model;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Reporte Z (cierre del día) sobre los pedidos cerrados. Montos en unidades menores (ver Money):
+ * bruto = suma de subtotales, neto = bruto - descuentos.
+ *
+ * @param couponOrders    pedidos cerrados con cupón
+ * @param topProducts     productos con mayor venta bruta (empates por nombre e id)
+ * @param categoryRevenue venta bruta por categoría, ordenada por nombre de categoría
+ */
+public record ZReport(long orders, long gross, long discounts, long net, long units,
+                      long couponOrders, long couponDiscounts,
+                      List<ProductSales> topProducts, Map<String, Long> categoryRevenue) {
+
+    public record ProductSales(UUID productId, String name, long units, long gross) {
+    }
+}
@@ -7,4 +7,9 @@ import java.util.Optional;
 public interface CouponRepository {
     List<Coupon> getAllCoupons();
     Optional<Coupon> findByCode(String code);
+
+    // Agrega o reemplaza (por código) un lote de cupones
+    void saveAll(List<Coupon> coupons);
+
+    long count();
 }
@@ -1,14 +1,51 @@
 package com.restaurant.domain.repository;
 
 import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.service.SalesAnalytics;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface OrderRepository {
     Order save(Order order);
+    /**
+     * Guarda 'order' solo si la versión guardada del pedido sigue siendo 'expectedVersion'.
+     * Si lo guarda, el pedido queda con una versión nueva; devuelve false si el pedido no existe
+     * o si otro escritor lo guardó antes (el llamador debe volver a leerlo y reintentar).
+     */
+    boolean compareAndSet(Order order, long expectedVersion);
     Optional<Order> findById(UUID id);
     List<Order> findAll();
+    // Pedidos cuyo último estado guardado es 'status'
+    List<Order> findByStatus(OrderStatus status);
+    /**
+     * Todos los pedidos con 'status', incluidos los que un repositorio por niveles ya no tiene en
+     * memoria (findByStatus solo devuelve los del nivel principal). Hay que cerrar el stream.
+     */
+    default Stream<Order> streamByStatus(OrderStatus status) {
+        return findByStatus(status).stream();
+    }
+    /**
+     * Carga en 'analytics' los pedidos cerrados que ya tiene el repositorio (ver SalesAnalytics.seed).
+     * Por defecto recorre streamByStatus; un repositorio con historial en disco puede partir de
+     * acumulados guardados en lugar de releer todos sus pedidos.
+     */
+    default void seedSalesAnalytics(SalesAnalytics analytics) {
+        try (Stream<Order> closed = streamByStatus(OrderStatus.CLOSED)) {
+            analytics.seed(closed);
+        }
+    }
+    // Todos los pedidos (de cualquier estado) de una mesa
+    List<Order> findByTableNumber(Integer tableNumber);
     void deleteById(UUID id);
-}
\ No newline at end of file
+    // Borra varios pedidos; los repositorios durables lo hacen en una sola escritura
+    default void deleteAllById(Collection<UUID> ids) {
+        ids.forEach(this::deleteById);
+    }
+    long count();
+    long countByStatus(OrderStatus status);
+}
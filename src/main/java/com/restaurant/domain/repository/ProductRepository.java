@@ -1,5 +1,6 @@
 package com.restaurant.domain.repository;
 
+import com.restaurant.domain.model.MenuSnapshot;
 import com.restaurant.domain.model.Product;
 
 import java.util.List;
@@ -22,6 +23,21 @@ public interface ProductRepository {
     // Busca productos por categoría
     List<Product> findByCategory(String category);
 
+    // Busca un producto por nombre exacto (ignora mayúsculas y espacios en los extremos)
+    Optional<Product> findByName(String name);
+
+    // Busca hasta 'limit' productos cuyo nombre empieza por el prefijo, ordenados por nombre
+    List<Product> findByNamePrefix(String prefix, int limit);
+
     // Elimina un producto
     void deleteById(UUID id);
+
+    // Cantidad de productos en la carta
+    long count();
+
+    // Carta inmutable actual; la misma instancia mientras no cambie ningún producto
+    MenuSnapshot snapshot();
+
+    // Versión de la carta sin construirla: la que tendrá el próximo snapshot()
+    long menuVersion();
 }
\ No newline at end of file
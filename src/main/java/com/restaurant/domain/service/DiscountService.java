@@ -1,6 +1,7 @@
 package com.restaurant.domain.service;
 
 import com.restaurant.domain.model.Coupon;
+import com.restaurant.domain.model.Money;
 import com.restaurant.domain.repository.CouponRepository;
 import java.util.Optional;
 
@@ -15,15 +16,20 @@ public class DiscountService {
         return couponRepository.findByCode(code);
     }
 
-    public double applyDiscount(double total, String couponCode) {
+    // Montos en unidades menores (ver Money)
+    public long applyDiscount(long total, String couponCode) {
         Optional<Coupon> couponOpt = getCouponByCode(couponCode);
 
         if (couponOpt.isEmpty()) {
             throw new IllegalArgumentException("Cupón inválido");
         }
 
-        Coupon coupon = couponOpt.get();
-        double discountAmount = total * coupon.getPercentAsDecimal();
-        return Math.max(total - discountAmount, 0);
+        return applyDiscount(total, couponOpt.get());
+    }
+
+    // Para quien ya buscó el cupón: no se vuelve a consultar el repositorio
+    public long applyDiscount(long total, Coupon coupon) {
+        long discountAmount = Money.percentOf(total, coupon.discountPercent());
+        return Math.max(Money.subtract(total, discountAmount), Money.ZERO);
     }
 }
@@ -0,0 +1,157 @@
+package com.restaurant.domain.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Ocupación del salón: el pedido abierto de cada mesa (numeradas de 1 a 'tables'), a lo sumo uno.
+ *
+ * 'openOrders' es la fuente de verdad y se modifica solo con compareAndSet, así dos meseros que
+ * abren pedido en la misma mesa a la vez nunca ganan ambos. 'occupied' es un bitset (un bit por
+ * mesa) para encontrar mesas libres de a 64 por palabra; se ajusta después de cada cambio y puede
+ * ir un instante por detrás de 'openOrders', nunca quedar distinto.
+ */
+public class FloorState {
+    public static final int DEFAULT_TABLES = 50;
+
+    private final int tables;
+    private final AtomicReferenceArray<UUID> openOrders;
+    private final AtomicLongArray occupied;
+
+    public FloorState() {
+        this(DEFAULT_TABLES);
+    }
+
+    public FloorState(int tables) {
+        if (tables <= 0) {
+            throw new IllegalArgumentException("La cantidad de mesas debe ser mayor que cero");
+        }
+        this.tables = tables;
+        this.openOrders = new AtomicReferenceArray<>(tables);
+        this.occupied = new AtomicLongArray((tables + 63) >>> 6);
+    }
+
+    public int tables() {
+        return tables;
+    }
+
+    /**
+     * Única validación del número de mesa: la usan la creación de pedidos, las consultas y la
+     * ocupación inicial con los pedidos que ya estaban abiertos.
+     */
+    public void requireTable(int tableNumber) {
+        if (!hasTable(tableNumber)) {
+            throw new IllegalArgumentException("La mesa " + tableNumber + " no existe: el salón tiene mesas de 1 a " + tables);
+        }
+    }
+
+    public boolean hasTable(int tableNumber) {
+        return tableNumber >= 1 && tableNumber <= tables;
+    }
+
+    /**
+     * Asigna la mesa al pedido si está libre.
+     * @return false si la mesa ya tiene otro pedido abierto
+     */
+    public boolean claim(int tableNumber, UUID orderId) {
+        if (orderId == null) {
+            throw new IllegalArgumentException("El pedido no puede ser nulo");
+        }
+        int index = indexOf(tableNumber);
+        if (!openOrders.compareAndSet(index, null, orderId)) {
+            return orderId.equals(openOrders.get(index));
+        }
+        syncBit(index);
+        return true;
+    }
+
+    /**
+     * Libera la mesa solo si el pedido abierto sigue siendo 'orderId'. compareAndSet compara
+     * referencias y un pedido releído del repositorio trae otra instancia del mismo UUID:
+     * se compara con equals y se libera con la instancia guardada.
+     */
+    public boolean release(int tableNumber, UUID orderId) {
+        int index = indexOf(tableNumber);
+        UUID current = openOrders.get(index);
+        if (orderId == null || !orderId.equals(current) || !openOrders.compareAndSet(index, current, null)) {
+            return false;
+        }
+        syncBit(index);
+        return true;
+    }
+
+    public Optional<UUID> openOrder(int tableNumber) {
+        return Optional.ofNullable(openOrders.get(indexOf(tableNumber)));
+    }
+
+    public boolean isOccupied(int tableNumber) {
+        return openOrders.get(indexOf(tableNumber)) != null;
+    }
+
+    // Primera mesa libre, o -1 si el salón está lleno
+    public int firstFreeTable() {
+        for (int word = 0; word < occupied.length(); word++) {
+            long free = ~occupied.get(word) & validBits(word);
+            if (free != 0) {
+                return (word << 6) + Long.numberOfTrailingZeros(free) + 1;
+            }
+        }
+        return -1;
+    }
+
+    public List<Integer> freeTables() {
+        List<Integer> free = new ArrayList<>();
+        for (int word = 0; word < occupied.length(); word++) {
+            long bits = ~occupied.get(word) & validBits(word);
+            while (bits != 0) {
+                free.add((word << 6) + Long.numberOfTrailingZeros(bits) + 1);
+                bits &= bits - 1;
+            }
+        }
+        return free;
+    }
+
+    public int occupiedCount() {
+        int count = 0;
+        for (int word = 0; word < occupied.length(); word++) {
+            count += Long.bitCount(occupied.get(word));
+        }
+        return count;
+    }
+
+    /**
+     * Lleva el bit de la mesa al estado de 'openOrders'. Si otro hilo cambió la mesa mientras se
+     * escribía el bit, se vuelve a ajustar: el último en escribir siempre deja el valor vigente.
+     */
+    private void syncBit(int index) {
+        int word = index >>> 6;
+        long mask = 1L << (index & 63);
+        while (true) {
+            boolean taken = openOrders.get(index) != null;
+            long current;
+            long next;
+            do {
+                current = occupied.get(word);
+                next = taken ? current | mask : current & ~mask;
+            } while (current != next && !occupied.compareAndSet(word, current, next));
+            if (taken == (openOrders.get(index) != null)) {
+                return;
+            }
+        }
+    }
+
+    // La última palabra del bitset puede tener bits de mesas que no existen
+    private long validBits(int word) {
+        int remaining = tables - (word << 6);
+        return remaining >= 64 ? -1L : (1L << remaining) - 1;
+    }
+
+    private int indexOf(int tableNumber) {
+        requireTable(tableNumber);
+        return tableNumber - 1;
+    }
+}
@@ -0,0 +1,14 @@
+package com.restaurant.domain.service;
+
+import com.restaurant.domain.model.KitchenTicket;
+
+/**
+ * Envía a cocina las líneas nuevas de los pedidos. Nunca bloquea al llamador: si la estación
+ * está saturada el ticket no se encola y devuelve false (la línea sigue visible en los pedidos activos).
+ */
+@FunctionalInterface
+public interface KitchenDispatcher {
+    KitchenDispatcher NONE = ticket -> true;
+
+    boolean dispatch(KitchenTicket ticket);
+}
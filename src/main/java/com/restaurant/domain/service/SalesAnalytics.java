@@ -0,0 +1,278 @@
+package com.restaurant.domain.service;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.Product;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Clock;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Acumulados de ventas por producto, categoría, mesa y hora del día, actualizados al cerrar cada
+ * pedido. Los contadores son LongAdder: varios cierres simultáneos no se bloquean entre sí y
+ * consultar un acumulado no depende de cuántos pedidos existan.
+ *
+ * Ingresos y descuentos en unidades menores (ver Money). El descuento del pedido se reparte entre
+ * sus líneas en proporción al subtotal de cada una, así la suma por producto coincide con el total.
+ *
+ * Las horas son franjas del día (0 a 23) que suman todos los días desde que arrancó el proceso,
+ * según la hora en que se registró el cierre. Los pedidos cargados con seed no tienen hora de
+ * cierre: cuentan en todos los acumulados salvo en byHour.
+ *
+ * Los acumulados sin franjas horarias se pueden guardar (writeTo) y volver a sumar (readFrom), así
+ * quien guarda historial en disco no necesita releer todos sus pedidos para reconstruirlos.
+ */
+public class SalesAnalytics {
+    public static final int HOURS = 24;
+
+    private final Clock clock;
+    private final Counters total = new Counters();
+    private final Map<UUID, Counters> byProduct = new ConcurrentHashMap<>();
+    private final Map<String, Counters> byCategory = new ConcurrentHashMap<>();
+    private final Map<Integer, Counters> byTable = new ConcurrentHashMap<>();
+    private final Counters[] byHour = new Counters[HOURS];
+    private final AtomicBoolean seeded = new AtomicBoolean();
+
+    public SalesAnalytics() {
+        this(Clock.systemDefaultZone());
+    }
+
+    public SalesAnalytics(Clock clock) {
+        this.clock = clock;
+        for (int hour = 0; hour < HOURS; hour++) {
+            byHour[hour] = new Counters();
+        }
+    }
+
+    // Registra un pedido cerrado; el llamador garantiza que cada pedido se registra una sola vez
+    public void recordClosedOrder(Order order) {
+        record(order, true);
+    }
+
+    // Registra un pedido cerrado en otro momento (p. ej. al archivarlo): no cuenta en byHour
+    public void recordPastOrder(Order order) {
+        record(order, false);
+    }
+
+    /**
+     * Carga los pedidos cerrados que ya existían al arrancar (por ejemplo, recuperados del journal).
+     * Solo la primera llamada tiene efecto, aunque varios casos de uso compartan esta instancia.
+     */
+    public void seed(Stream<Order> closedOrders) {
+        seed(null, closedOrders);
+    }
+
+    // Como seed, partiendo de acumulados ya calculados ('saved', p. ej. los del archivo) más los pedidos que no cubren
+    public void seed(SalesAnalytics saved, Stream<Order> closedOrders) {
+        if (seeded.compareAndSet(false, true)) {
+            if (saved != null) {
+                add(saved);
+            }
+            closedOrders.forEach(this::recordPastOrder);
+        }
+    }
+
+    private void add(SalesAnalytics other) {
+        total.add(other.total.snapshot());
+        other.byProduct.forEach((id, counters) ->
+                byProduct.computeIfAbsent(id, key -> new Counters()).add(counters.snapshot()));
+        other.byCategory.forEach((category, counters) ->
+                byCategory.computeIfAbsent(category, key -> new Counters()).add(counters.snapshot()));
+        other.byTable.forEach((table, counters) ->
+                byTable.computeIfAbsent(table, key -> new Counters()).add(counters.snapshot()));
+        for (int hour = 0; hour < HOURS; hour++) {
+            byHour[hour].add(other.byHour[hour].snapshot());
+        }
+    }
+
+    private void record(Order order, boolean closedNow) {
+        long subtotal = order.calculateSubtotal();
+        long discount = order.getDiscountAmount();
+        long revenue = order.getTotal();
+        long units = 0;
+
+        long remainingDiscount = discount;
+        int lines = order.getLineCount();
+        // El pedido cuenta una vez por producto y por categoría aunque tenga varias líneas de ellos
+        Set<UUID> seenProducts = new HashSet<>();
+        Set<String> seenCategories = new HashSet<>();
+        for (int i = 0; i < lines; i++) {
+            long lineSubtotal = order.getLineSubtotal(i);
+            int quantity = order.getLineQuantity(i);
+            // La última línea se lleva el resto del redondeo
+            long lineDiscount = i == lines - 1 ? remainingDiscount : share(discount, lineSubtotal, subtotal);
+            remainingDiscount -= lineDiscount;
+            units += quantity;
+
+            Product product = order.getLineProduct(i);
+            if (product.getId() != null) {
+                long firstOfProduct = seenProducts.add(product.getId()) ? 1 : 0;
+                byProduct.computeIfAbsent(product.getId(), id -> new Counters())
+                        .add(lineSubtotal - lineDiscount, quantity, lineDiscount, firstOfProduct);
+            }
+            String category = product.getCategory();
+            if (category != null) {
+                long firstOfCategory = seenCategories.add(category) ? 1 : 0;
+                byCategory.computeIfAbsent(category, key -> new Counters())
+                        .add(lineSubtotal - lineDiscount, quantity, lineDiscount, firstOfCategory);
+            }
+        }
+
+        total.add(revenue, units, discount, 1);
+        if (closedNow) {
+            byHour[LocalTime.now(clock).getHour()].add(revenue, units, discount, 1);
+        }
+        if (order.getTableNumber() != null) {
+            byTable.computeIfAbsent(order.getTableNumber(), table -> new Counters())
+                    .add(revenue, units, discount, 1);
+        }
+    }
+
+    // ===== CONSULTAS =====
+
+    public SalesTotals total() {
+        return total.snapshot();
+    }
+
+    public SalesTotals byProduct(UUID productId) {
+        return snapshot(byProduct.get(productId));
+    }
+
+    public SalesTotals byCategory(String category) {
+        return snapshot(byCategory.get(category));
+    }
+
+    public SalesTotals byTable(int tableNumber) {
+        return snapshot(byTable.get(tableNumber));
+    }
+
+    // Franja horaria del día, sumando todos los días (ver la descripción de la clase)
+    public SalesTotals byHour(int hour) {
+        if (hour < 0 || hour >= HOURS) {
+            throw new IllegalArgumentException("La hora debe estar entre 0 y 23");
+        }
+        return byHour[hour].snapshot();
+    }
+
+    // Tablero completo: una entrada por categoría o mesa con ventas, no por pedido
+    public Map<String, SalesTotals> categories() {
+        return snapshots(byCategory);
+    }
+
+    public Map<Integer, SalesTotals> tables() {
+        return snapshots(byTable);
+    }
+
+    public Map<UUID, SalesTotals> products() {
+        return snapshots(byProduct);
+    }
+
+    // ===== PERSISTENCIA =====
+
+    // Escribe los acumulados por producto, categoría y mesa y el total; las franjas horarias no se guardan
+    public void writeTo(DataOutput out) throws IOException {
+        write(out, total.snapshot());
+        out.writeInt(byProduct.size());
+        for (Map.Entry<UUID, Counters> entry : byProduct.entrySet()) {
+            out.writeLong(entry.getKey().getMostSignificantBits());
+            out.writeLong(entry.getKey().getLeastSignificantBits());
+            write(out, entry.getValue().snapshot());
+        }
+        out.writeInt(byCategory.size());
+        for (Map.Entry<String, Counters> entry : byCategory.entrySet()) {
+            out.writeUTF(entry.getKey());
+            write(out, entry.getValue().snapshot());
+        }
+        out.writeInt(byTable.size());
+        for (Map.Entry<Integer, Counters> entry : byTable.entrySet()) {
+            out.writeInt(entry.getKey());
+            write(out, entry.getValue().snapshot());
+        }
+    }
+
+    // Suma a estos acumulados los escritos con writeTo
+    public void readFrom(DataInput in) throws IOException {
+        total.add(read(in));
+        for (int i = in.readInt(); i > 0; i--) {
+            UUID id = new UUID(in.readLong(), in.readLong());
+            byProduct.computeIfAbsent(id, key -> new Counters()).add(read(in));
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            String category = in.readUTF();
+            byCategory.computeIfAbsent(category, key -> new Counters()).add(read(in));
+        }
+        for (int i = in.readInt(); i > 0; i--) {
+            int table = in.readInt();
+            byTable.computeIfAbsent(table, key -> new Counters()).add(read(in));
+        }
+    }
+
+    private static void write(DataOutput out, SalesTotals totals) throws IOException {
+        out.writeLong(totals.revenue());
+        out.writeLong(totals.units());
+        out.writeLong(totals.discount());
+        out.writeLong(totals.orders());
+    }
+
+    private static SalesTotals read(DataInput in) throws IOException {
+        return new SalesTotals(in.readLong(), in.readLong(), in.readLong(), in.readLong());
+    }
+
+    private static long share(long discount, long lineSubtotal, long subtotal) {
+        if (subtotal == 0) {
+            return 0;
+        }
+        return Math.multiplyExact(discount, lineSubtotal) / subtotal;
+    }
+
+    private static SalesTotals snapshot(Counters counters) {
+        return counters == null ? SalesTotals.EMPTY : counters.snapshot();
+    }
+
+    private static <K> Map<K, SalesTotals> snapshots(Map<K, Counters> counters) {
+        Map<K, SalesTotals> result = new TreeMap<>();
+        counters.forEach((key, value) -> result.put(key, value.snapshot()));
+        return result;
+    }
+
+    /**
+     * Acumulado de un producto, categoría, mesa u hora. Los campos se leen por separado:
+     * con cierres en curso, una lectura puede incluir parte de un pedido.
+     */
+    public record SalesTotals(long revenue, long units, long discount, long orders) {
+        public static final SalesTotals EMPTY = new SalesTotals(0, 0, 0, 0);
+    }
+
+    private static final class Counters {
+        private final LongAdder revenue = new LongAdder();
+        private final LongAdder units = new LongAdder();
+        private final LongAdder discount = new LongAdder();
+        private final LongAdder orders = new LongAdder();
+
+        void add(long revenue, long units, long discount, long orders) {
+            this.revenue.add(revenue);
+            this.units.add(units);
+            this.discount.add(discount);
+            this.orders.add(orders);
+        }
+
+        void add(SalesTotals totals) {
+            add(totals.revenue(), totals.units(), totals.discount(), totals.orders());
+        }
+
+        SalesTotals snapshot() {
+            return new SalesTotals(revenue.sum(), units.sum(), discount.sum(), orders.sum());
+        }
+    }
+}
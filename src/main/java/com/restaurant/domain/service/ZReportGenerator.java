@@ -0,0 +1,194 @@
+package com.restaurant.domain.service;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.model.ZReport;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Stream;
+
+/**
+ * Genera el reporte Z sobre una lista o un stream de pedidos (solo cuenta los cerrados). La versión paralela
+ * divide la lista en rangos con fork/join y combina los parciales; la secuencial es la referencia.
+ * Ambas suman en long con el mismo acumulador, así que el resultado es idéntico.
+ */
+public class ZReportGenerator {
+    public static final int DEFAULT_TOP_PRODUCTS = 10;
+    // Por debajo de esto un rango se procesa directamente: dividir más cuesta más de lo que ahorra
+    static final int DEFAULT_SPLIT_THRESHOLD = 8_192;
+
+    private static final Comparator<ZReport.ProductSales> BEST_SELLERS =
+            Comparator.comparingLong(ZReport.ProductSales::gross).reversed()
+                    .thenComparing(ZReport.ProductSales::name, Comparator.nullsLast(Comparator.naturalOrder()))
+                    .thenComparing(ZReport.ProductSales::productId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final ForkJoinPool pool;
+    private final int topProducts;
+    private final int splitThreshold;
+
+    public ZReportGenerator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_TOP_PRODUCTS);
+    }
+
+    public ZReportGenerator(ForkJoinPool pool, int topProducts) {
+        this(pool, topProducts, DEFAULT_SPLIT_THRESHOLD);
+    }
+
+    ZReportGenerator(ForkJoinPool pool, int topProducts, int splitThreshold) {
+        if (topProducts <= 0 || splitThreshold <= 0) {
+            throw new IllegalArgumentException("Top products and split threshold must be positive");
+        }
+        this.pool = pool;
+        this.topProducts = topProducts;
+        this.splitThreshold = splitThreshold;
+    }
+
+    // 'orders' debe permitir acceso por índice (ArrayList, List.copyOf...): se divide por rangos
+    public ZReport generate(List<Order> orders) {
+        return pool.invoke(new RangeTask(orders, 0, orders.size())).toReport(topProducts);
+    }
+
+    /**
+     * Para fuentes que no caben en una lista (p. ej. pedidos archivados leídos bloque a bloque):
+     * el stream se recorre en paralelo dentro de 'pool' con un acumulador por hilo.
+     */
+    public ZReport generate(Stream<Order> orders) {
+        return pool.submit(() -> orders.parallel().collect(Totals::new, Totals::add, Totals::merge))
+                .join()
+                .toReport(topProducts);
+    }
+
+    public ZReport generateSequential(List<Order> orders) {
+        Totals totals = new Totals();
+        for (Order order : orders) {
+            totals.add(order);
+        }
+        return totals.toReport(topProducts);
+    }
+
+    private final class RangeTask extends RecursiveTask<Totals> {
+        private final List<Order> orders;
+        private final int from;
+        private final int to;
+
+        RangeTask(List<Order> orders, int from, int to) {
+            this.orders = orders;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Totals compute() {
+            if (to - from <= splitThreshold) {
+                Totals totals = new Totals();
+                for (int i = from; i < to; i++) {
+                    totals.add(orders.get(i));
+                }
+                return totals;
+            }
+            int middle = (from + to) >>> 1;
+            RangeTask left = new RangeTask(orders, from, middle);
+            left.fork();
+            Totals right = new RangeTask(orders, middle, to).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    // Acumulador parcial; los productos se agrupan por id (o por nombre si no tienen id)
+    private static final class Totals {
+        private long orders;
+        private long gross;
+        private long discounts;
+        private long units;
+        private long couponOrders;
+        private long couponDiscounts;
+        private final Map<Object, ProductTotals> products = new HashMap<>();
+        private final Map<String, Long> categories = new HashMap<>();
+
+        void add(Order order) {
+            if (order.getStatus() != OrderStatus.CLOSED) {
+                return;
+            }
+            orders++;
+            gross += order.calculateSubtotal();
+            discounts += order.getDiscountAmount();
+            if (order.isCouponApplied()) {
+                couponOrders++;
+                couponDiscounts += order.getDiscountAmount();
+            }
+
+            for (int i = 0; i < order.getLineCount(); i++) {
+                Product product = order.getLineProduct(i);
+                long lineGross = order.getLineSubtotal(i);
+                int quantity = order.getLineQuantity(i);
+                units += quantity;
+                Object key = product.getId() != null ? product.getId() : product.getName();
+                products.computeIfAbsent(key, k -> new ProductTotals(product.getId(), product.getName()))
+                        .add(quantity, lineGross);
+                if (product.getCategory() != null) {
+                    categories.merge(product.getCategory(), lineGross, Long::sum);
+                }
+            }
+        }
+
+        Totals merge(Totals other) {
+            orders += other.orders;
+            gross += other.gross;
+            discounts += other.discounts;
+            units += other.units;
+            couponOrders += other.couponOrders;
+            couponDiscounts += other.couponDiscounts;
+            other.products.forEach((key, totals) -> products.merge(key, totals, ProductTotals::merge));
+            other.categories.forEach((category, revenue) -> categories.merge(category, revenue, Long::sum));
+            return this;
+        }
+
+        ZReport toReport(int limit) {
+            List<ZReport.ProductSales> ranking = new ArrayList<>(products.size());
+            products.values().forEach(totals -> ranking.add(totals.toSales()));
+            ranking.sort(BEST_SELLERS);
+            List<ZReport.ProductSales> top = List.copyOf(ranking.subList(0, Math.min(limit, ranking.size())));
+
+            return new ZReport(orders, gross, discounts, gross - discounts, units, couponOrders, couponDiscounts,
+                    top, Collections.unmodifiableMap(new TreeMap<>(categories)));
+        }
+    }
+
+    private static final class ProductTotals {
+        private final UUID id;
+        private final String name;
+        private long units;
+        private long gross;
+
+        ProductTotals(UUID id, String name) {
+            this.id = id;
+            this.name = name;
+        }
+
+        void add(int quantity, long lineGross) {
+            units += quantity;
+            gross += lineGross;
+        }
+
+        ProductTotals merge(ProductTotals other) {
+            units += other.units;
+            gross += other.gross;
+            return this;
+        }
+
+        ZReport.ProductSales toSales() {
+            return new ZReport.ProductSales(id, Objects.requireNonNullElse(name, ""), units, gross);
+        }
+    }
+}
@@ -2,25 +2,72 @@ package com.restaurant.infrastructure;
 
 import com.restaurant.domain.model.Coupon;
 import com.restaurant.domain.repository.CouponRepository;
+
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
 
 public class InMemoryCouponRepository implements CouponRepository {
-    private final List<Coupon> coupons = List.of(
-            new Coupon("DESCUENTO10", 0, 10),
-            new Coupon("DESCUENTO5", 0, 5),
-            new Coupon("BIENVENIDA", 0, 10)
-    );
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    // Catálogo inmutable que se reemplaza completo en cada carga, así los lectores nunca ven una carga a medias
+    private volatile Catalog catalog = new Catalog(Map.of(), BloomFilter.create(0, FALSE_POSITIVE_RATE));
 
     @Override
     public List<Coupon> getAllCoupons() {
-        return coupons;
+        return List.copyOf(catalog.coupons().values());
     }
 
     @Override
     public Optional<Coupon> findByCode(String code) {
-        return coupons.stream()
-                .filter(c -> c.code().equalsIgnoreCase(code.trim()))
-                .findFirst();
+        if (code == null || code.isBlank()) {
+            return Optional.empty();
+        }
+
+        String normalizedCode = normalizeCode(code);
+        Catalog current = catalog;
+
+        // El filtro descarta los códigos inválidos sin tocar el mapa principal
+        if (!current.filter().mightContain(normalizedCode)) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(current.coupons().get(normalizedCode));
+    }
+
+    @Override
+    public synchronized void saveAll(List<Coupon> couponList) {
+        if (couponList == null) {
+            throw new IllegalArgumentException("Coupon list cannot be null");
+        }
+
+        Map<String, Coupon> current = catalog.coupons();
+        int expectedSize = current.size() + couponList.size();
+        Map<String, Coupon> coupons = new HashMap<>((int) (expectedSize / 0.75f) + 1);
+        coupons.putAll(current);
+        for (Coupon coupon : couponList) {
+            if (coupon == null || coupon.code() == null || coupon.code().isBlank()) {
+                throw new IllegalArgumentException("Coupon code cannot be null or empty");
+            }
+            coupons.put(normalizeCode(coupon.code()), coupon);
+        }
+
+        BloomFilter filter = BloomFilter.create(coupons.size(), FALSE_POSITIVE_RATE);
+        coupons.keySet().forEach(filter::put);
+
+        catalog = new Catalog(coupons, filter);
+    }
+
+    @Override
+    public long count() {
+        return catalog.coupons().size();
+    }
+
+    private static String normalizeCode(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private record Catalog(Map<String, Coupon> coupons, BloomFilter filter) {
     }
 }
@@ -1,13 +1,24 @@
 package com.restaurant.infrastructure;
 
 import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
 import com.restaurant.domain.repository.OrderRepository;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class InMemoryOrderRepository implements OrderRepository {
-    private final Map<UUID, Order> orders = new ConcurrentHashMap<>();
+    private final Map<UUID, Entry> orders = new ConcurrentHashMap<>();
+
+    // Índices secundarios, actualizados dentro del compute de cada pedido
+    private final Map<OrderStatus, Map<UUID, Order>> ordersByStatus = new EnumMap<>(OrderStatus.class);
+    private final Map<Integer, Map<UUID, Order>> ordersByTable = new ConcurrentHashMap<>();
+
+    public InMemoryOrderRepository() {
+        for (OrderStatus status : OrderStatus.values()) {
+            ordersByStatus.put(status, new ConcurrentHashMap<>());
+        }
+    }
 
     @Override
     public Order save(Order order) {
@@ -19,22 +30,109 @@ public class InMemoryOrderRepository implements OrderRepository {
             throw new IllegalArgumentException("Order ID cannot be null");
         }
 
-        orders.put(order.getId(), order);
+        orders.compute(order.getId(), (id, previous) -> {
+            if (previous != null) {
+                order.setVersion(previous.order().getVersion() + 1);
+            }
+            return store(id, previous, order);
+        });
         return order;
     }
 
+    @Override
+    public boolean compareAndSet(Order order, long expectedVersion) {
+        if (order == null || order.getId() == null) {
+            throw new IllegalArgumentException("Order and order ID cannot be null");
+        }
+
+        boolean[] swapped = new boolean[1];
+        orders.computeIfPresent(order.getId(), (id, previous) -> {
+            if (previous.order().getVersion() != expectedVersion) {
+                return previous;
+            }
+            swapped[0] = true;
+            order.setVersion(expectedVersion + 1);
+            return store(id, previous, order);
+        });
+        return swapped[0];
+    }
+
     @Override
     public Optional<Order> findById(UUID id) {
-        return Optional.ofNullable(orders.get(id));
+        Entry entry = orders.get(id);
+        return entry == null ? Optional.empty() : Optional.of(entry.order());
     }
 
     @Override
     public List<Order> findAll() {
-        return new ArrayList<>(orders.values());
+        List<Order> all = new ArrayList<>(orders.size());
+        orders.values().forEach(entry -> all.add(entry.order()));
+        return all;
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        return List.copyOf(ordersByStatus.get(status).values());
+    }
+
+    @Override
+    public List<Order> findByTableNumber(Integer tableNumber) {
+        if (tableNumber == null) {
+            throw new IllegalArgumentException("Table number cannot be null");
+        }
+        Map<UUID, Order> bucket = ordersByTable.get(tableNumber);
+        return bucket == null ? List.of() : List.copyOf(bucket.values());
     }
 
     @Override
     public void deleteById(UUID id) {
-        orders.remove(id);
+        orders.computeIfPresent(id, (key, previous) -> {
+            ordersByStatus.get(previous.indexedStatus()).remove(key);
+            Integer table = previous.order().getTableNumber();
+            if (table != null) {
+                ordersByTable.computeIfPresent(table, (t, bucket) -> {
+                    bucket.remove(key);
+                    return bucket.isEmpty() ? null : bucket;
+                });
+            }
+            return null;
+        });
+    }
+
+    @Override
+    public long count() {
+        return orders.size();
+    }
+
+    @Override
+    public long countByStatus(OrderStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        return ordersByStatus.get(status).size();
+    }
+
+    // Se invoca dentro del compute del pedido
+    private Entry store(UUID id, Entry previous, Order order) {
+        // El pedido puede ser el mismo objeto modificado: el estado anterior se toma del índice, no del objeto
+        if (previous != null) {
+            ordersByStatus.get(previous.indexedStatus()).remove(id);
+        }
+        OrderStatus status = order.getStatus();
+        ordersByStatus.get(status).put(id, order);
+        if (order.getTableNumber() != null) {
+            ordersByTable.compute(order.getTableNumber(), (table, bucket) -> {
+                Map<UUID, Order> target = bucket == null ? new ConcurrentHashMap<>() : bucket;
+                target.put(id, order);
+                return target;
+            });
+        }
+        return new Entry(order, status);
+    }
+
+    private record Entry(Order order, OrderStatus indexedStatus) {
     }
-}
\ No newline at end of file
+}
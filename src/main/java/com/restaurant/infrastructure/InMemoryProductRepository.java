@@ -1,14 +1,60 @@
 package com.restaurant.infrastructure;
 
+import com.restaurant.domain.model.CategoryDictionary;
+import com.restaurant.domain.model.MenuSnapshot;
 import com.restaurant.domain.model.Product;
 import com.restaurant.domain.repository.ProductRepository;
 
+import java.security.SecureRandom;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
 
+/**
+ * Las lecturas y los save individuales comparten el read lock (los mapas concurrentes los serializan
+ * por producto); saveAll toma el write lock, así una importación se publica completa de una vez
+ * y ninguna lectura ve la carta a medio importar.
+ *
+ * Cada escritura sube 'menuVersion'; snapshot() reconstruye la carta inmutable solo cuando esa
+ * versión cambió, así las lecturas repetidas de la carta completa no copian ni ordenan nada.
+ *
+ * Las categorías se guardan con la instancia de 'categories': los productos de una misma categoría
+ * comparten su nombre en lugar de tener cada uno su String.
+ */
 public class InMemoryProductRepository implements ProductRepository {
-    // Usamos ConcurrentHashMap para thread safety
-    private final Map<UUID, Product> products = new ConcurrentHashMap<>();
+    private static final SecureRandom ID_RANDOM = new SecureRandom();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Lock shared = lock.readLock();
+    private final Lock exclusive = lock.writeLock();
+    private final CategoryDictionary categories;
+
+    // Usamos ConcurrentHashMap para thread safety. Los mapas se pueden reemplazar por copias
+    // más grandes dentro de saveAll (con el write lock), por eso no son final
+    private Map<UUID, Product> products = new ConcurrentHashMap<>();
+
+    // Índice secundario: categoría normalizada -> productos de esa categoría
+    private final Map<String, Map<UUID, Product>> productsByCategory = new ConcurrentHashMap<>();
+
+    // Índices por nombre normalizado: hash para la búsqueda exacta y árbol ordenado para el autocompletado.
+    // Varios productos pueden compartir nombre: cada clave guarda una lista inmutable, el último guardado al final
+    private Map<String, List<Product>> productsByName = new ConcurrentHashMap<>();
+    private final NavigableMap<String, List<Product>> productsByNamePrefix = new ConcurrentSkipListMap<>();
+
+    // Versión de la carta: sube después de aplicar cada cambio, 'menu' es la última carta construida
+    private final AtomicLong menuVersion = new AtomicLong();
+    private volatile MenuSnapshot menu = MenuSnapshot.EMPTY;
+
+    public InMemoryProductRepository() {
+        this(new CategoryDictionary());
+    }
+
+    public InMemoryProductRepository(CategoryDictionary categories) {
+        this.categories = categories;
+    }
 
     @Override
     public Product save(Product product) {
@@ -17,29 +63,71 @@ public class InMemoryProductRepository implements ProductRepository {
         }
 
         // Si el producto no tiene ID, se asume que es nuevo
-        if (product.getId() == null) {
-            Product newProduct = Product.builder()
-                    .id(UUID.randomUUID())
-                    .name(product.getName())
-                    .price(product.getPrice())
-                    .category(product.getCategory())
-                    .build();
+        Product stored = product.getId() == null ? withId(product, UUID.randomUUID()) : internCategory(product);
 
-            products.put(newProduct.getId(), newProduct);
-            return newProduct;
+        // Si ya existe, actualizamos (y movemos el índice si cambió la categoría)
+        shared.lock();
+        try {
+            products.compute(stored.getId(), (id, previous) -> {
+                if (previous != null) {
+                    unindex(previous);
+                }
+                index(stored);
+                return stored;
+            });
+            menuVersion.incrementAndGet();
+        } finally {
+            shared.unlock();
         }
-
-        // Si ya existe, actualizamos
-        products.put(product.getId(), product);
-        return product;
+        return stored;
     }
 
+    /**
+     * Importación en bloque: asigna los IDs que faltan de una sola vez, agranda los mapas antes de
+     * insertar y agrupa los productos por categoría para tocar cada índice una vez por lote.
+     * Los productos que ya traen ID y la categoría del diccionario se guardan tal cual, sin copiarlos.
+     */
     @Override
     public void saveAll(List<Product> productList) {
         if (productList == null) {
             throw new IllegalArgumentException("Product list cannot be null");
         }
-        productList.forEach(this::save);
+        if (productList.isEmpty()) {
+            return;
+        }
+
+        List<Product> batch = assignIds(productList);
+        exclusive.lock();
+        try {
+            products = presized(products, batch.size());
+            productsByName = presized(productsByName, batch.size());
+
+            for (Product product : batch) {
+                Product previous = products.put(product.getId(), product);
+                if (previous != null) {
+                    unindex(previous);
+                }
+                indexName(product);
+            }
+
+            // Solo la última versión de cada ID (un lote puede repetir productos) entra al índice por categoría
+            Map<String, List<Product>> byCategory = new HashMap<>();
+            for (Product product : batch) {
+                if (product.getCategory() != null && products.get(product.getId()) == product) {
+                    byCategory.computeIfAbsent(normalizeCategory(product.getCategory()), key -> new ArrayList<>()).add(product);
+                }
+            }
+            byCategory.forEach((category, added) -> {
+                Map<UUID, Product> bucket = presized(productsByCategory.getOrDefault(category, Map.of()), added.size());
+                for (Product product : added) {
+                    bucket.put(product.getId(), product);
+                }
+                productsByCategory.put(category, bucket);
+            });
+            menuVersion.incrementAndGet();
+        } finally {
+            exclusive.unlock();
+        }
     }
 
     @Override
@@ -47,12 +135,22 @@ public class InMemoryProductRepository implements ProductRepository {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
         }
-        return Optional.ofNullable(products.get(id));
+        shared.lock();
+        try {
+            return Optional.ofNullable(products.get(id));
+        } finally {
+            shared.unlock();
+        }
     }
 
     @Override
     public List<Product> findAll() {
-        return new ArrayList<>(products.values());
+        shared.lock();
+        try {
+            return new ArrayList<>(products.values());
+        } finally {
+            shared.unlock();
+        }
     }
 
     @Override
@@ -61,9 +159,56 @@ public class InMemoryProductRepository implements ProductRepository {
             throw new IllegalArgumentException("Category cannot be null or empty");
         }
 
-        return products.values().stream()
-                .filter(p -> p.getCategory().equalsIgnoreCase(category))
-                .toList();
+        String key = normalizeCategory(category);
+        shared.lock();
+        try {
+            Map<UUID, Product> bucket = productsByCategory.get(key);
+            return bucket == null ? List.of() : List.copyOf(bucket.values());
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Product> findByName(String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+        String key = normalizeName(name);
+        shared.lock();
+        try {
+            List<Product> sameName = productsByName.get(key);
+            return sameName == null ? Optional.empty() : Optional.of(sameName.get(sameName.size() - 1));
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    @Override
+    public List<Product> findByNamePrefix(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+
+        String normalizedPrefix = normalizeName(prefix);
+        List<Product> matches = new ArrayList<>(Math.min(limit, 16));
+        shared.lock();
+        try {
+            for (Map.Entry<String, List<Product>> entry : productsByNamePrefix.tailMap(normalizedPrefix, true).entrySet()) {
+                if (!entry.getKey().startsWith(normalizedPrefix)) {
+                    break;
+                }
+                for (Product product : entry.getValue()) {
+                    if (matches.size() == limit) {
+                        return matches;
+                    }
+                    matches.add(product);
+                }
+            }
+        } finally {
+            shared.unlock();
+        }
+        return matches;
     }
 
     @Override
@@ -71,6 +216,206 @@ public class InMemoryProductRepository implements ProductRepository {
         if (id == null) {
             throw new IllegalArgumentException("ID cannot be null");
         }
-        products.remove(id);
+        shared.lock();
+        try {
+            Product[] removed = new Product[1];
+            products.computeIfPresent(id, (key, previous) -> {
+                unindex(previous);
+                removed[0] = previous;
+                return null;
+            });
+            if (removed[0] != null) {
+                menuVersion.incrementAndGet();
+            }
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    @Override
+    public long count() {
+        shared.lock();
+        try {
+            return products.size();
+        } finally {
+            shared.unlock();
+        }
+    }
+
+    /**
+     * La versión se lee antes de copiar los productos: todo cambio que ya la subió está en la copia.
+     * Un cambio concurrente que no alcanzó a subirla solo provoca otra reconstrucción en la siguiente llamada.
+     */
+    @Override
+    public MenuSnapshot snapshot() {
+        MenuSnapshot current = menu;
+        if (current.version() == menuVersion.get()) {
+            return current;
+        }
+
+        MenuSnapshot rebuilt;
+        shared.lock();
+        try {
+            long version = menuVersion.get();
+            rebuilt = MenuSnapshot.of(version, products.values());
+        } finally {
+            shared.unlock();
+        }
+        return publish(rebuilt);
+    }
+
+    @Override
+    public long menuVersion() {
+        return menuVersion.get();
+    }
+
+    // Solo se publica una carta más nueva que la actual (dos hilos pueden reconstruir a la vez)
+    private synchronized MenuSnapshot publish(MenuSnapshot rebuilt) {
+        if (rebuilt.version() > menu.version()) {
+            menu = rebuilt;
+        }
+        return menu;
+    }
+
+    // Se invocan dentro de products.compute (o con el write lock), así que las escrituras de un mismo producto quedan serializadas
+    private void index(Product product) {
+        indexName(product);
+        if (product.getCategory() == null) {
+            return;
+        }
+        productsByCategory.compute(normalizeCategory(product.getCategory()), (key, bucket) -> {
+            Map<UUID, Product> target = bucket == null ? new ConcurrentHashMap<>() : bucket;
+            target.put(product.getId(), product);
+            return target;
+        });
+    }
+
+    private void unindex(Product product) {
+        if (product.getName() != null) {
+            // Solo se quita este producto: los demás con el mismo nombre siguen encontrándose
+            String name = normalizeName(product.getName());
+            productsByName.computeIfPresent(name, (key, sameName) -> without(sameName, product));
+            productsByNamePrefix.computeIfPresent(name, (key, sameName) -> without(sameName, product));
+        }
+        if (product.getCategory() == null) {
+            return;
+        }
+        productsByCategory.computeIfPresent(normalizeCategory(product.getCategory()), (key, bucket) -> {
+            bucket.remove(product.getId());
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private void indexName(Product product) {
+        if (product.getName() != null) {
+            String name = normalizeName(product.getName());
+            productsByName.compute(name, (key, sameName) -> with(sameName, product));
+            productsByNamePrefix.compute(name, (key, sameName) -> with(sameName, product));
+        }
+    }
+
+    // Copia a un mapa con capacidad para 'additional' entradas más si el lote es mayor que lo ya guardado
+    private static <K, V> Map<K, V> presized(Map<K, V> map, int additional) {
+        if (map instanceof ConcurrentHashMap && additional <= map.size()) {
+            return map;
+        }
+        Map<K, V> resized = new ConcurrentHashMap<>(map.size() + additional);
+        resized.putAll(map);
+        return resized;
+    }
+
+    // Asigna los IDs faltantes con una sola lectura de SecureRandom para todo el lote
+    private List<Product> assignIds(List<Product> productList) {
+        int missing = 0;
+        boolean interned = true;
+        for (Product product : productList) {
+            if (product == null) {
+                throw new IllegalArgumentException("Product cannot be null");
+            }
+            if (product.getId() == null) {
+                missing++;
+            }
+            interned &= categories.intern(product.getCategory()) == product.getCategory();
+        }
+        if (missing == 0 && interned) {
+            return productList;
+        }
+
+        byte[] random = new byte[missing * 16];
+        ID_RANDOM.nextBytes(random);
+        List<Product> batch = new ArrayList<>(productList.size());
+        int offset = 0;
+        for (Product product : productList) {
+            if (product.getId() == null) {
+                batch.add(withId(product, randomUuid(random, offset)));
+                offset += 16;
+            } else {
+                batch.add(internCategory(product));
+            }
+        }
+        return batch;
+    }
+
+    // UUID versión 4 (RFC 4122) a partir de 16 bytes aleatorios
+    private static UUID randomUuid(byte[] random, int offset) {
+        long msb = 0;
+        long lsb = 0;
+        for (int i = 0; i < 8; i++) {
+            msb = (msb << 8) | (random[offset + i] & 0xFF);
+            lsb = (lsb << 8) | (random[offset + 8 + i] & 0xFF);
+        }
+        msb = (msb & ~0xF000L) | 0x4000L;
+        lsb = (lsb & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    private Product withId(Product product, UUID id) {
+        return new Product(id, product.getName(), product.getPrice(), categories.intern(product.getCategory()));
+    }
+
+    // Solo se copia el producto si su categoría todavía no es la instancia del diccionario
+    private Product internCategory(Product product) {
+        String category = categories.intern(product.getCategory());
+        if (category == product.getCategory()) {
+            return product;
+        }
+        return new Product(product.getId(), product.getName(), product.getPrice(), category);
+    }
+
+    private static List<Product> with(List<Product> sameName, Product product) {
+        if (sameName == null) {
+            return List.of(product);
+        }
+        List<Product> updated = new ArrayList<>(sameName.size() + 1);
+        for (Product current : sameName) {
+            if (!sameId(current, product)) {
+                updated.add(current);
+            }
+        }
+        updated.add(product);
+        return List.copyOf(updated);
+    }
+
+    // null si no queda ninguno, así compute borra la clave
+    private static List<Product> without(List<Product> sameName, Product product) {
+        List<Product> updated = new ArrayList<>(sameName.size());
+        for (Product current : sameName) {
+            if (!sameId(current, product)) {
+                updated.add(current);
+            }
+        }
+        return updated.isEmpty() ? null : List.copyOf(updated);
+    }
+
+    private static boolean sameId(Product current, Product product) {
+        return current.getId().equals(product.getId());
+    }
+
+    private static String normalizeCategory(String category) {
+        return CategoryDictionary.normalize(category);
+    }
+
+    private static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,266 @@
+package com.restaurant.infrastructure.journal;
+
+import com.restaurant.domain.model.CategoryDictionary;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.domain.service.SalesAnalytics;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Repositorio de pedidos en dos niveles: los pedidos abiertos y los últimos 'hotTerminalOrders'
+ * cerrados o cancelados viven en el repositorio 'hot'; los terminados más antiguos pasan a un
+ * OrderArchive en disco (bloques comprimidos, índice fuera del heap) y se quitan del 'hot'.
+ *
+ * findById, count, countByStatus y streamByStatus ven ambos niveles. findAll, findByStatus y
+ * findByTableNumber solo devuelven los pedidos del nivel 'hot'. Los pedidos archivados no se modifican: un pedido
+ * cerrado o cancelado no vuelve a cambiar en los casos de uso, y compareAndSet sobre uno archivado falla.
+ */
+public class ArchivingOrderRepository implements OrderRepository, Closeable {
+    public static final int DEFAULT_HOT_TERMINAL_ORDERS = 10_000;
+    static final int DEFAULT_ORDERS_PER_BLOCK = 256;
+    static final int DEFAULT_ORDERS_PER_SEGMENT = 100_000;
+
+    private final OrderRepository hot;
+    private final OrderArchive archive;
+    private final int hotTerminalOrders;
+    private final int ordersPerBlock;
+
+    // Pedidos en el orden en que llegaron a un estado terminal: se archivan primero los más antiguos
+    private final Queue<UUID> terminalOrders = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock archiving = new ReentrantLock();
+
+    public ArchivingOrderRepository(OrderRepository hot, Path directory) {
+        this(hot, directory, DEFAULT_HOT_TERMINAL_ORDERS);
+    }
+
+    public ArchivingOrderRepository(OrderRepository hot, Path directory, int hotTerminalOrders) {
+        this(hot, directory, hotTerminalOrders, new CategoryDictionary());
+    }
+
+    // Los pedidos leídos del archivo usan las categorías de 'categories'
+    public ArchivingOrderRepository(OrderRepository hot, Path directory, int hotTerminalOrders, CategoryDictionary categories) {
+        this(hot, directory, hotTerminalOrders, DEFAULT_ORDERS_PER_BLOCK, DEFAULT_ORDERS_PER_SEGMENT, categories);
+    }
+
+    ArchivingOrderRepository(OrderRepository hot, Path directory, int hotTerminalOrders,
+                             int ordersPerBlock, int ordersPerSegment) {
+        this(hot, directory, hotTerminalOrders, ordersPerBlock, ordersPerSegment, new CategoryDictionary());
+    }
+
+    ArchivingOrderRepository(OrderRepository hot, Path directory, int hotTerminalOrders,
+                             int ordersPerBlock, int ordersPerSegment, CategoryDictionary categories) {
+        if (hotTerminalOrders < 0) {
+            throw new IllegalArgumentException("Hot terminal orders cannot be negative");
+        }
+        if (ordersPerBlock <= 0) {
+            throw new IllegalArgumentException("Orders per block must be positive");
+        }
+        this.hot = hot;
+        this.hotTerminalOrders = hotTerminalOrders;
+        this.ordersPerBlock = ordersPerBlock;
+
+        try {
+            this.archive = new OrderArchive(directory, ordersPerSegment, categories);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order archive in " + directory, e);
+        }
+
+        // El repositorio 'hot' puede venir con pedidos recuperados (p. ej. desde un journal)
+        hot.findByStatus(OrderStatus.CLOSED).forEach(order -> terminalOrders.add(order.getId()));
+        hot.findByStatus(OrderStatus.CANCELLED).forEach(order -> terminalOrders.add(order.getId()));
+        archiveIfNeeded();
+    }
+
+    @Override
+    public Order save(Order order) {
+        Order saved = hot.save(order);
+        if (isTerminal(saved.getStatus())) {
+            terminalOrders.add(saved.getId());
+            archiveIfNeeded();
+        }
+        return saved;
+    }
+
+    /**
+     * Un pedido archivado ya no está en el nivel 'hot' y no se puede modificar: en lugar de devolver
+     * false (que el llamador tomaría como una escritura concurrente y reintentaría) se informa el error.
+     */
+    @Override
+    public boolean compareAndSet(Order order, long expectedVersion) {
+        if (!hot.compareAndSet(order, expectedVersion)) {
+            if (hot.findById(order.getId()).isEmpty() && archive.contains(order.getId())) {
+                throw new IllegalStateException("Order " + order.getId() + " is archived and can no longer be modified");
+            }
+            return false;
+        }
+        if (isTerminal(order.getStatus())) {
+            terminalOrders.add(order.getId());
+            archiveIfNeeded();
+        }
+        return true;
+    }
+
+    // Se archiva antes de quitar del nivel 'hot': un lector que ya no lo encuentra ahí lo encuentra en el archivo
+    @Override
+    public Optional<Order> findById(UUID id) {
+        Optional<Order> order = hot.findById(id);
+        return order.isPresent() ? order : archive.find(id);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return hot.findAll();
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return hot.findByStatus(status);
+    }
+
+    /**
+     * Para estados terminales agrega los pedidos archivados. Un pedido que se archiva durante el
+     * recorrido puede estar en ambos niveles: se descartan del archivo los que ya vinieron del 'hot'.
+     */
+    @Override
+    public Stream<Order> streamByStatus(OrderStatus status) {
+        List<Order> hotOrders = hot.findByStatus(status);
+        if (!isTerminal(status)) {
+            return hotOrders.stream();
+        }
+        Set<UUID> hotIds = new HashSet<>(hotOrders.size() * 2);
+        hotOrders.forEach(order -> hotIds.add(order.getId()));
+        return Stream.concat(hotOrders.stream(),
+                archive.stream(status).filter(order -> !hotIds.contains(order.getId())));
+    }
+
+    /**
+     * Los pedidos archivados aportan los acumulados guardados en el archivo, sin descomprimir sus
+     * bloques; solo se recorren los cerrados del nivel 'hot' que no estén también archivados.
+     * No se archiva mientras tanto, así ningún pedido queda fuera ni cuenta dos veces.
+     */
+    @Override
+    public void seedSalesAnalytics(SalesAnalytics analytics) {
+        archiving.lock();
+        try {
+            analytics.seed(archive.closedSales(), hot.findByStatus(OrderStatus.CLOSED).stream()
+                    .filter(order -> !archive.contains(order.getId())));
+        } finally {
+            archiving.unlock();
+        }
+    }
+
+    @Override
+    public List<Order> findByTableNumber(Integer tableNumber) {
+        return hot.findByTableNumber(tableNumber);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        hot.deleteById(id);
+        archive.delete(id);
+    }
+
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        hot.deleteAllById(ids);
+        ids.forEach(archive::delete);
+    }
+
+    @Override
+    public long count() {
+        return hot.count() + archive.count();
+    }
+
+    @Override
+    public long countByStatus(OrderStatus status) {
+        return hot.countByStatus(status) + archive.count(status);
+    }
+
+    /**
+     * Archiva los pedidos terminados más antiguos hasta dejar 'hotTerminalOrders' en el nivel 'hot'.
+     * Se llama sola al guardar pedidos terminados; es pública para forzar la retención (p. ej. al cerrar).
+     */
+    public void archiveTerminalOrders() {
+        archiving.lock();
+        try {
+            archiveExcess();
+        } finally {
+            archiving.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        archiving.lock();
+        try {
+            archive.close();
+        } finally {
+            archiving.unlock();
+        }
+        if (hot instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+
+    // Solo archiva un hilo a la vez y solo cuando hay al menos un bloque completo de excedente
+    private void archiveIfNeeded() {
+        if (hotTerminalCount() < (long) hotTerminalOrders + ordersPerBlock || !archiving.tryLock()) {
+            return;
+        }
+        try {
+            archiveExcess();
+        } finally {
+            archiving.unlock();
+        }
+    }
+
+    private void archiveExcess() {
+        long excess = hotTerminalCount() - hotTerminalOrders;
+        while (excess > 0) {
+            Map<UUID, Order> block = new LinkedHashMap<>();
+            UUID id;
+            while (block.size() < Math.min(excess, ordersPerBlock) && (id = terminalOrders.poll()) != null) {
+                hot.findById(id)
+                        .filter(order -> isTerminal(order.getStatus()))
+                        .ifPresent(order -> block.put(order.getId(), order));
+            }
+            if (block.isEmpty()) {
+                return;
+            }
+
+            // Un solo borrado por bloque: sobre un journal cuesta un registro por pedido y un único fsync
+            archive.append(block.values());
+            hot.deleteAllById(block.keySet());
+            excess -= block.size();
+        }
+    }
+
+    int segmentCount() {
+        return archive.segmentCount();
+    }
+
+    private long hotTerminalCount() {
+        return hot.countByStatus(OrderStatus.CLOSED) + hot.countByStatus(OrderStatus.CANCELLED);
+    }
+
+    private static boolean isTerminal(OrderStatus status) {
+        return status == OrderStatus.CLOSED || status == OrderStatus.CANCELLED;
+    }
+}
@@ -0,0 +1,600 @@
+package com.restaurant.infrastructure.journal;
+
+import com.restaurant.domain.model.CategoryDictionary;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repositorio de pedidos durable: mantiene el estado en un InMemoryOrderRepository y registra
+ * cada cambio (creación, líneas, estado, descuento) en un journal antes de confirmar el save.
+ * Al arrancar reconstruye el estado desde el último snapshot más los registros posteriores,
+ * y cada 'checkpointInterval' registros escribe un snapshot nuevo y vacía el journal.
+ * El snapshot solo lleva los pedidos abiertos: los terminados desde el checkpoint anterior se
+ * agregan al archivo de terminados, así el costo de un checkpoint no crece con el historial.
+ * Si una escritura del journal falla, el repositorio deja de aceptar cambios: el estado en
+ * memoria ya no coincide con el disco y hay que reabrirlo para recuperar.
+ */
+public class JournalingOrderRepository implements OrderRepository, Closeable {
+    public static final int DEFAULT_CHECKPOINT_INTERVAL = 100_000;
+
+    // Cada registro empieza con su secuencia y el id del pedido
+    private static final int ENTRY_HEADER_BYTES = Long.BYTES * 3;
+    // Registros del archivo de terminados: el pedido completo o su borrado
+    private static final byte CLOSED_ORDER = 1;
+    private static final byte CLOSED_DELETE = 2;
+    // El archivo de terminados se compacta cuando sus registros obsoletos superan a los vigentes y a este mínimo
+    static final int MIN_CLOSED_GARBAGE = 1_000;
+
+    private final InMemoryOrderRepository delegate = new InMemoryOrderRepository();
+    private final OrderJournal journal;
+    private final OrderCodec codec;
+    private final int checkpointInterval;
+    private final ExecutorService checkpointExecutor;
+
+    /*
+     * Último estado escrito en el journal de cada pedido abierto; los cambios se calculan contra él.
+     * Las copias no se modifican nunca (cada registro produce una nueva), así el checkpoint puede
+     * serializarlas fuera del lock. Los pedidos cerrados o cancelados no se guardan aquí: ya no
+     * cambian, y si se vuelven a guardar se registran completos.
+     */
+    private final Map<UUID, Order> persisted = new HashMap<>();
+    // Pedidos que terminaron (o se borraron, vacío) desde el último checkpoint; el último cambio de cada uno
+    private Map<UUID, Optional<Order>> closedChanges = new LinkedHashMap<>();
+    // Pedidos vigentes en el archivo de terminados y registros totales que tiene; solo con 'checkpointLock'
+    private final Set<UUID> closedIds = new HashSet<>();
+    private long closedRecords;
+    private long lastSequence;
+    private long entriesSinceCheckpoint;
+    private boolean checkpointScheduled;
+    // Un checkpoint a la vez, sin bloquear las escrituras
+    private final Object checkpointLock = new Object();
+    private volatile RuntimeException failure;
+
+    public JournalingOrderRepository(Path directory) {
+        this(directory, DEFAULT_CHECKPOINT_INTERVAL);
+    }
+
+    public JournalingOrderRepository(Path directory, int checkpointInterval) {
+        this(directory, checkpointInterval, new CategoryDictionary());
+    }
+
+    // Los pedidos recuperados usan las categorías de 'categories'
+    public JournalingOrderRepository(Path directory, int checkpointInterval, CategoryDictionary categories) {
+        if (checkpointInterval <= 0) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointInterval = checkpointInterval;
+        this.codec = new OrderCodec(categories);
+
+        try {
+            this.journal = new OrderJournal(directory);
+            recover();
+            journal.start();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not open order journal in " + directory, e);
+        }
+
+        this.checkpointExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "order-journal-checkpoint");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public Order save(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+
+        if (order.getId() == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+        ensureWritable();
+
+        CompletableFuture<Void> durable;
+        synchronized (this) {
+            byte[] entry = encodeChanges(order);
+            delegate.save(order);
+            if (entry == null) {
+                return order;
+            }
+            durable = journal.append(entry);
+            scheduleCheckpointIfNeeded();
+        }
+
+        awaitDurable(durable);
+        return order;
+    }
+
+    // La comparación de versiones la hace el repositorio en memoria; solo se registra lo que se guardó
+    @Override
+    public boolean compareAndSet(Order order, long expectedVersion) {
+        if (order == null || order.getId() == null) {
+            throw new IllegalArgumentException("Order and order ID cannot be null");
+        }
+        ensureWritable();
+
+        CompletableFuture<Void> durable;
+        synchronized (this) {
+            if (!delegate.compareAndSet(order, expectedVersion)) {
+                return false;
+            }
+            byte[] entry = encodeChanges(order);
+            if (entry == null) {
+                return true;
+            }
+            durable = journal.append(entry);
+            scheduleCheckpointIfNeeded();
+        }
+
+        awaitDurable(durable);
+        return true;
+    }
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return delegate.findAll();
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return delegate.findByStatus(status);
+    }
+
+    @Override
+    public List<Order> findByTableNumber(Integer tableNumber) {
+        return delegate.findByTableNumber(tableNumber);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long countByStatus(OrderStatus status) {
+        return delegate.countByStatus(status);
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        ensureWritable();
+        CompletableFuture<Void> durable;
+        synchronized (this) {
+            if (delegate.findById(id).isEmpty()) {
+                return;
+            }
+            delegate.deleteById(id);
+            persisted.remove(id);
+            closedChanges.put(id, Optional.empty());
+            durable = journal.append(nextEntry(id, OrderCodec::writeDelete));
+            scheduleCheckpointIfNeeded();
+        }
+        awaitDurable(durable);
+    }
+
+    // Un registro por pedido, pero todos en el mismo lote del journal: se espera un solo fsync
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        ensureWritable();
+        CompletableFuture<Void> durable;
+        synchronized (this) {
+            List<byte[]> entries = new ArrayList<>(ids.size());
+            for (UUID id : ids) {
+                if (delegate.findById(id).isEmpty()) {
+                    continue;
+                }
+                delegate.deleteById(id);
+                persisted.remove(id);
+                closedChanges.put(id, Optional.empty());
+                entries.add(nextEntry(id, OrderCodec::writeDelete));
+            }
+            if (entries.isEmpty()) {
+                return;
+            }
+            durable = journal.appendAll(entries);
+            scheduleCheckpointIfNeeded();
+        }
+        awaitDurable(durable);
+    }
+
+    /**
+     * Escribe un snapshot con el estado actual y descarta el journal que cubre. Bajo el lock solo
+     * se toma la vista (referencias a pedidos que ya no cambian) y se rota el journal; la
+     * serialización y el fsync del snapshot ocurren sin bloquear las escrituras. El snapshot lleva
+     * los pedidos abiertos; de los terminados solo se escriben los que cambiaron desde el anterior.
+     */
+    public void checkpoint() {
+        synchronized (checkpointLock) {
+            long sequence;
+            List<Order> open;
+            Map<UUID, Optional<Order>> changes;
+            List<Order> terminal = null;
+            synchronized (this) {
+                checkpointScheduled = false;
+                sequence = lastSequence;
+                open = new ArrayList<>(persisted.values());
+                changes = closedChanges;
+                closedChanges = new LinkedHashMap<>();
+                long garbage = closedRecords - closedIds.size();
+                if (garbage > Math.max(closedIds.size(), MIN_CLOSED_GARBAGE)) {
+                    terminal = new ArrayList<>(delegate.findByStatus(OrderStatus.CLOSED));
+                    terminal.addAll(delegate.findByStatus(OrderStatus.CANCELLED));
+                }
+                try {
+                    journal.rotate(sequence);
+                } catch (IOException e) {
+                    throw fail(new UncheckedIOException("Could not rotate order journal", e));
+                }
+                entriesSinceCheckpoint = 0;
+            }
+
+            try {
+                if (terminal != null) {
+                    compactClosed(terminal);
+                } else {
+                    appendClosed(changes);
+                }
+            } catch (IOException e) {
+                // Los cambios vuelven a quedar pendientes; los posteriores a la vista pisan a estos
+                synchronized (this) {
+                    changes.putAll(closedChanges);
+                    closedChanges = changes;
+                }
+                throw new UncheckedIOException("Could not write closed orders", e);
+            }
+
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                DataOutputStream out = new DataOutputStream(bytes);
+                out.writeLong(sequence);
+                out.writeLong(journal.closedGeneration());
+                out.writeLong(journal.closedLength());
+                out.writeInt(open.size());
+                for (Order order : open) {
+                    OrderCodec.writeOrder(out, order);
+                }
+                out.flush();
+                journal.writeSnapshot(bytes.toByteArray(), sequence);
+            } catch (IOException e) {
+                // El journal rotado sigue en disco: no se pierde nada, el próximo checkpoint lo cubrirá
+                throw new UncheckedIOException("Could not write order snapshot", e);
+            }
+        }
+    }
+
+    // Los borrados de pedidos que no están en el archivo no dejan registro
+    private void appendClosed(Map<UUID, Optional<Order>> changes) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        int records = 0;
+        for (Map.Entry<UUID, Optional<Order>> change : changes.entrySet()) {
+            if (change.getValue().isPresent()) {
+                out.writeByte(CLOSED_ORDER);
+                OrderCodec.writeOrder(out, change.getValue().get());
+                records++;
+            } else if (closedIds.contains(change.getKey())) {
+                out.writeByte(CLOSED_DELETE);
+                OrderCodec.writeUuid(out, change.getKey());
+                records++;
+            }
+        }
+        if (records == 0) {
+            return;
+        }
+        out.flush();
+        journal.appendClosed(bytes.toByteArray());
+
+        closedRecords += records;
+        changes.forEach((id, order) -> {
+            if (order.isPresent()) {
+                closedIds.add(id);
+            } else {
+                closedIds.remove(id);
+            }
+        });
+    }
+
+    private void compactClosed(List<Order> terminal) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (Order order : terminal) {
+            out.writeByte(CLOSED_ORDER);
+            OrderCodec.writeOrder(out, order);
+        }
+        out.flush();
+        journal.rewriteClosed(bytes.toByteArray());
+
+        closedIds.clear();
+        terminal.forEach(order -> closedIds.add(order.getId()));
+        closedRecords = terminal.size();
+    }
+
+    @Override
+    public void close() throws IOException {
+        checkpointExecutor.shutdown();
+        try {
+            // Un checkpoint en curso tiene que terminar antes de cerrar el journal
+            checkpointExecutor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        journal.close();
+    }
+
+    // ===== JOURNAL =====
+
+    /**
+     * Calcula las operaciones que llevan el estado persistido de 'order' a su estado actual
+     * y las aplica sobre una copia nueva del estado persistido. Devuelve null si no hubo cambios.
+     */
+    private byte[] encodeChanges(Order order) {
+        UUID id = order.getId();
+        Order before = persisted.get(id);
+
+        long sequence = lastSequence + 1;
+        byte[] entry = encodeEntry(sequence, id, out -> {
+            Order target = before;
+            if (target == null) {
+                OrderCodec.writeCreate(out, order);
+                target = new Order(id, order.getTableNumber());
+            }
+
+            List<OrderItem> lines = order.getItems();
+            List<OrderItem> persistedLines = target.getItems();
+            if (!canDiff(lines, persistedLines)) {
+                OrderCodec.writeReplace(out, order);
+                return;
+            }
+
+            // Las líneas solo crecen: primero cantidades sobre líneas existentes, luego líneas nuevas
+            for (int i = 0; i < persistedLines.size(); i++) {
+                int delta = lines.get(i).quantity() - persistedLines.get(i).quantity();
+                if (delta > 0) {
+                    OrderCodec.writeAddQuantity(out, i, delta);
+                }
+            }
+            for (int i = persistedLines.size(); i < lines.size(); i++) {
+                OrderCodec.writeAddLine(out, lines.get(i));
+            }
+            if (order.getStatus() != target.getStatus()) {
+                OrderCodec.writeStatus(out, order.getStatus());
+            }
+            if (order.isCouponApplied() != target.isCouponApplied()
+                    || order.getDiscountAmount() != target.getDiscountAmount()
+                    || order.getDiscountPercentage() != target.getDiscountPercentage()) {
+                OrderCodec.writeDiscount(out, order);
+            }
+        });
+
+        // Solo el encabezado: no hubo cambios que registrar
+        if (entry.length == ENTRY_HEADER_BYTES) {
+            return null;
+        }
+
+        lastSequence = sequence;
+        entriesSinceCheckpoint++;
+        Order after = applyEntry(entry, before == null ? null : before.copy());
+        if (isTerminal(after.getStatus())) {
+            persisted.remove(id);
+            closedChanges.put(id, Optional.of(after));
+        } else {
+            persisted.put(id, after);
+        }
+        return entry;
+    }
+
+    private static boolean canDiff(List<OrderItem> lines, List<OrderItem> persistedLines) {
+        if (lines.size() < persistedLines.size()) {
+            return false;
+        }
+        for (int i = 0; i < persistedLines.size(); i++) {
+            OrderItem line = lines.get(i);
+            OrderItem persistedLine = persistedLines.get(i);
+            if (line.quantity() < persistedLine.quantity()
+                    || line.unitPrice() != persistedLine.unitPrice()
+                    || !Objects.equals(line.product().getId(), persistedLine.product().getId())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private byte[] nextEntry(UUID id, OperationWriter operations) {
+        lastSequence++;
+        entriesSinceCheckpoint++;
+        return encodeEntry(lastSequence, id, operations);
+    }
+
+    private static byte[] encodeEntry(long sequence, UUID id, OperationWriter operations) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeLong(sequence);
+            OrderCodec.writeUuid(out, id);
+            operations.write(out);
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void scheduleCheckpointIfNeeded() {
+        if (entriesSinceCheckpoint >= checkpointInterval && !checkpointScheduled) {
+            checkpointScheduled = true;
+            checkpointExecutor.execute(this::checkpoint);
+        }
+    }
+
+    // Si el registro no llegó a disco, el estado en memoria ya lo incluye: no se aceptan más cambios
+    private void awaitDurable(CompletableFuture<Void> durable) {
+        try {
+            durable.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw fail(cause);
+            }
+            throw fail(e);
+        }
+    }
+
+    private RuntimeException fail(RuntimeException cause) {
+        if (failure == null) {
+            failure = cause;
+        }
+        return cause;
+    }
+
+    private void ensureWritable() {
+        RuntimeException cause = failure;
+        if (cause != null) {
+            throw new IllegalStateException("Order journal failed; reopen the repository to recover", cause);
+        }
+    }
+
+    private static boolean isTerminal(OrderStatus status) {
+        return status == OrderStatus.CLOSED || status == OrderStatus.CANCELLED;
+    }
+
+    // ===== RECUPERACIÓN =====
+
+    private void recover() throws IOException {
+        Optional<byte[]> snapshot = journal.readSnapshot();
+        long snapshotSequence = 0;
+        Map<UUID, Order> closed = new LinkedHashMap<>();
+        if (snapshot.isPresent()) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(snapshot.get()));
+            snapshotSequence = in.readLong();
+            readClosed(journal.readClosed(in.readLong(), in.readLong()), closed);
+            int count = in.readInt();
+            for (int i = 0; i < count; i++) {
+                Order order = codec.readOrder(in);
+                persisted.put(order.getId(), order);
+            }
+        } else {
+            journal.readClosed(0, 0);
+        }
+        lastSequence = snapshotSequence;
+
+        long coveredBySnapshot = snapshotSequence;
+        journal.replay(entry -> {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+            long sequence = in.readLong();
+            if (sequence <= coveredBySnapshot) {
+                return;
+            }
+            UUID id = OrderCodec.readUuid(in);
+            Order order = applyOperations(in, id, persisted.get(id));
+            if (order == null) {
+                persisted.remove(id);
+                closed.remove(id);
+                closedChanges.put(id, Optional.empty());
+            } else {
+                persisted.put(id, order);
+            }
+            lastSequence = sequence;
+            entriesSinceCheckpoint++;
+        });
+
+        // El repositorio en memoria trabaja con copias propias: 'persisted' nunca se comparte con los llamadores.
+        // Los pedidos terminados pasan tal cual, sin quedarse también en 'persisted'. Lo que sale del journal
+        // o del snapshot es más nuevo que el archivo de terminados
+        persisted.values().removeIf(order -> {
+            closed.remove(order.getId());
+            if (isTerminal(order.getStatus())) {
+                delegate.save(order);
+                closedChanges.put(order.getId(), Optional.of(order));
+                return true;
+            }
+            delegate.save(copyOf(order));
+            return false;
+        });
+        closed.values().forEach(delegate::save);
+    }
+
+    // Aplica los registros en orden: el último de cada pedido es el vigente
+    private void readClosed(byte[] records, Map<UUID, Order> closed) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(records));
+        while (in.available() > 0) {
+            byte type = in.readByte();
+            if (type == CLOSED_ORDER) {
+                Order order = codec.readOrder(in);
+                closed.put(order.getId(), order);
+            } else if (type == CLOSED_DELETE) {
+                closed.remove(OrderCodec.readUuid(in));
+            } else {
+                throw new IOException("Invalid closed order record type: " + type);
+            }
+            closedRecords++;
+        }
+        closedIds.addAll(closed.keySet());
+    }
+
+    private Order applyEntry(byte[] entry, Order target) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(entry));
+            in.skipNBytes(Long.BYTES);
+            return applyOperations(in, OrderCodec.readUuid(in), target);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Invalid order journal entry", e);
+        }
+    }
+
+    private Order applyOperations(DataInputStream in, UUID id, Order target) throws IOException {
+        Order order = target;
+        while (in.available() > 0) {
+            order = codec.readAndApply(in, id, order);
+        }
+        return order;
+    }
+
+    private Order copyOf(Order order) {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            OrderCodec.writeOrder(new DataOutputStream(bytes), order);
+            return codec.readOrder(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface OperationWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+}
@@ -0,0 +1,717 @@
+package com.restaurant.infrastructure.journal;
+
+import com.restaurant.domain.model.CategoryDictionary;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.service.SalesAnalytics;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Predicate;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Archivo de pedidos terminados en segmentos append-only. Cada segmento es una secuencia de bloques
+ * comprimidos ([largo][largo sin comprimir][crc32][datos deflate]) con varios pedidos cada uno.
+ *
+ * Solo el segmento activo tiene su índice (id -> bloque) en el heap. Al llenarse se sella: se escribe
+ * al final un índice ordenado por id que luego se consulta mapeado en memoria (fuera del heap),
+ * así el heap no crece con la cantidad de pedidos archivados.
+ *
+ * El sello guarda también los acumulados de ventas de todos los pedidos cerrados archivados hasta
+ * ese momento: al abrir solo se leen los del último segmento sellado y se recorre el activo.
+ */
+final class OrderArchive implements Closeable {
+    private static final Pattern SEGMENT_FILE = Pattern.compile("orders-(\\d{8})\\.segment");
+    private static final int BLOCK_HEADER_BYTES = 12;
+    private static final int INDEX_ENTRY_BYTES = 24;
+    private static final int TRAILER_BYTES = 24;
+    private static final int SEALED_MAGIC = 0x4f415253;
+    // Segmentos sellados sin acumulados de ventas (trailer de 20 bytes, sin el largo de los acumulados)
+    private static final int LEGACY_TRAILER_BYTES = 20;
+    private static final int LEGACY_SEALED_MAGIC = 0x4f415243;
+    private static final int MAX_BLOCK_BYTES = 64 * 1024 * 1024;
+
+    private static final byte RECORD_ORDER = 1;
+    private static final byte RECORD_DELETED = 2;
+
+    // Ubicación de un pedido: código de estado (0 = eliminado) en el byte alto y offset del bloque en el resto
+    private static final long NOT_FOUND = -1L;
+    private static final int STATUS_SHIFT = 56;
+    private static final long OFFSET_MASK = (1L << STATUS_SHIFT) - 1;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final Path directory;
+    private final int ordersPerSegment;
+    private final OrderCodec codec;
+    private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+
+    // Pedidos archivados (sin contar los eliminados) por estado
+    private final AtomicLongArray liveByStatus = new AtomicLongArray(STATUSES.length);
+    // Ventas de los pedidos cerrados archivados; cada pedido cuenta una vez aunque se archive de nuevo,
+    // y un pedido eliminado sigue contando (igual que en SalesAnalytics, que no descuenta eliminaciones)
+    private final SalesAnalytics closedSales = new SalesAnalytics();
+
+    // Se reemplazan completos: los lectores leen primero 'active' y después 'sealed'
+    private volatile List<SealedSegment> sealed = List.of();
+    private volatile ActiveSegment active;
+    private boolean closed;
+
+    OrderArchive(Path directory, int ordersPerSegment, CategoryDictionary categories) throws IOException {
+        if (ordersPerSegment <= 0) {
+            throw new IllegalArgumentException("Orders per segment must be positive");
+        }
+        this.directory = directory;
+        this.ordersPerSegment = ordersPerSegment;
+        this.codec = new OrderCodec(categories);
+        Files.createDirectories(directory);
+        open();
+    }
+
+    // ===== ESCRITURA =====
+
+    /**
+     * Escribe los pedidos en un único bloque comprimido y sincronizado en disco.
+     * Al volver, findById ya los encuentra en el archivo.
+     */
+    synchronized void append(Collection<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        List<Order> newlyClosed = orders.stream().filter(this::isNewlyClosed).toList();
+        writeBlock(orders.size(), out -> {
+            for (Order order : orders) {
+                out.writeByte(RECORD_ORDER);
+                OrderCodec.writeOrder(out, order);
+            }
+        }, orders.stream().map(order -> new Located(order.getId(), order.getStatus())).toList());
+        // Antes de sellar: el sello guarda unos acumulados que ya incluyen este bloque
+        newlyClosed.forEach(closedSales::recordPastOrder);
+        sealIfFull();
+    }
+
+    // Registra que el pedido ya no existe; devuelve false si no estaba archivado
+    synchronized boolean delete(UUID id) {
+        long location = locate(id);
+        if (location == NOT_FOUND || isDeleted(location)) {
+            return false;
+        }
+        writeBlock(1, out -> {
+            out.writeByte(RECORD_DELETED);
+            OrderCodec.writeUuid(out, id);
+        }, List.of(new Located(id, null)));
+        sealIfFull();
+        return true;
+    }
+
+    // ===== LECTURA =====
+
+    Optional<Order> find(UUID id) {
+        ActiveSegment current = active;
+        Long location = current.index().get(id);
+        if (location != null) {
+            return read(current.channel(), location, id);
+        }
+
+        List<SealedSegment> segments = sealed;
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            SealedSegment segment = segments.get(i);
+            long found = segment.locate(id);
+            if (found != NOT_FOUND) {
+                return read(segment.channel(), found, id);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Pedidos archivados vigentes con 'status', leídos bloque a bloque (cada bloque se descomprime una
+     * vez y en memoria hay solo uno por lector). Un pedido archivado de nuevo aparece solo en su última
+     * ubicación. Los bloques que se agreguen mientras se recorre pueden no aparecer.
+     */
+    Stream<Order> stream(OrderStatus status) {
+        if (liveByStatus.get(status.ordinal()) == 0) {
+            return Stream.empty();
+        }
+        ActiveSegment current = active;
+        List<SealedSegment> segments = sealed;
+
+        long activeEnd;
+        try {
+            activeEnd = current.channel().size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read order archive", e);
+        }
+        Stream<Order> fromActive = blocks(current.channel(), activeEnd)
+                .flatMap(offset -> readLive(current.channel(), offset, status,
+                        id -> Long.valueOf(location(offset, status)).equals(current.index().get(id))));
+
+        Stream<Order> fromSealed = Stream.iterate(segments.size() - 1, i -> i >= 0, i -> i - 1)
+                .flatMap(i -> {
+                    SealedSegment segment = segments.get(i);
+                    return blocks(segment.channel(), segment.dataEnd())
+                            .flatMap(offset -> readLive(segment.channel(), offset, status,
+                                    id -> segment.locate(id) == location(offset, status)
+                                            && !current.index().containsKey(id)
+                                            && !inNewerSegment(segments, i, id)));
+                });
+        return Stream.concat(fromActive, fromSealed);
+    }
+
+    // Indica si el pedido está archivado (y no eliminado) sin leer su bloque
+    boolean contains(UUID id) {
+        long location = locate(id);
+        return location != NOT_FOUND && !isDeleted(location);
+    }
+
+    long count() {
+        long total = 0;
+        for (int i = 0; i < STATUSES.length; i++) {
+            total += liveByStatus.get(i);
+        }
+        return total;
+    }
+
+    long count(OrderStatus status) {
+        return liveByStatus.get(status.ordinal());
+    }
+
+    /**
+     * Acumulados de ventas de los pedidos cerrados archivados, sin releer sus bloques. Cambian con
+     * cada append: el llamador debe impedir que se archive mientras los usa.
+     */
+    SalesAnalytics closedSales() {
+        return closedSales;
+    }
+
+    int segmentCount() {
+        return sealed.size() + 1;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        deflater.end();
+        active.channel().close();
+        for (SealedSegment segment : sealed) {
+            segment.channel().close();
+        }
+    }
+
+    // ===== BLOQUES =====
+
+    private void writeBlock(int records, RecordWriter writer, List<Located> located) {
+        if (closed) {
+            throw new IllegalStateException("Order archive is closed");
+        }
+        try {
+            ByteArrayOutputStream raw = new ByteArrayOutputStream(records * 128);
+            DataOutputStream out = new DataOutputStream(raw);
+            out.writeInt(records);
+            writer.write(out);
+            out.flush();
+            byte[] stored = deflate(raw.toByteArray());
+
+            ActiveSegment current = active;
+            long offset = current.channel().size();
+            ByteBuffer block = ByteBuffer.allocate(BLOCK_HEADER_BYTES + stored.length);
+            block.putInt(stored.length).putInt(raw.size()).putInt((int) crc(stored)).put(stored).flip();
+            writeFully(current.channel(), block, offset);
+            current.channel().force(false);
+
+            for (Located entry : located) {
+                record(entry.id(), location(offset, entry.status()));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write order archive", e);
+        }
+    }
+
+    private void sealIfFull() {
+        if (active.index().size() < ordersPerSegment) {
+            return;
+        }
+        try {
+            seal();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not seal order archive segment", e);
+        }
+    }
+
+    // Un pedido cerrado que ya estaba archivado como cerrado no vuelve a sumar en las ventas
+    private boolean isNewlyClosed(Order order) {
+        if (order.getStatus() != OrderStatus.CLOSED) {
+            return false;
+        }
+        long previous = locate(order.getId());
+        return previous == NOT_FOUND || statusCode(previous) != OrderStatus.CLOSED.ordinal() + 1;
+    }
+
+    // Actualiza el índice activo y los contadores; un pedido archivado de nuevo reemplaza al anterior
+    private void record(UUID id, long location) {
+        long previous = locate(id);
+        if (previous != NOT_FOUND && !isDeleted(previous)) {
+            liveByStatus.decrementAndGet(statusCode(previous) - 1);
+        }
+        if (!isDeleted(location)) {
+            liveByStatus.incrementAndGet(statusCode(location) - 1);
+        }
+        active.index().put(id, location);
+    }
+
+    private long locate(UUID id) {
+        Long location = active.index().get(id);
+        if (location != null) {
+            return location;
+        }
+        List<SealedSegment> segments = sealed;
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            long found = segments.get(i).locate(id);
+            if (found != NOT_FOUND) {
+                return found;
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    private Optional<Order> read(FileChannel channel, long location, UUID id) {
+        if (isDeleted(location)) {
+            return Optional.empty();
+        }
+        try {
+            byte[] raw = readBlock(channel, location & OFFSET_MASK, channel.size());
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            int records = in.readInt();
+            Order found = null;
+            for (int i = 0; i < records; i++) {
+                if (in.readByte() == RECORD_DELETED) {
+                    OrderCodec.readUuid(in);
+                    continue;
+                }
+                Order order = codec.readOrder(in);
+                if (order.getId().equals(id)) {
+                    found = order;
+                }
+            }
+            return Optional.ofNullable(found);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read order archive", e);
+        }
+    }
+
+    // Offsets de los bloques de un segmento, desde el primero hasta 'end'
+    private static Stream<Long> blocks(FileChannel channel, long end) {
+        return Stream.iterate(0L, offset -> offset + BLOCK_HEADER_BYTES < end, offset -> {
+            try {
+                return offset + BLOCK_HEADER_BYTES + blockLength(channel, offset);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read order archive", e);
+            }
+        });
+    }
+
+    // Pedidos con 'status' del bloque en 'offset' cuya ubicación vigente es este bloque
+    private Stream<Order> readLive(FileChannel channel, long offset, OrderStatus status, Predicate<UUID> current) {
+        try {
+            byte[] raw = readBlock(channel, offset, channel.size());
+            if (raw == null) {
+                return Stream.empty();
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            int records = in.readInt();
+            List<Order> live = new ArrayList<>(records);
+            for (int i = 0; i < records; i++) {
+                if (in.readByte() == RECORD_DELETED) {
+                    OrderCodec.readUuid(in);
+                    continue;
+                }
+                Order order = codec.readOrder(in);
+                if (order.getStatus() == status && current.test(order.getId())) {
+                    live.add(order);
+                }
+            }
+            return live.stream();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read order archive", e);
+        }
+    }
+
+    private static boolean inNewerSegment(List<SealedSegment> segments, int segment, UUID id) {
+        for (int i = segment + 1; i < segments.size(); i++) {
+            if (segments.get(i).locate(id) != NOT_FOUND) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Devuelve el bloque descomprimido, o null si en 'offset' no hay un bloque completo y válido
+    private static byte[] readBlock(FileChannel channel, long offset, long limit) throws IOException {
+        if (offset + BLOCK_HEADER_BYTES > limit) {
+            return null;
+        }
+        ByteBuffer header = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+        readFully(channel, header, offset);
+        header.flip();
+        int storedLength = header.getInt();
+        int rawLength = header.getInt();
+        long expectedCrc = Integer.toUnsignedLong(header.getInt());
+        if (storedLength < 0 || rawLength < 0 || rawLength > MAX_BLOCK_BYTES
+                || offset + BLOCK_HEADER_BYTES + storedLength > limit) {
+            return null;
+        }
+
+        ByteBuffer stored = ByteBuffer.allocate(storedLength);
+        readFully(channel, stored, offset + BLOCK_HEADER_BYTES);
+        if (crc(stored.array()) != expectedCrc) {
+            return null;
+        }
+        return inflate(stored.array(), rawLength);
+    }
+
+    private byte[] deflate(byte[] raw) {
+        deflater.reset();
+        deflater.setInput(raw);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(raw.length / 4 + 64);
+        byte[] buffer = new byte[8192];
+        while (!deflater.finished()) {
+            out.write(buffer, 0, deflater.deflate(buffer));
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] inflate(byte[] stored, int rawLength) throws IOException {
+        Inflater inflater = new Inflater(true);
+        try {
+            inflater.setInput(stored);
+            byte[] raw = new byte[rawLength];
+            int read = 0;
+            while (read < rawLength && !inflater.finished()) {
+                int inflated = inflater.inflate(raw, read, rawLength - read);
+                if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += inflated;
+            }
+            if (read != rawLength) {
+                throw new IOException("Truncated archive block");
+            }
+            return raw;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupted archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    // ===== SEGMENTOS =====
+
+    /**
+     * Cierra el segmento activo escribiendo al final su índice ordenado por id, los contadores
+     * por estado, los acumulados de ventas y el trailer; después abre un segmento nuevo.
+     */
+    private void seal() throws IOException {
+        ActiveSegment current = active;
+        FileChannel channel = current.channel();
+        long indexOffset = channel.size();
+
+        List<Map.Entry<UUID, Long>> entries = new ArrayList<>(current.index().entrySet());
+        entries.sort((a, b) -> compare(a.getKey(), b.getKey()));
+
+        ByteArrayOutputStream salesBytes = new ByteArrayOutputStream();
+        DataOutputStream salesOut = new DataOutputStream(salesBytes);
+        closedSales.writeTo(salesOut);
+        salesOut.flush();
+        byte[] sales = salesBytes.toByteArray();
+
+        ByteBuffer footer = ByteBuffer.allocate(entries.size() * INDEX_ENTRY_BYTES
+                + STATUSES.length * Long.BYTES + sales.length + TRAILER_BYTES);
+        for (Map.Entry<UUID, Long> entry : entries) {
+            footer.putLong(entry.getKey().getMostSignificantBits())
+                    .putLong(entry.getKey().getLeastSignificantBits())
+                    .putLong(entry.getValue());
+        }
+        for (int i = 0; i < STATUSES.length; i++) {
+            footer.putLong(liveByStatus.get(i));
+        }
+        footer.put(sales);
+        footer.putInt(STATUSES.length).putLong(indexOffset).putInt(entries.size())
+                .putInt(sales.length).putInt(SEALED_MAGIC).flip();
+        writeFully(channel, footer, indexOffset);
+        channel.force(true);
+
+        long salesOffset = indexOffset + (long) entries.size() * INDEX_ENTRY_BYTES + STATUSES.length * Long.BYTES;
+        SealedSegment segment = SealedSegment.map(channel, indexOffset, entries.size(), salesOffset, sales.length);
+        List<SealedSegment> segments = new ArrayList<>(sealed);
+        segments.add(segment);
+        sealed = List.copyOf(segments);
+        active = openActive(current.number() + 1);
+    }
+
+    private void open() throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(file -> SEGMENT_FILE.matcher(file.getFileName().toString()).matches())
+                    .sorted()
+                    .toList();
+        }
+
+        List<SealedSegment> segments = new ArrayList<>();
+        long[] counts = new long[STATUSES.length];
+        int lastNumber = 0;
+        Path unsealed = null;
+        for (Path file : files) {
+            Matcher matcher = SEGMENT_FILE.matcher(file.getFileName().toString());
+            matcher.matches();
+            lastNumber = Integer.parseInt(matcher.group(1));
+            if (unsealed != null) {
+                throw new IOException("Archive segment is not sealed: " + unsealed);
+            }
+
+            FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            SealedSegment segment = SealedSegment.open(channel, counts);
+            if (segment == null) {
+                unsealed = file;
+                channel.close();
+            } else {
+                segments.add(segment);
+            }
+        }
+        for (int i = 0; i < counts.length; i++) {
+            liveByStatus.set(i, counts[i]);
+        }
+        sealed = List.copyOf(segments);
+
+        // Los acumulados del último segmento sellado cubren todos los anteriores
+        SealedSegment last = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        boolean withoutSales = last != null && last.salesLength() < 0;
+        if (last != null && !withoutSales) {
+            ByteBuffer sales = ByteBuffer.allocate(last.salesLength());
+            readFully(last.channel(), sales, last.salesOffset());
+            closedSales.readFrom(new DataInputStream(new ByteArrayInputStream(sales.array())));
+        }
+
+        // Solo el último segmento puede estar sin sellar: se recorre y se trunca en el primer bloque inválido
+        if (unsealed != null) {
+            active = openActive(lastNumber);
+            replayActive(!withoutSales);
+        } else {
+            active = openActive(lastNumber + 1);
+        }
+
+        // Un archivo sellado sin acumulados se recorre completo una vez; el próximo sello ya los guarda
+        if (withoutSales) {
+            try (Stream<Order> closed = stream(OrderStatus.CLOSED)) {
+                closed.forEach(closedSales::recordPastOrder);
+            }
+        }
+    }
+
+    private ActiveSegment openActive(int number) throws IOException {
+        Path file = directory.resolve(String.format("orders-%08d.segment", number));
+        FileChannel channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new ActiveSegment(number, channel, new ConcurrentHashMap<>());
+    }
+
+    private void replayActive(boolean countSales) throws IOException {
+        FileChannel channel = active.channel();
+        long size = channel.size();
+        long offset = 0;
+        while (true) {
+            byte[] raw = readBlock(channel, offset, size);
+            if (raw == null) {
+                break;
+            }
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(raw));
+            int records = in.readInt();
+            for (int i = 0; i < records; i++) {
+                if (in.readByte() == RECORD_DELETED) {
+                    record(OrderCodec.readUuid(in), location(offset, null));
+                } else {
+                    Order order = codec.readOrder(in);
+                    if (countSales && isNewlyClosed(order)) {
+                        closedSales.recordPastOrder(order);
+                    }
+                    record(order.getId(), location(offset, order.getStatus()));
+                }
+            }
+            offset += BLOCK_HEADER_BYTES + blockLength(channel, offset);
+        }
+        if (offset < size) {
+            channel.truncate(offset);
+            channel.force(true);
+        }
+    }
+
+    private static int blockLength(FileChannel channel, long offset) throws IOException {
+        ByteBuffer length = ByteBuffer.allocate(Integer.BYTES);
+        readFully(channel, length, offset);
+        return length.flip().getInt();
+    }
+
+    // ===== AUXILIARES =====
+
+    private static long location(long offset, OrderStatus status) {
+        long code = status == null ? 0 : status.ordinal() + 1;
+        return code << STATUS_SHIFT | offset;
+    }
+
+    private static int statusCode(long location) {
+        return (int) (location >>> STATUS_SHIFT);
+    }
+
+    private static boolean isDeleted(long location) {
+        return statusCode(location) == 0;
+    }
+
+    private static int compare(UUID a, UUID b) {
+        int high = Long.compare(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compare(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer source, long position) throws IOException {
+        while (source.hasRemaining()) {
+            position += channel.write(source, position);
+        }
+    }
+
+    private static void readFully(FileChannel channel, ByteBuffer target, long position) throws IOException {
+        while (target.hasRemaining()) {
+            int read = channel.read(target, position);
+            if (read < 0) {
+                throw new EOFException("Unexpected end of archive segment");
+            }
+            position += read;
+        }
+    }
+
+    private static long crc(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    @FunctionalInterface
+    private interface RecordWriter {
+        void write(DataOutputStream out) throws IOException;
+    }
+
+    private record Located(UUID id, OrderStatus status) {
+    }
+
+    private record ActiveSegment(int number, FileChannel channel, Map<UUID, Long> index) {
+    }
+
+    /**
+     * Segmento sellado: el índice se consulta con búsqueda binaria sobre el archivo mapeado.
+     * 'dataEnd' es donde terminan los bloques y empieza el índice; 'salesLength' es -1 si el
+     * segmento se selló sin acumulados de ventas.
+     */
+    private record SealedSegment(FileChannel channel, MappedByteBuffer index, int entries, long dataEnd,
+                                 long salesOffset, int salesLength) {
+
+        static SealedSegment map(FileChannel channel, long indexOffset, int entries,
+                                 long salesOffset, int salesLength) throws IOException {
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset,
+                    (long) entries * INDEX_ENTRY_BYTES);
+            return new SealedSegment(channel, index, entries, indexOffset, salesOffset, salesLength);
+        }
+
+        // Devuelve null si el segmento no tiene un trailer válido; si lo tiene, copia sus contadores
+        static SealedSegment open(FileChannel channel, long[] counts) throws IOException {
+            long size = channel.size();
+            if (size < LEGACY_TRAILER_BYTES) {
+                return null;
+            }
+            ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+            readFully(channel, magic, size - Integer.BYTES);
+            boolean legacy = magic.flip().getInt() == LEGACY_SEALED_MAGIC;
+            int trailerBytes = legacy ? LEGACY_TRAILER_BYTES : TRAILER_BYTES;
+            if (size < trailerBytes) {
+                return null;
+            }
+
+            ByteBuffer trailer = ByteBuffer.allocate(trailerBytes);
+            readFully(channel, trailer, size - trailerBytes);
+            trailer.flip();
+            int statusCount = trailer.getInt();
+            long indexOffset = trailer.getLong();
+            int entries = trailer.getInt();
+            int salesLength = legacy ? -1 : trailer.getInt();
+            int expectedMagic = legacy ? LEGACY_SEALED_MAGIC : SEALED_MAGIC;
+            long salesOffset = indexOffset + (long) entries * INDEX_ENTRY_BYTES + (long) statusCount * Long.BYTES;
+            if (trailer.getInt() != expectedMagic || statusCount < 0 || entries <= 0
+                    || salesOffset + Math.max(salesLength, 0) + trailerBytes != size) {
+                return null;
+            }
+
+            ByteBuffer stored = ByteBuffer.allocate(statusCount * Long.BYTES);
+            readFully(channel, stored, salesOffset - stored.capacity());
+            stored.flip();
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < statusCount; i++) {
+                long count = stored.getLong();
+                if (i < counts.length) {
+                    counts[i] = count;
+                }
+            }
+            return map(channel, indexOffset, entries, salesOffset, salesLength);
+        }
+
+        long locate(UUID id) {
+            long msb = id.getMostSignificantBits();
+            long lsb = id.getLeastSignificantBits();
+            int low = 0;
+            int high = entries - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int position = mid * INDEX_ENTRY_BYTES;
+                int cmp = Long.compare(index.getLong(position), msb);
+                if (cmp == 0) {
+                    cmp = Long.compare(index.getLong(position + Long.BYTES), lsb);
+                }
+                if (cmp < 0) {
+                    low = mid + 1;
+                } else if (cmp > 0) {
+                    high = mid - 1;
+                } else {
+                    return index.getLong(position + 2 * Long.BYTES);
+                }
+            }
+            return NOT_FOUND;
+        }
+    }
+}
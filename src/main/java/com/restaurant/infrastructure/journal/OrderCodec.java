@@ -0,0 +1,231 @@
+package com.restaurant.infrastructure.journal;
+
+import com.restaurant.domain.model.CategoryDictionary;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Codificación binaria de pedidos y de las operaciones del journal.
+ * Cada operación se aplica con los mismos métodos de Order que usan los casos de uso,
+ * así repetir el journal reproduce exactamente las mismas líneas y totales.
+ */
+final class OrderCodec {
+    static final byte OP_CREATE = 1;
+    static final byte OP_ADD_LINE = 2;
+    static final byte OP_ADD_QUANTITY = 3;
+    static final byte OP_STATUS = 4;
+    static final byte OP_DISCOUNT = 5;
+    static final byte OP_REPLACE = 6;
+    static final byte OP_DELETE = 7;
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final CategoryDictionary categories;
+    // Última versión decodificada de cada producto: las líneas recuperadas la comparten en lugar de
+    // tener cada una su copia (UUID, nombre y categoría). Crece con los productos, no con los pedidos,
+    // y vive lo mismo que el journal o archivo dueño de este codec
+    private final Map<UUID, Product> decodedProducts = new ConcurrentHashMap<>();
+
+    OrderCodec(CategoryDictionary categories) {
+        this.categories = categories;
+    }
+
+    // ===== OPERACIONES =====
+
+    static void writeCreate(DataOutput out, Order order) throws IOException {
+        out.writeByte(OP_CREATE);
+        writeNullableInt(out, order.getTableNumber());
+    }
+
+    static void writeAddLine(DataOutput out, OrderItem item) throws IOException {
+        out.writeByte(OP_ADD_LINE);
+        writeProduct(out, item.product(), item.unitPrice());
+        out.writeInt(item.quantity());
+    }
+
+    static void writeAddQuantity(DataOutput out, int line, int delta) throws IOException {
+        out.writeByte(OP_ADD_QUANTITY);
+        out.writeInt(line);
+        out.writeInt(delta);
+    }
+
+    static void writeStatus(DataOutput out, OrderStatus status) throws IOException {
+        out.writeByte(OP_STATUS);
+        out.writeByte(status.ordinal());
+    }
+
+    static void writeDiscount(DataOutput out, Order order) throws IOException {
+        out.writeByte(OP_DISCOUNT);
+        out.writeBoolean(order.isCouponApplied());
+        out.writeDouble(order.getDiscountPercentage());
+        out.writeLong(order.getDiscountAmount());
+    }
+
+    static void writeReplace(DataOutput out, Order order) throws IOException {
+        out.writeByte(OP_REPLACE);
+        writeOrder(out, order);
+    }
+
+    static void writeDelete(DataOutput out) throws IOException {
+        out.writeByte(OP_DELETE);
+    }
+
+    /**
+     * Lee una operación y la aplica sobre 'target' (null si el pedido aún no existe).
+     * @return el pedido resultante, o null si la operación lo eliminó
+     */
+    Order readAndApply(DataInput in, UUID orderId, Order target) throws IOException {
+        byte op = in.readByte();
+        switch (op) {
+            case OP_CREATE -> {
+                return new Order(orderId, readNullableInt(in));
+            }
+            case OP_ADD_LINE -> {
+                Product product = readProduct(in);
+                requireExisting(target, orderId).addItem(product, in.readInt());
+                return target;
+            }
+            case OP_ADD_QUANTITY -> {
+                int line = in.readInt();
+                int delta = in.readInt();
+                Order order = requireExisting(target, orderId);
+                order.addItem(order.getItems().get(line).product(), delta);
+                return target;
+            }
+            case OP_STATUS -> {
+                requireExisting(target, orderId).changeStatus(STATUSES[in.readByte()]);
+                return target;
+            }
+            case OP_DISCOUNT -> {
+                boolean couponApplied = in.readBoolean();
+                double percentage = in.readDouble();
+                long amount = in.readLong();
+                requireExisting(target, orderId).restoreDiscount(couponApplied, percentage, amount);
+                return target;
+            }
+            case OP_REPLACE -> {
+                return readOrder(in);
+            }
+            case OP_DELETE -> {
+                return null;
+            }
+            default -> throw new IOException("Unknown journal operation: " + op);
+        }
+    }
+
+    // ===== ESTADO COMPLETO (snapshots) =====
+
+    static void writeOrder(DataOutput out, Order order) throws IOException {
+        writeUuid(out, order.getId());
+        writeNullableInt(out, order.getTableNumber());
+        out.writeByte(order.getStatus().ordinal());
+
+        List<OrderItem> items = order.getItems();
+        out.writeInt(items.size());
+        for (OrderItem item : items) {
+            writeProduct(out, item.product(), item.unitPrice());
+            out.writeInt(item.quantity());
+        }
+
+        out.writeBoolean(order.isCouponApplied());
+        out.writeDouble(order.getDiscountPercentage());
+        out.writeLong(order.getDiscountAmount());
+    }
+
+    Order readOrder(DataInput in) throws IOException {
+        Order order = new Order(readUuid(in), readNullableInt(in));
+        OrderStatus status = STATUSES[in.readByte()];
+
+        int lines = in.readInt();
+        for (int i = 0; i < lines; i++) {
+            Product product = readProduct(in);
+            order.addItem(product, in.readInt());
+        }
+
+        boolean couponApplied = in.readBoolean();
+        double percentage = in.readDouble();
+        long amount = in.readLong();
+        order.restoreDiscount(couponApplied, percentage, amount);
+        order.changeStatus(status);
+        return order;
+    }
+
+    static void writeUuid(DataOutput out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    static UUID readUuid(DataInput in) throws IOException {
+        return new UUID(in.readLong(), in.readLong());
+    }
+
+    // ===== AUXILIARES =====
+
+    private static Order requireExisting(Order order, UUID orderId) throws IOException {
+        if (order == null) {
+            throw new IOException("Journal references unknown order " + orderId);
+        }
+        return order;
+    }
+
+    // El precio que se escribe es el de la línea (precio al momento de la venta)
+    private static void writeProduct(DataOutput out, Product product, long price) throws IOException {
+        out.writeBoolean(product.getId() != null);
+        if (product.getId() != null) {
+            writeUuid(out, product.getId());
+        }
+        out.writeUTF(product.getName() == null ? "" : product.getName());
+        out.writeLong(price);
+        out.writeBoolean(product.getCategory() != null);
+        if (product.getCategory() != null) {
+            out.writeUTF(product.getCategory());
+        }
+    }
+
+    private Product readProduct(DataInput in) throws IOException {
+        UUID id = in.readBoolean() ? readUuid(in) : null;
+        String name = in.readUTF();
+        long price = in.readLong();
+        String category = in.readBoolean() ? categories.intern(in.readUTF()) : null;
+        if (id != null) {
+            Product known = decodedProducts.get(id);
+            if (known != null && known.getPrice() == price && known.getName().equals(name)
+                    && Objects.equals(known.getCategory(), category)) {
+                return known;
+            }
+        }
+
+        Product product = Product.builder()
+                .id(id)
+                .name(name)
+                .price(price)
+                .category(category)
+                .build();
+        if (id != null) {
+            decodedProducts.put(id, product);
+        }
+        return product;
+    }
+
+    private static void writeNullableInt(DataOutput out, Integer value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeInt(value);
+        }
+    }
+
+    private static Integer readNullableInt(DataInput in) throws IOException {
+        return in.readBoolean() ? in.readInt() : null;
+    }
+}
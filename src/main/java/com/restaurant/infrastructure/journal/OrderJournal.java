@@ -0,0 +1,471 @@
+package com.restaurant.infrastructure.journal;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Archivo de journal append-only con registros [longitud][crc32][datos] y commit agrupado:
+ * un único hilo escribe todos los registros pendientes y hace un solo fsync por lote.
+ * El snapshot se guarda aparte ([crc32][longitud][datos]) y se reemplaza de forma atómica.
+ * En cada checkpoint el journal se rota a 'orders.journal.<secuencia>' y ese archivo se borra
+ * cuando el snapshot que lo cubre ya está en disco.
+ * Los pedidos cerrados y cancelados no van en el snapshot: cada checkpoint agrega solo los que
+ * terminaron desde el anterior a 'orders.closed.<generación>', y el snapshot guarda hasta qué
+ * largo de ese archivo cubre. Cuando la mayoría de sus registros quedó obsoleta se reescribe
+ * compactado en una generación nueva.
+ */
+final class OrderJournal implements Closeable {
+    private static final String JOURNAL_FILE = "orders.journal";
+    private static final String SNAPSHOT_FILE = "orders.snapshot";
+    private static final String CLOSED_FILE = "orders.closed";
+    private static final int HEADER_BYTES = 8;
+    private static final int MAX_ENTRY_BYTES = 64 * 1024 * 1024;
+    private static final boolean WINDOWS = System.getProperty("os.name", "").startsWith("Windows");
+
+    private final Path directory;
+    private final Path journalFile;
+    private final Path snapshotFile;
+    // 'lock' protege la cola de pendientes; 'ioLock' el canal y el buffer, para no bloquear los append durante el fsync
+    private final Object lock = new Object();
+    private final Object ioLock = new Object();
+
+    private FileChannel channel;
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(64 * 1024);
+    private List<PendingEntry> pending = new ArrayList<>();
+    private Thread writer;
+    private boolean closed;
+    // Tras un error de escritura no se escribe nada más: lo que queda en disco es siempre un prefijo válido
+    private IOException failure;
+    // Archivo de pedidos terminados vigente; solo lo usan la recuperación y el checkpoint, de a uno por vez
+    private long closedGeneration;
+    private long closedLength;
+
+    OrderJournal(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        this.directory = directory;
+        this.journalFile = directory.resolve(JOURNAL_FILE);
+        this.snapshotFile = directory.resolve(SNAPSHOT_FILE);
+    }
+
+    // ===== RECUPERACIÓN (antes de start) =====
+
+    Optional<byte[]> readSnapshot() throws IOException {
+        if (!Files.exists(snapshotFile)) {
+            return Optional.empty();
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            long expectedCrc = Integer.toUnsignedLong(in.readInt());
+            byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            if (crc(payload) != expectedCrc) {
+                throw new IOException("Corrupted order snapshot: " + snapshotFile);
+            }
+            return Optional.of(payload);
+        }
+    }
+
+    /**
+     * Lee los primeros 'length' bytes del archivo de terminados 'generation', que es lo que cubre el
+     * snapshot. Lo que un checkpoint sin snapshot haya agregado después se recorta (el journal rotado
+     * lo cubre) y las otras generaciones se borran.
+     */
+    byte[] readClosed(long generation, long length) throws IOException {
+        Path file = closedFile(generation);
+        for (Path other : closedFiles()) {
+            if (!other.equals(file)) {
+                Files.delete(other);
+            }
+        }
+        closedGeneration = generation;
+        closedLength = length;
+        if (!Files.exists(file)) {
+            if (length > 0) {
+                throw new IOException("Missing closed orders file: " + file);
+            }
+            return new byte[0];
+        }
+        try (FileChannel in = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            if (in.size() < length) {
+                throw new IOException("Truncated closed orders file: " + file);
+            }
+            ByteBuffer records = ByteBuffer.allocate(Math.toIntExact(length));
+            while (records.hasRemaining()) {
+                if (in.read(records, records.position()) < 0) {
+                    throw new EOFException("Truncated closed orders file: " + file);
+                }
+            }
+            if (in.size() > length) {
+                in.truncate(length);
+                in.force(true);
+            }
+            return records.array();
+        }
+    }
+
+    /**
+     * Entrega cada registro válido en orden, primero los journals rotados y luego el actual.
+     * Un registro incompleto o con checksum inválido marca el final de lo que llegó a disco:
+     * el archivo se trunca en ese punto.
+     */
+    void replay(EntryHandler handler) throws IOException {
+        for (Path rotated : rotatedFiles()) {
+            replay(rotated, handler);
+        }
+        if (Files.exists(journalFile)) {
+            replay(journalFile, handler);
+        }
+    }
+
+    private void replay(Path journalFile, EntryHandler handler) throws IOException {
+        long validBytes = 0;
+        try (InputStream file = Files.newInputStream(journalFile);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(file, 1 << 20))) {
+            while (true) {
+                byte[] payload;
+                try {
+                    int length = in.readInt();
+                    long expectedCrc = Integer.toUnsignedLong(in.readInt());
+                    if (length < 0 || length > MAX_ENTRY_BYTES) {
+                        break;
+                    }
+                    payload = new byte[length];
+                    in.readFully(payload);
+                    if (crc(payload) != expectedCrc) {
+                        break;
+                    }
+                } catch (EOFException e) {
+                    break;
+                }
+                handler.accept(payload);
+                validBytes += HEADER_BYTES + payload.length;
+            }
+        }
+
+        if (validBytes < Files.size(journalFile)) {
+            try (FileChannel truncate = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                truncate.truncate(validBytes);
+                truncate.force(true);
+            }
+        }
+    }
+
+    // ===== ESCRITURA =====
+
+    void start() throws IOException {
+        channel = openJournal();
+        writer = new Thread(this::writeLoop, "order-journal-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // El futuro se completa cuando el registro (y todo su lote) quedó sincronizado en disco
+    CompletableFuture<Void> append(byte[] payload) {
+        PendingEntry entry = new PendingEntry(payload, new CompletableFuture<>());
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Order journal is closed");
+            }
+            pending.add(entry);
+            lock.notifyAll();
+        }
+        return entry.durable();
+    }
+
+    // Los registros entran juntos en la cola y van al mismo lote: un solo fsync para todos
+    CompletableFuture<Void> appendAll(List<byte[]> payloads) {
+        List<PendingEntry> entries = new ArrayList<>(payloads.size());
+        for (byte[] payload : payloads) {
+            entries.add(new PendingEntry(payload, new CompletableFuture<>()));
+        }
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("Order journal is closed");
+            }
+            pending.addAll(entries);
+            lock.notifyAll();
+        }
+        return CompletableFuture.allOf(entries.stream()
+                .map(PendingEntry::durable)
+                .toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * Escribe los pendientes y aparta el journal actual como 'orders.journal.<sequence>'; los
+     * registros siguientes van a un archivo nuevo. El llamador debe impedir nuevos append
+     * mientras tanto para que el archivo rotado termine exactamente en 'sequence'.
+     */
+    void rotate(long sequence) throws IOException {
+        synchronized (ioLock) {
+            write(takePending());
+            if (failure != null) {
+                throw new IOException("Order journal failed", failure);
+            }
+            if (channel.size() == 0) {
+                return;
+            }
+            channel.close();
+            Files.move(journalFile, rotatedFile(sequence), StandardCopyOption.ATOMIC_MOVE);
+            forceDirectory();
+            channel = openJournal();
+        }
+    }
+
+    long closedGeneration() {
+        return closedGeneration;
+    }
+
+    long closedLength() {
+        return closedLength;
+    }
+
+    /**
+     * Agrega registros al archivo de terminados vigente. Si un intento anterior falló a mitad de
+     * camino, lo que dejó después del último largo confirmado se pisa.
+     */
+    void appendClosed(byte[] records) throws IOException {
+        Path file = closedFile(closedGeneration);
+        boolean created = !Files.exists(file);
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            out.truncate(closedLength);
+            ByteBuffer source = ByteBuffer.wrap(records);
+            long position = closedLength;
+            while (source.hasRemaining()) {
+                position += out.write(source, position);
+            }
+            out.force(true);
+        }
+        if (created) {
+            forceDirectory();
+        }
+        closedLength += records.length;
+    }
+
+    // Escribe los terminados vigentes completos en una generación nueva; la anterior se borra con el próximo snapshot
+    void rewriteClosed(byte[] records) throws IOException {
+        Path file = closedFile(closedGeneration + 1);
+        try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            writeFully(out, ByteBuffer.wrap(records));
+            out.force(true);
+        }
+        forceDirectory();
+        closedGeneration++;
+        closedLength = records.length;
+    }
+
+    /**
+     * Reemplaza el snapshot de forma atómica y borra los journals rotados que cubre. Si el proceso
+     * cae antes de borrarlos, la recuperación ignora sus registros (por secuencia).
+     */
+    void writeSnapshot(byte[] snapshot, long sequence) throws IOException {
+        Path tmp = snapshotFile.resolveSibling(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt((int) crc(snapshot)).putInt(snapshot.length).flip();
+            writeFully(out, header);
+            writeFully(out, ByteBuffer.wrap(snapshot));
+            out.force(true);
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        // Sin el fsync del directorio el renombre puede perderse tras una caída y con él el snapshot
+        forceDirectory();
+
+        for (Path rotated : rotatedFiles()) {
+            if (rotatedSequence(rotated) <= sequence) {
+                Files.delete(rotated);
+            }
+        }
+        for (Path file : closedFiles()) {
+            if (closedGeneration(file) < closedGeneration) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (lock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            lock.notifyAll();
+        }
+        if (writer != null) {
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (ioLock) {
+            write(takePending());
+            if (channel != null) {
+                channel.close();
+            }
+        }
+    }
+
+    private void writeLoop() {
+        while (true) {
+            synchronized (lock) {
+                while (pending.isEmpty() && !closed) {
+                    try {
+                        lock.wait();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    }
+                }
+                if (pending.isEmpty()) {
+                    return;
+                }
+            }
+            // El lote se toma con 'ioLock' para que una rotación no deje registros viejos en el archivo nuevo
+            synchronized (ioLock) {
+                try {
+                    write(takePending());
+                } catch (IOException e) {
+                    // write ya completó los futuros del lote con el error
+                }
+            }
+        }
+    }
+
+    private List<PendingEntry> takePending() {
+        synchronized (lock) {
+            List<PendingEntry> batch = pending;
+            pending = new ArrayList<>();
+            return batch;
+        }
+    }
+
+    // Se llama con 'ioLock' tomado: un solo write + fsync para todo el lote
+    private void write(List<PendingEntry> batch) throws IOException {
+        if (batch.isEmpty()) {
+            return;
+        }
+        if (failure != null) {
+            UncheckedIOException rejected = new UncheckedIOException("Order journal failed", failure);
+            batch.forEach(entry -> entry.durable().completeExceptionally(rejected));
+            return;
+        }
+
+        try {
+            for (PendingEntry entry : batch) {
+                int needed = HEADER_BYTES + entry.payload().length;
+                if (buffer.remaining() < needed) {
+                    buffer.flip();
+                    writeFully(channel, buffer);
+                    buffer.clear();
+                    if (buffer.capacity() < needed) {
+                        buffer = ByteBuffer.allocateDirect(Integer.highestOneBit(needed) << 1);
+                    }
+                }
+                buffer.putInt(entry.payload().length)
+                        .putInt((int) crc(entry.payload()))
+                        .put(entry.payload());
+            }
+            buffer.flip();
+            writeFully(channel, buffer);
+            buffer.clear();
+            channel.force(false);
+        } catch (IOException e) {
+            buffer.clear();
+            failure = e;
+            UncheckedIOException rejected = new UncheckedIOException("Could not write order journal", e);
+            batch.forEach(entry -> entry.durable().completeExceptionally(rejected));
+            throw e;
+        }
+
+        batch.forEach(entry -> entry.durable().complete(null));
+    }
+
+    private FileChannel openJournal() throws IOException {
+        return FileChannel.open(journalFile,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private Path rotatedFile(long sequence) {
+        return directory.resolve(JOURNAL_FILE + "." + sequence);
+    }
+
+    // Journals rotados por checkpoints que no llegaron a escribir su snapshot, del más viejo al más nuevo
+    private List<Path> rotatedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().matches("orders\\.journal\\.\\d+"))
+                    .sorted(Comparator.comparingLong(OrderJournal::rotatedSequence))
+                    .toList();
+        }
+    }
+
+    private static long rotatedSequence(Path rotated) {
+        String name = rotated.getFileName().toString();
+        return Long.parseLong(name.substring(JOURNAL_FILE.length() + 1));
+    }
+
+    private Path closedFile(long generation) {
+        return directory.resolve(CLOSED_FILE + "." + generation);
+    }
+
+    private List<Path> closedFiles() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().matches("orders\\.closed\\.\\d+")).toList();
+        }
+    }
+
+    private static long closedGeneration(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(CLOSED_FILE.length() + 1));
+    }
+
+    // Hace durables los renombres y archivos nuevos del directorio
+    private void forceDirectory() throws IOException {
+        // Windows no permite abrir un directorio como canal; ahí el renombre ya queda registrado
+        if (WINDOWS) {
+            return;
+        }
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        }
+    }
+
+    private static void writeFully(FileChannel target, ByteBuffer source) throws IOException {
+        while (source.hasRemaining()) {
+            target.write(source);
+        }
+    }
+
+    private static long crc(byte[] payload) {
+        CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    @FunctionalInterface
+    interface EntryHandler {
+        void accept(byte[] payload) throws IOException;
+    }
+
+    private record PendingEntry(byte[] payload, CompletableFuture<Void> durable) {
+    }
+}
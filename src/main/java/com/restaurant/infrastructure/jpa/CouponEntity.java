@@ -0,0 +1,23 @@
+package com.restaurant.infrastructure.jpa;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Entity
+@Table(name = "coupons")
+@Getter
+@Setter
+@NoArgsConstructor
+public class CouponEntity {
+    // Código normalizado (mayúsculas, sin espacios extremos)
+    @Id
+    private String code;
+
+    private long discountValue;
+
+    private double discountPercent;
+}
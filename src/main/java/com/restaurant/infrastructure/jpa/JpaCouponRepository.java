@@ -0,0 +1,102 @@
+package com.restaurant.infrastructure.jpa;
+
+import com.restaurant.domain.model.Coupon;
+import com.restaurant.domain.repository.CouponRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+@Repository
+@Transactional
+@ConditionalOnProperty(name = "restaurant.repository", havingValue = "jpa")
+public class JpaCouponRepository implements CouponRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Coupon> getAllCoupons() {
+        return entityManager.createQuery("select c from CouponEntity c", CouponEntity.class)
+                .getResultStream()
+                .map(JpaCouponRepository::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Coupon> findByCode(String code) {
+        if (code == null || code.isBlank()) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(entityManager.find(CouponEntity.class, normalizeCode(code)))
+                .map(JpaCouponRepository::toDomain);
+    }
+
+    @Override
+    public void saveAll(List<Coupon> couponList) {
+        if (couponList == null) {
+            throw new IllegalArgumentException("Coupon list cannot be null");
+        }
+
+        int batchSize = JpaProductRepository.BATCH_SIZE;
+        for (int from = 0; from < couponList.size(); from += batchSize) {
+            // Si el lote repite un código, gana la última aparición
+            Map<String, Coupon> batch = new LinkedHashMap<>();
+            for (Coupon coupon : couponList.subList(from, Math.min(from + batchSize, couponList.size()))) {
+                if (coupon == null || coupon.code() == null || coupon.code().isBlank()) {
+                    throw new IllegalArgumentException("Coupon code cannot be null or empty");
+                }
+                batch.put(normalizeCode(coupon.code()), coupon);
+            }
+
+            Map<String, CouponEntity> existing = new HashMap<>();
+            entityManager.createQuery("select c from CouponEntity c where c.code in :codes", CouponEntity.class)
+                    .setParameter("codes", batch.keySet())
+                    .getResultStream()
+                    .forEach(entity -> existing.put(entity.getCode(), entity));
+
+            batch.forEach((code, coupon) -> {
+                CouponEntity entity = existing.get(code);
+                if (entity == null) {
+                    entity = new CouponEntity();
+                    entity.setCode(code);
+                    copyInto(entity, coupon);
+                    entityManager.persist(entity);
+                } else {
+                    copyInto(entity, coupon);
+                }
+            });
+
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return entityManager.createQuery("select count(c) from CouponEntity c", Long.class).getSingleResult();
+    }
+
+    private static void copyInto(CouponEntity entity, Coupon coupon) {
+        entity.setDiscountValue(coupon.discountValue());
+        entity.setDiscountPercent(coupon.discountPercent());
+    }
+
+    private static Coupon toDomain(CouponEntity entity) {
+        return new Coupon(entity.getCode(), entity.getDiscountValue(), entity.getDiscountPercent());
+    }
+
+    private static String normalizeCode(String code) {
+        return code.trim().toUpperCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,220 @@
+package com.restaurant.infrastructure.jpa;
+
+import com.restaurant.domain.model.CategoryDictionary;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.domain.service.SalesAnalytics;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+@Repository
+@Transactional
+@ConditionalOnProperty(name = "restaurant.repository", havingValue = "jpa")
+public class JpaOrderRepository implements OrderRepository {
+    // Las líneas se cargan con fetch join en la misma consulta para evitar N+1
+    private static final String SELECT_WITH_ITEMS = "select o from OrderEntity o left join fetch o.items";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Los productos leídos comparten la instancia de cada categoría
+    private final CategoryDictionary categories;
+
+    public JpaOrderRepository(CategoryDictionary categories) {
+        this.categories = categories;
+    }
+
+    @Override
+    public Order save(Order order) {
+        if (order == null) {
+            throw new IllegalArgumentException("Order cannot be null");
+        }
+
+        if (order.getId() == null) {
+            throw new IllegalArgumentException("Order ID cannot be null");
+        }
+
+        List<OrderEntity> found = entityManager.createQuery(SELECT_WITH_ITEMS + " where o.id = :id", OrderEntity.class)
+                .setParameter("id", order.getId())
+                .getResultList();
+
+        if (found.isEmpty()) {
+            OrderEntity entity = new OrderEntity();
+            entity.setId(order.getId());
+            entity.setTableNumber(order.getTableNumber());
+            copyInto(entity, order);
+            entityManager.persist(entity);
+        } else {
+            copyInto(found.get(0), order);
+        }
+        return order;
+    }
+
+    /**
+     * Bloquea la fila del pedido y compara la versión antes de escribir. Hibernate solo incrementa
+     * @Version cuando cambia una columna de 'orders': un cambio que solo toca cantidades de líneas
+     * la dejaría igual, por eso la versión se fuerza en cada escritura.
+     */
+    @Override
+    public boolean compareAndSet(Order order, long expectedVersion) {
+        if (order == null || order.getId() == null) {
+            throw new IllegalArgumentException("Order and order ID cannot be null");
+        }
+
+        OrderEntity entity = entityManager.find(OrderEntity.class, order.getId(), LockModeType.PESSIMISTIC_WRITE);
+        if (entity == null || entity.getVersion() != expectedVersion) {
+            return false;
+        }
+        entityManager.lock(entity, LockModeType.PESSIMISTIC_FORCE_INCREMENT);
+        copyInto(entity, order);
+        entityManager.flush();
+        order.setVersion(entity.getVersion());
+        return true;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Order> findById(UUID id) {
+        return entityManager.createQuery(SELECT_WITH_ITEMS + " where o.id = :id", OrderEntity.class)
+                .setParameter("id", id)
+                .getResultStream()
+                .findFirst()
+                .map(this::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findAll() {
+        return entityManager.createQuery(SELECT_WITH_ITEMS, OrderEntity.class)
+                .getResultStream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByStatus(OrderStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        return entityManager.createQuery(SELECT_WITH_ITEMS + " where o.status = :status", OrderEntity.class)
+                .setParameter("status", status)
+                .getResultStream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    // El método por defecto de la interfaz no pasa por el proxy transaccional: sin transacción la consulta se cierra antes de leerla
+    @Override
+    @Transactional(readOnly = true)
+    public Stream<Order> streamByStatus(OrderStatus status) {
+        return findByStatus(status).stream();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void seedSalesAnalytics(SalesAnalytics analytics) {
+        OrderRepository.super.seedSalesAnalytics(analytics);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Order> findByTableNumber(Integer tableNumber) {
+        if (tableNumber == null) {
+            throw new IllegalArgumentException("Table number cannot be null");
+        }
+        return entityManager.createQuery(SELECT_WITH_ITEMS + " where o.tableNumber = :table", OrderEntity.class)
+                .setParameter("table", tableNumber)
+                .getResultStream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return entityManager.createQuery("select count(o) from OrderEntity o", Long.class).getSingleResult();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long countByStatus(OrderStatus status) {
+        if (status == null) {
+            throw new IllegalArgumentException("Status cannot be null");
+        }
+        return entityManager.createQuery("select count(o) from OrderEntity o where o.status = :status", Long.class)
+                .setParameter("status", status)
+                .getSingleResult();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        OrderEntity entity = entityManager.find(OrderEntity.class, id);
+        if (entity != null) {
+            entityManager.remove(entity);
+        }
+    }
+
+    // Las líneas de un pedido solo crecen: se actualizan las cantidades existentes y se agregan las nuevas
+    private static void copyInto(OrderEntity entity, Order order) {
+        entity.setStatus(order.getStatus());
+        entity.setCouponApplied(order.isCouponApplied());
+        entity.setDiscountAmount(order.getDiscountAmount());
+        entity.setDiscountPercentage(order.getDiscountPercentage());
+
+        List<OrderItem> lines = order.getItems();
+        List<OrderItemEntity> items = entity.getItems();
+        while (items.size() > lines.size()) {
+            items.remove(items.size() - 1);
+        }
+        for (int i = 0; i < lines.size(); i++) {
+            OrderItem line = lines.get(i);
+            if (i < items.size()) {
+                copyInto(items.get(i), line);
+            } else {
+                OrderItemEntity item = new OrderItemEntity();
+                item.setOrder(entity);
+                copyInto(item, line);
+                items.add(item);
+            }
+        }
+    }
+
+    private static void copyInto(OrderItemEntity item, OrderItem line) {
+        Product product = line.product();
+        item.setProductId(product.getId());
+        item.setProductName(product.getName());
+        item.setUnitPrice(line.unitPrice());
+        item.setCategory(product.getCategory());
+        item.setQuantity(line.quantity());
+    }
+
+    private Order toDomain(OrderEntity entity) {
+        Order order = new Order(entity.getId(), entity.getTableNumber());
+        for (OrderItemEntity item : entity.getItems()) {
+            Product product = Product.builder()
+                    .id(item.getProductId())
+                    .name(item.getProductName())
+                    .price(item.getUnitPrice())
+                    .category(categories.intern(item.getCategory()))
+                    .build();
+            order.addItem(product, item.getQuantity());
+        }
+        order.restoreDiscount(entity.isCouponApplied(), entity.getDiscountPercentage(), entity.getDiscountAmount());
+        order.changeStatus(entity.getStatus());
+        order.setVersion(entity.getVersion());
+        return order;
+    }
+}
@@ -0,0 +1,266 @@
+package com.restaurant.infrastructure.jpa;
+
+import com.restaurant.domain.model.CategoryDictionary;
+import com.restaurant.domain.model.MenuSnapshot;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.repository.ProductRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Repository
+@Transactional
+@ConditionalOnProperty(name = "restaurant.repository", havingValue = "jpa")
+public class JpaProductRepository implements ProductRepository {
+    // Debe coincidir con spring.jpa.properties.hibernate.jdbc.batch_size
+    static final int BATCH_SIZE = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Los productos leídos comparten la instancia de cada categoría
+    private final CategoryDictionary categories;
+
+    public JpaProductRepository(CategoryDictionary categories) {
+        this.categories = categories;
+    }
+
+    // Versión de la carta: sube al confirmar cada transacción que cambió productos. Empieza en 1
+    // para que la primera llamada a snapshot() lea lo que ya hay en la base
+    private final AtomicLong menuVersion = new AtomicLong(1);
+    private volatile MenuSnapshot menu = MenuSnapshot.EMPTY;
+
+    @Override
+    public Product save(Product product) {
+        if (product == null) {
+            throw new IllegalArgumentException("Product cannot be null");
+        }
+
+        menuChanged();
+        if (product.getId() == null) {
+            ProductEntity entity = toEntity(product, UUID.randomUUID());
+            entityManager.persist(entity);
+            return toDomain(entity);
+        }
+
+        ProductEntity entity = entityManager.find(ProductEntity.class, product.getId());
+        if (entity == null) {
+            entityManager.persist(toEntity(product, product.getId()));
+        } else {
+            copyInto(entity, product);
+        }
+        return product;
+    }
+
+    @Override
+    public void saveAll(List<Product> productList) {
+        if (productList == null) {
+            throw new IllegalArgumentException("Product list cannot be null");
+        }
+
+        menuChanged();
+        for (int from = 0; from < productList.size(); from += BATCH_SIZE) {
+            List<Product> batch = productList.subList(from, Math.min(from + BATCH_SIZE, productList.size()));
+            Map<UUID, ProductEntity> existing = findExisting(batch);
+
+            for (Product product : batch) {
+                if (product == null) {
+                    throw new IllegalArgumentException("Product cannot be null");
+                }
+                ProductEntity entity = product.getId() == null ? null : existing.get(product.getId());
+                if (entity != null) {
+                    copyInto(entity, product);
+                } else {
+                    UUID id = product.getId() == null ? UUID.randomUUID() : product.getId();
+                    entityManager.persist(toEntity(product, id));
+                }
+            }
+
+            // Un lote de inserts/updates por vuelta y contexto de persistencia acotado
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Product> findById(UUID id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+        return Optional.ofNullable(entityManager.find(ProductEntity.class, id)).map(this::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findAll() {
+        return entityManager.createQuery("select p from ProductEntity p", ProductEntity.class)
+                .getResultStream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByCategory(String category) {
+        if (category == null || category.isBlank()) {
+            throw new IllegalArgumentException("Category cannot be null or empty");
+        }
+
+        return entityManager.createQuery("select p from ProductEntity p where p.category = :category", ProductEntity.class)
+                .setParameter("category", normalizeCategory(category))
+                .getResultStream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Product> findByName(String name) {
+        if (name == null || name.isBlank()) {
+            return Optional.empty();
+        }
+
+        return entityManager.createQuery("select p from ProductEntity p where p.normalizedName = :name", ProductEntity.class)
+                .setParameter("name", normalizeName(name))
+                .setMaxResults(1)
+                .getResultStream()
+                .findFirst()
+                .map(this::toDomain);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Product> findByNamePrefix(String prefix, int limit) {
+        if (prefix == null || prefix.isBlank() || limit <= 0) {
+            return List.of();
+        }
+
+        String pattern = normalizeName(prefix)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return entityManager.createQuery("select p from ProductEntity p where p.normalizedName like :pattern escape '\\' "
+                        + "order by p.normalizedName", ProductEntity.class)
+                .setParameter("pattern", pattern)
+                .setMaxResults(limit)
+                .getResultStream()
+                .map(this::toDomain)
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long count() {
+        return entityManager.createQuery("select count(p) from ProductEntity p", Long.class).getSingleResult();
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        if (id == null) {
+            throw new IllegalArgumentException("ID cannot be null");
+        }
+        ProductEntity entity = entityManager.find(ProductEntity.class, id);
+        if (entity != null) {
+            entityManager.remove(entity);
+            menuChanged();
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public MenuSnapshot snapshot() {
+        MenuSnapshot current = menu;
+        long version = menuVersion.get();
+        if (current.version() == version) {
+            return current;
+        }
+
+        MenuSnapshot rebuilt = MenuSnapshot.of(version, findAll());
+        synchronized (this) {
+            if (rebuilt.version() > menu.version()) {
+                menu = rebuilt;
+            }
+            return menu;
+        }
+    }
+
+    // Solo lee el contador: no necesita transacción
+    @Override
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public long menuVersion() {
+        return menuVersion.get();
+    }
+
+    // Si la versión subiera antes del commit, otra transacción podría guardar la carta vieja con la versión nueva
+    private void menuChanged() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    menuVersion.incrementAndGet();
+                }
+            });
+        } else {
+            menuVersion.incrementAndGet();
+        }
+    }
+
+    // Una sola consulta por lote para saber qué productos ya existen
+    private Map<UUID, ProductEntity> findExisting(List<Product> batch) {
+        List<UUID> ids = batch.stream()
+                .filter(Objects::nonNull)
+                .map(Product::getId)
+                .filter(Objects::nonNull)
+                .toList();
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<UUID, ProductEntity> existing = new HashMap<>();
+        entityManager.createQuery("select p from ProductEntity p where p.id in :ids", ProductEntity.class)
+                .setParameter("ids", ids)
+                .getResultStream()
+                .forEach(entity -> existing.put(entity.getId(), entity));
+        return existing;
+    }
+
+    private static ProductEntity toEntity(Product product, UUID id) {
+        ProductEntity entity = new ProductEntity();
+        entity.setId(id);
+        copyInto(entity, product);
+        return entity;
+    }
+
+    private static void copyInto(ProductEntity entity, Product product) {
+        entity.setName(product.getName());
+        entity.setNormalizedName(normalizeName(product.getName()));
+        entity.setPrice(product.getPrice());
+        entity.setCategory(product.getCategory() == null ? null : normalizeCategory(product.getCategory()));
+    }
+
+    private Product toDomain(ProductEntity entity) {
+        return Product.builder()
+                .id(entity.getId())
+                .name(entity.getName())
+                .price(entity.getPrice())
+                .category(categories.intern(entity.getCategory()))
+                .build();
+    }
+
+    private static String normalizeCategory(String category) {
+        return CategoryDictionary.normalize(category);
+    }
+
+    private static String normalizeName(String name) {
+        return name.trim().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,56 @@
+package com.restaurant.infrastructure.jpa;
+
+import com.restaurant.domain.model.OrderStatus;
+import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OrderColumn;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Entity
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_status", columnList = "status"),
+        @Index(name = "idx_orders_table_number", columnList = "table_number")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderEntity {
+    @Id
+    private UUID id;
+
+    @Column(name = "table_number")
+    private Integer tableNumber;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 16)
+    private OrderStatus status;
+
+    private boolean couponApplied;
+
+    // Unidades menores (ver Money)
+    private long discountAmount;
+
+    private double discountPercentage;
+
+    // Control de concurrencia optimista (ver JpaOrderRepository.compareAndSet)
+    @Version
+    private long version;
+
+    @OneToMany(mappedBy = "order", cascade = CascadeType.ALL, orphanRemoval = true)
+    @OrderColumn(name = "line_number")
+    private List<OrderItemEntity> items = new ArrayList<>();
+}
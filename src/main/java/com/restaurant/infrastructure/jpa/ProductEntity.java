@@ -0,0 +1,38 @@
+package com.restaurant.infrastructure.jpa;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.UUID;
+
+@Entity
+@Table(name = "products", indexes = {
+        @Index(name = "idx_products_category", columnList = "category"),
+        @Index(name = "idx_products_normalized_name", columnList = "normalized_name")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+public class ProductEntity {
+    @Id
+    private UUID id;
+
+    @Column(nullable = false)
+    private String name;
+
+    // Nombre en minúsculas y sin espacios extremos, para búsquedas exactas y por prefijo
+    @Column(name = "normalized_name", nullable = false)
+    private String normalizedName;
+
+    // Unidades menores (ver Money)
+    private long price;
+
+    // Categoría en mayúsculas
+    private String category;
+}
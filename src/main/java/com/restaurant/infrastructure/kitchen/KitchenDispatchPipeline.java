@@ -0,0 +1,179 @@
+package com.restaurant.infrastructure.kitchen;
+
+import com.restaurant.domain.model.KitchenTicket;
+import com.restaurant.domain.service.KitchenDispatcher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Despacho asíncrono a cocina: una cola acotada y un hilo por estación (categoría del producto).
+ * La toma de pedidos solo encola sin esperar; si una estación va lenta y su cola se llena, los
+ * tickets nuevos se rechazan (contrapresión visible en las estadísticas) en lugar de frenar a los meseros.
+ * Cada estación vacía su cola por lotes de hasta 'maxBatch' tickets.
+ */
+public class KitchenDispatchPipeline implements KitchenDispatcher, Closeable {
+    public static final int DEFAULT_STATION_CAPACITY = 1024;
+    public static final int DEFAULT_MAX_BATCH = 64;
+    static final String DEFAULT_STATION = "GENERAL";
+
+    private static final Logger log = LoggerFactory.getLogger("com.restaurant.kitchen");
+
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private final int stationCapacity;
+    private final int maxBatch;
+    private final StationHandler handler;
+    private final Map<String, Station> stations = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+    // Llamadas a dispatch en curso: close espera a que terminen antes de dejar salir a las estaciones
+    private final AtomicInteger dispatching = new AtomicInteger();
+
+    public KitchenDispatchPipeline(StationHandler handler) {
+        this(handler, DEFAULT_STATION_CAPACITY, DEFAULT_MAX_BATCH);
+    }
+
+    public KitchenDispatchPipeline(StationHandler handler, int stationCapacity, int maxBatch) {
+        if (handler == null) {
+            throw new IllegalArgumentException("Station handler cannot be null");
+        }
+        if (maxBatch <= 0) {
+            throw new IllegalArgumentException("Max batch must be positive");
+        }
+        this.handler = handler;
+        this.stationCapacity = stationCapacity;
+        this.maxBatch = maxBatch;
+    }
+
+    @Override
+    public boolean dispatch(KitchenTicket ticket) {
+        if (ticket == null) {
+            throw new IllegalArgumentException("Ticket cannot be null");
+        }
+        // Se anuncia antes de mirar 'running'; close baja 'running' antes de mirar el contador.
+        // Así un ticket aceptado siempre queda en una cola que su estación vacía antes de terminar
+        dispatching.incrementAndGet();
+        try {
+            if (!running) {
+                return false;
+            }
+            return stations.computeIfAbsent(stationOf(ticket), this::startStation).offer(ticket);
+        } finally {
+            dispatching.decrementAndGet();
+        }
+    }
+
+    public List<StationStats> stats() {
+        List<StationStats> stats = new ArrayList<>(stations.size());
+        stations.values().forEach(station -> stats.add(station.stats()));
+        stats.sort(Comparator.comparing(StationStats::station));
+        return stats;
+    }
+
+    // Deja de aceptar tickets y espera a que cada estación termine lo que tiene en cola
+    @Override
+    public void close() {
+        running = false;
+        while (dispatching.get() > 0) {
+            Thread.yield();
+        }
+        for (Station station : stations.values()) {
+            LockSupport.unpark(station.worker);
+        }
+        for (Station station : stations.values()) {
+            try {
+                station.worker.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private static String stationOf(KitchenTicket ticket) {
+        String category = ticket.category();
+        return category == null || category.isBlank() ? DEFAULT_STATION : category.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private Station startStation(String name) {
+        Station station = new Station(name, new BoundedRingBuffer<>(stationCapacity));
+        station.worker.start();
+        return station;
+    }
+
+    private final class Station {
+        private final String name;
+        private final BoundedRingBuffer<KitchenTicket> queue;
+        private final Thread worker;
+        private final LongAdder accepted = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder prepared = new LongAdder();
+        private final LongAdder failed = new LongAdder();
+        private final AtomicInteger maxDepth = new AtomicInteger();
+        // El hilo de la estación está (o va a estar) dormido: el productor debe despertarlo
+        private volatile boolean idle;
+
+        Station(String name, BoundedRingBuffer<KitchenTicket> queue) {
+            this.name = name;
+            this.queue = queue;
+            this.worker = new Thread(this::drainLoop, "kitchen-" + name.toLowerCase(Locale.ROOT));
+            this.worker.setDaemon(true);
+        }
+
+        boolean offer(KitchenTicket ticket) {
+            if (!queue.offer(ticket)) {
+                rejected.increment();
+                return false;
+            }
+            accepted.increment();
+            int depth = queue.size();
+            if (depth > maxDepth.get()) {
+                maxDepth.accumulateAndGet(depth, Math::max);
+            }
+            if (idle) {
+                LockSupport.unpark(worker);
+            }
+            return true;
+        }
+
+        private void drainLoop() {
+            List<KitchenTicket> batch = new ArrayList<>(maxBatch);
+            while (running || !queue.isEmpty()) {
+                batch.clear();
+                int drained = queue.drainTo(batch, maxBatch);
+                if (drained == 0) {
+                    idle = true;
+                    // Se vuelve a mirar la cola después de marcar 'idle' para no perder un unpark
+                    if (queue.isEmpty() && running) {
+                        LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                    }
+                    idle = false;
+                    continue;
+                }
+                // Un lote que falla no se reintenta: queda contado en 'failed' y en el log de cocina
+                try {
+                    handler.prepare(name, batch);
+                    prepared.add(drained);
+                } catch (RuntimeException e) {
+                    failed.add(drained);
+                    log.error("Station {} failed to prepare {} tickets", name, drained, e);
+                }
+            }
+        }
+
+        StationStats stats() {
+            return new StationStats(name, accepted.sum(), rejected.sum(), prepared.sum(), failed.sum(),
+                    queue.size(), maxDepth.get(), queue.capacity());
+        }
+    }
+}
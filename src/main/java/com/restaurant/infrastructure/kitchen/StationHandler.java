@@ -0,0 +1,14 @@
+package com.restaurant.infrastructure.kitchen;
+
+import com.restaurant.domain.model.KitchenTicket;
+
+import java.util.List;
+
+/**
+ * Lo que hace cada estación con un lote de tickets (pantalla de cocina, impresora de comandas...).
+ * Se invoca siempre desde el hilo de la estación; la lista solo es válida durante la llamada.
+ */
+@FunctionalInterface
+public interface StationHandler {
+    void prepare(String station, List<KitchenTicket> batch);
+}
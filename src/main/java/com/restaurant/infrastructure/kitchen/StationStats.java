@@ -0,0 +1,13 @@
+package com.restaurant.infrastructure.kitchen;
+
+/**
+ * @param accepted Tickets encolados
+ * @param rejected Tickets descartados por cola llena
+ * @param prepared Tickets que el StationHandler preparó
+ * @param failed   Tickets de lotes en los que el StationHandler falló
+ * @param depth    Tickets en cola en este momento
+ * @param maxDepth Mayor profundidad observada
+ */
+public record StationStats(String station, long accepted, long rejected, long prepared, long failed,
+                           int depth, int maxDepth, int capacity) {
+}
@@ -0,0 +1,56 @@
+package com.restaurant.infrastructure.metrics;
+
+import com.restaurant.domain.model.Coupon;
+import com.restaurant.domain.repository.CouponRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Decorador que mide las búsquedas de cupones y cuenta aciertos y fallos
+ * (restaurant.coupons.lookups{result=hit|miss}) para seguir la tasa de cupones válidos.
+ */
+public class MeteredCouponRepository implements CouponRepository {
+    private final CouponRepository delegate;
+    private final Timer getAllCoupons;
+    private final Timer findByCode;
+    private final Timer saveAll;
+    private final Counter hits;
+    private final Counter misses;
+
+    public MeteredCouponRepository(CouponRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        RepositoryTimers timers = new RepositoryTimers(registry, "coupons");
+        this.getAllCoupons = timers.timer("getAllCoupons");
+        this.findByCode = timers.timer("findByCode");
+        this.saveAll = timers.timer("saveAll");
+        this.hits = Counter.builder("restaurant.coupons.lookups").tag("result", "hit").register(registry);
+        this.misses = Counter.builder("restaurant.coupons.lookups").tag("result", "miss").register(registry);
+        timers.size(delegate, CouponRepository::count);
+    }
+
+    @Override
+    public List<Coupon> getAllCoupons() {
+        return getAllCoupons.record(delegate::getAllCoupons);
+    }
+
+    @Override
+    public Optional<Coupon> findByCode(String code) {
+        Optional<Coupon> coupon = findByCode.record(() -> delegate.findByCode(code));
+        (coupon != null && coupon.isPresent() ? hits : misses).increment();
+        return coupon;
+    }
+
+    @Override
+    public void saveAll(List<Coupon> coupons) {
+        saveAll.record(() -> delegate.saveAll(coupons));
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+}
@@ -0,0 +1,127 @@
+package com.restaurant.infrastructure.metrics;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.domain.service.SalesAnalytics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Decorador que mide cada operación del repositorio de pedidos, cuenta los conflictos de
+ * compareAndSet y publica la cantidad de pedidos por estado (restaurant.orders.by.status{status}).
+ */
+public class MeteredOrderRepository implements OrderRepository, AutoCloseable {
+    private final OrderRepository delegate;
+    private final Timer save;
+    private final Timer compareAndSet;
+    private final Counter conflicts;
+    private final Timer findById;
+    private final Timer findAll;
+    private final Timer findByStatus;
+    private final Timer findByTableNumber;
+    private final Timer deleteById;
+
+    public MeteredOrderRepository(OrderRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        RepositoryTimers timers = new RepositoryTimers(registry, "orders");
+        this.save = timers.timer("save");
+        this.compareAndSet = timers.timer("compareAndSet");
+        this.conflicts = Counter.builder("restaurant.orders.update.conflicts").register(registry);
+        this.findById = timers.timer("findById");
+        this.findAll = timers.timer("findAll");
+        this.findByStatus = timers.timer("findByStatus");
+        this.findByTableNumber = timers.timer("findByTableNumber");
+        this.deleteById = timers.timer("deleteById");
+        timers.size(delegate, OrderRepository::count);
+
+        for (OrderStatus status : OrderStatus.values()) {
+            Gauge.builder("restaurant.orders.by.status", delegate, orders -> orders.countByStatus(status))
+                    .tag("status", status.name())
+                    .strongReference(true)
+                    .register(registry);
+        }
+    }
+
+    @Override
+    public Order save(Order order) {
+        return save.record(() -> delegate.save(order));
+    }
+
+    @Override
+    public boolean compareAndSet(Order order, long expectedVersion) {
+        Boolean stored = compareAndSet.record(() -> delegate.compareAndSet(order, expectedVersion));
+        if (!Boolean.TRUE.equals(stored)) {
+            conflicts.increment();
+        }
+        return Boolean.TRUE.equals(stored);
+    }
+
+    @Override
+    public Optional<Order> findById(UUID id) {
+        return findById.record(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Order> findAll() {
+        return findAll.record(delegate::findAll);
+    }
+
+    @Override
+    public List<Order> findByStatus(OrderStatus status) {
+        return findByStatus.record(() -> delegate.findByStatus(status));
+    }
+
+    // El recorrido es perezoso: medir su apertura no diría nada, se delega sin timer
+    @Override
+    public Stream<Order> streamByStatus(OrderStatus status) {
+        return delegate.streamByStatus(status);
+    }
+
+    // Se recorre una vez al arrancar: se delega sin timer, igual que streamByStatus
+    @Override
+    public void seedSalesAnalytics(SalesAnalytics analytics) {
+        delegate.seedSalesAnalytics(analytics);
+    }
+
+    @Override
+    public List<Order> findByTableNumber(Integer tableNumber) {
+        return findByTableNumber.record(() -> delegate.findByTableNumber(tableNumber));
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        deleteById.record(() -> delegate.deleteById(id));
+    }
+
+    @Override
+    public void deleteAllById(Collection<UUID> ids) {
+        deleteById.record(() -> delegate.deleteAllById(ids));
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public long countByStatus(OrderStatus status) {
+        return delegate.countByStatus(status);
+    }
+
+    // Spring cierra el bean decorado: se propaga al repositorio si tiene recursos (journal, archivo)
+    @Override
+    public void close() throws Exception {
+        if (delegate instanceof AutoCloseable closeable) {
+            closeable.close();
+        }
+    }
+}
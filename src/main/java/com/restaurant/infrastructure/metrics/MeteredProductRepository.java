@@ -0,0 +1,96 @@
+package com.restaurant.infrastructure.metrics;
+
+import com.restaurant.domain.model.MenuSnapshot;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Decorador que mide cada operación del repositorio de productos y publica el tamaño de la carta
+ */
+public class MeteredProductRepository implements ProductRepository {
+    private final ProductRepository delegate;
+    private final Timer save;
+    private final Timer saveAll;
+    private final Timer findById;
+    private final Timer findAll;
+    private final Timer findByCategory;
+    private final Timer findByName;
+    private final Timer findByNamePrefix;
+    private final Timer deleteById;
+
+    public MeteredProductRepository(ProductRepository delegate, MeterRegistry registry) {
+        this.delegate = delegate;
+        RepositoryTimers timers = new RepositoryTimers(registry, "products");
+        this.save = timers.timer("save");
+        this.saveAll = timers.timer("saveAll");
+        this.findById = timers.timer("findById");
+        this.findAll = timers.timer("findAll");
+        this.findByCategory = timers.timer("findByCategory");
+        this.findByName = timers.timer("findByName");
+        this.findByNamePrefix = timers.timer("findByNamePrefix");
+        this.deleteById = timers.timer("deleteById");
+        timers.size(delegate, ProductRepository::count);
+    }
+
+    @Override
+    public Product save(Product product) {
+        return save.record(() -> delegate.save(product));
+    }
+
+    @Override
+    public void saveAll(List<Product> products) {
+        saveAll.record(() -> delegate.saveAll(products));
+    }
+
+    @Override
+    public Optional<Product> findById(UUID id) {
+        return findById.record(() -> delegate.findById(id));
+    }
+
+    @Override
+    public List<Product> findAll() {
+        return findAll.record(delegate::findAll);
+    }
+
+    @Override
+    public List<Product> findByCategory(String category) {
+        return findByCategory.record(() -> delegate.findByCategory(category));
+    }
+
+    @Override
+    public Optional<Product> findByName(String name) {
+        return findByName.record(() -> delegate.findByName(name));
+    }
+
+    @Override
+    public List<Product> findByNamePrefix(String prefix, int limit) {
+        return findByNamePrefix.record(() -> delegate.findByNamePrefix(prefix, limit));
+    }
+
+    @Override
+    public void deleteById(UUID id) {
+        deleteById.record(() -> delegate.deleteById(id));
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    // Casi siempre devuelve la instancia ya publicada: no se mide
+    @Override
+    public MenuSnapshot snapshot() {
+        return delegate.snapshot();
+    }
+
+    @Override
+    public long menuVersion() {
+        return delegate.menuVersion();
+    }
+}
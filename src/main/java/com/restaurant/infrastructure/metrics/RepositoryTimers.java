@@ -0,0 +1,39 @@
+package com.restaurant.infrastructure.metrics;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Metros comunes de los repositorios instrumentados: un timer por operación
+ * (restaurant.repository.operations{repository, operation}) y el tamaño del repositorio.
+ */
+final class RepositoryTimers {
+    static final String OPERATIONS = "restaurant.repository.operations";
+    static final String SIZE = "restaurant.repository.size";
+
+    private final MeterRegistry registry;
+    private final String repository;
+
+    RepositoryTimers(MeterRegistry registry, String repository) {
+        this.registry = registry;
+        this.repository = repository;
+    }
+
+    Timer timer(String operation) {
+        return Timer.builder(OPERATIONS)
+                .tag("repository", repository)
+                .tag("operation", operation)
+                .register(registry);
+    }
+
+    // El gauge se evalúa en cada scrape, no en cada operación
+    <T> void size(T target, ToDoubleFunction<T> size) {
+        Gauge.builder(SIZE, target, size)
+                .tag("repository", repository)
+                .strongReference(true)
+                .register(registry);
+    }
+}
@@ -1,47 +1,212 @@
 package com.restaurant.usecase;
 
 import com.restaurant.domain.model.Coupon;
+import com.restaurant.domain.model.KitchenTicket;
 import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
 import com.restaurant.domain.model.OrderStatus;
 import com.restaurant.domain.model.Product;
 import com.restaurant.domain.repository.CouponRepository;
 import com.restaurant.domain.repository.OrderRepository;
 import com.restaurant.domain.service.DiscountService;
+import com.restaurant.domain.service.FloorState;
+import com.restaurant.domain.service.KitchenDispatcher;
+import com.restaurant.domain.service.SalesAnalytics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Predicate;
 
 public class OrderUseCase {
+    private static final Logger log = LoggerFactory.getLogger(OrderUseCase.class);
+    // Con más reintentos que esto, el pedido está recibiendo escrituras sin pausa: se informa al llamador
+    private static final int MAX_UPDATE_ATTEMPTS = 1_000;
+    private static final String METRIC = "restaurant.orders.operations";
+
+    private static final List<OrderStatus> ACTIVE_STATUSES =
+            List.of(OrderStatus.CREATED, OrderStatus.IN_PROGRESS, OrderStatus.DELIVERED);
+
     private final OrderRepository orderRepository;
     private final CouponRepository couponRepository;
     private final DiscountService discountService;
+    private final KitchenDispatcher kitchenDispatcher;
+    private final SalesAnalytics salesAnalytics;
+    private final FloorState floorState;
+
+    private final TimedOperation createTimer;
+    private final TimedOperation addItemTimer;
+    private final TimedOperation addItemsTimer;
+    private final TimedOperation deliverTimer;
+    private final TimedOperation closeTimer;
+    private final TimedOperation cancelTimer;
+    private final Counter rejectedTickets;
 
     public OrderUseCase(OrderRepository orderRepository, CouponRepository couponRepository, DiscountService discountService) {
+        this(orderRepository, couponRepository, discountService, KitchenDispatcher.NONE);
+    }
+
+    public OrderUseCase(OrderRepository orderRepository, CouponRepository couponRepository, DiscountService discountService,
+                        KitchenDispatcher kitchenDispatcher) {
+        this(orderRepository, couponRepository, discountService, kitchenDispatcher, Metrics.globalRegistry);
+    }
+
+    // Los tiempos de cada operación se publican como restaurant.orders.operations{operation, outcome}
+    public OrderUseCase(OrderRepository orderRepository, CouponRepository couponRepository, DiscountService discountService,
+                        KitchenDispatcher kitchenDispatcher, MeterRegistry meterRegistry) {
+        this(orderRepository, couponRepository, discountService, kitchenDispatcher, new SalesAnalytics(), meterRegistry);
+    }
+
+    // Cada cierre exitoso actualiza los acumulados de 'salesAnalytics'; sin FloorState no se controlan las mesas
+    public OrderUseCase(OrderRepository orderRepository, CouponRepository couponRepository, DiscountService discountService,
+                        KitchenDispatcher kitchenDispatcher, SalesAnalytics salesAnalytics, MeterRegistry meterRegistry) {
+        this(orderRepository, couponRepository, discountService, kitchenDispatcher, salesAnalytics, null, meterRegistry);
+    }
+
+    /**
+     * Con 'floorState' cada mesa tiene a lo sumo un pedido abierto: crear un pedido ocupa la mesa y
+     * cerrarlo o cancelarlo la libera. Se ocupa con los pedidos activos que ya tenga el repositorio;
+     * los que quedaron en una mesa que el salón ya no tiene (p. ej. se redujo restaurant.floor.tables)
+     * no ocupan ninguna mesa, pero se pueden cerrar o cancelar por su id.
+     * 'salesAnalytics' solo recibe los cierres nuevos: quien arma la aplicación la carga una vez con
+     * OrderRepository.seedSalesAnalytics.
+     */
+    public OrderUseCase(OrderRepository orderRepository, CouponRepository couponRepository, DiscountService discountService,
+                        KitchenDispatcher kitchenDispatcher, SalesAnalytics salesAnalytics, FloorState floorState,
+                        MeterRegistry meterRegistry) {
         this.orderRepository = orderRepository;
         this.couponRepository = couponRepository;
         this.discountService = discountService;
+        this.kitchenDispatcher = kitchenDispatcher;
+        this.salesAnalytics = salesAnalytics;
+        this.floorState = floorState;
+        this.createTimer = new TimedOperation(meterRegistry, METRIC, "create");
+        this.addItemTimer = new TimedOperation(meterRegistry, METRIC, "addItem");
+        this.addItemsTimer = new TimedOperation(meterRegistry, METRIC, "addItems");
+        this.deliverTimer = new TimedOperation(meterRegistry, METRIC, "deliver");
+        this.closeTimer = new TimedOperation(meterRegistry, METRIC, "close");
+        this.cancelTimer = new TimedOperation(meterRegistry, METRIC, "cancel");
+        this.rejectedTickets = Counter.builder("restaurant.kitchen.tickets.rejected").register(meterRegistry);
+
+        if (floorState != null) {
+            // Si hubiera dos pedidos abiertos en una mesa (datos previos al control), queda el primero
+            for (Order order : getActiveOrders()) {
+                if (order.getTableNumber() == null) {
+                    continue;
+                }
+                if (!floorState.hasTable(order.getTableNumber())) {
+                    log.warn("Open order {} is on table {}, outside the floor (tables 1 to {}); it does not occupy a table",
+                            order.getId(), order.getTableNumber(), floorState.tables());
+                    continue;
+                }
+                floorState.claim(order.getTableNumber(), order.getId());
+            }
+        }
     }
 
     public Order createOrder(Integer tableNumber) {
+        return createTimer.record(() -> create(tableNumber));
+    }
+
+    // La mesa se ocupa antes de guardar: de dos pedidos simultáneos en la misma mesa solo uno se guarda
+    private Order create(Integer tableNumber) {
+        if (floorState == null || tableNumber == null) {
+            return orderRepository.save(new Order(tableNumber));
+        }
+
+        floorState.requireTable(tableNumber);
         Order order = new Order(tableNumber);
-        return orderRepository.save(order);
+        if (!floorState.claim(tableNumber, order.getId())) {
+            throw new IllegalStateException("La mesa " + tableNumber + " ya tiene un pedido abierto");
+        }
+        try {
+            return orderRepository.save(order);
+        } catch (RuntimeException e) {
+            floorState.release(tableNumber, order.getId());
+            throw e;
+        }
     }
 
     public Order addItemToOrder(UUID orderId, Product product, Integer quantity) {
+        return addItemTimer.record(() -> addItem(orderId, product, quantity));
+    }
+
+    private Order addItem(UUID orderId, Product product, Integer quantity) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("Pedido no encontrado"));
 
-        if (order.getStatus() != OrderStatus.CREATED && order.getStatus() != OrderStatus.IN_PROGRESS) {
-            throw new IllegalStateException("No se pueden añadir items a un pedido en estado " + order.getStatus());
+        Order updated = updateOrder(order, current -> {
+            if (current.getStatus() != OrderStatus.CREATED && current.getStatus() != OrderStatus.IN_PROGRESS) {
+                throw new IllegalStateException("No se pueden añadir items a un pedido en estado " + current.getStatus());
+            }
+
+            current.addItem(product, quantity);
+            current.changeStatus(OrderStatus.IN_PROGRESS);
+            return true;
+        }).orElseThrow();
+
+        // Solo después de guardar: la cocina nunca recibe líneas de un intento descartado
+        dispatchToKitchen(updated, new OrderItem(product, quantity));
+        return updated;
+    }
+
+    /**
+     * Agrega varias líneas (producto y cantidad) en un solo paso: una lectura, una validación
+     * del estado y una escritura para todo el lote. Si una línea es inválida no se agrega ninguna.
+     * Cada línea se envía a cocina después de guardar, igual que en addItemToOrder.
+     */
+    public Order addItemsToOrder(UUID orderId, List<OrderItem> items) {
+        return addItemsTimer.record(() -> addItems(orderId, items));
+    }
+
+    private Order addItems(UUID orderId, List<OrderItem> items) {
+        if (items == null || items.isEmpty()) {
+            throw new IllegalArgumentException("Debe agregar al menos un producto");
+        }
+        for (OrderItem item : items) {
+            if (item == null) {
+                throw new IllegalArgumentException("El producto o la cantidad son inválidos");
+            }
+        }
+        // Copia propia: los reintentos de updateOrder deben ver siempre las mismas líneas
+        List<OrderItem> lines = List.copyOf(items);
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Pedido no encontrado"));
+
+        Order updated = updateOrder(order, current -> {
+            if (current.getStatus() != OrderStatus.CREATED && current.getStatus() != OrderStatus.IN_PROGRESS) {
+                throw new IllegalStateException("No se pueden añadir items a un pedido en estado " + current.getStatus());
+            }
+
+            current.addItems(lines);
+            current.changeStatus(OrderStatus.IN_PROGRESS);
+            return true;
+        }).orElseThrow();
+
+        for (OrderItem line : lines) {
+            dispatchToKitchen(updated, line);
         }
+        return updated;
+    }
 
-        order.addItem(product, quantity);
-        order.changeStatus(OrderStatus.IN_PROGRESS);
-        return orderRepository.save(order);
+    /**
+     * La línea ya está guardada, así que un ticket rechazado por una estación saturada no hace
+     * fallar al mesero: se cuenta en restaurant.kitchen.tickets.rejected (y en las estadísticas de
+     * la estación) para alertar sobre la saturación, sin escribir una línea de log por ticket.
+     */
+    private void dispatchToKitchen(Order order, OrderItem line) {
+        if (!kitchenDispatcher.dispatch(new KitchenTicket(order.getId(), order.getTableNumber(), line))) {
+            rejectedTickets.increment();
+        }
     }
 
-    private void applyCouponDiscount(Order order, String couponCode) {
+    private Coupon findCoupon(String couponCode) {
         Optional<Coupon> optionalCoupon = couponRepository.findByCode(couponCode);
 
         if (optionalCoupon.isEmpty()) {
@@ -49,71 +214,179 @@ public class OrderUseCase {
         }
 
         Coupon coupon = optionalCoupon.get();
-        if (coupon.discountPercent() > 10) {  // Si usas record, acceder con coupon.discountPercent()
+        if (coupon.discountPercent() > 10) {
             throw new IllegalArgumentException("El porcentaje del cupón no puede ser mayor al 10%.");
         }
+        return coupon;
+    }
 
+    private void applyCouponDiscount(Order order, Coupon coupon) {
         // Calcula el subtotal original del pedido
-        double subtotal = order.calculateSubtotal();
+        long subtotal = order.calculateSubtotal();
 
-        // Aplica el descuento usando DiscountService (ahora se calcula sobre el subtotal)
-        double newTotal = discountService.applyDiscount(subtotal, couponCode);
+        // Aplica el descuento usando DiscountService (se calcula sobre el subtotal)
+        long newTotal = discountService.applyDiscount(subtotal, coupon);
 
         // Calcula el monto de descuento aplicado
-        double discountAmount = subtotal - newTotal;
+        long discountAmount = subtotal - newTotal;
 
-        // Actualiza los campos del pedido
-        order.couponApplied = true;
-        order.discountAmount = discountAmount;
-        order.discountPercentage = coupon.discountPercent();
-        order.setTotal(newTotal);
+        order.applyCouponDiscount(coupon.discountPercent(), discountAmount);
     }
 
 
     public Order closeOrder(UUID orderId, String couponCode) {
+        return closeTimer.record(() -> close(orderId, couponCode));
+    }
+
+    private Order close(UUID orderId, String couponCode) {
         Order order = orderRepository.findById(orderId)
                 .orElseThrow(() -> new IllegalArgumentException("El pedido no existe. ID: " + orderId));
+        requireDelivered(order);
 
-        if (order.getStatus() != OrderStatus.DELIVERED) {
-            throw new IllegalArgumentException("Solo se pueden cerrar pedidos en estado 'Entregado'. Estado actual: " + order.getStatus());
-        }
-
+        // Una sola búsqueda del cupón por cierre, aunque updateOrder reintente
+        Coupon coupon = null;
         if (couponCode != null && !couponCode.trim().isEmpty()) {
             try {
-                applyCouponDiscount(order, couponCode.trim());
+                coupon = findCoupon(couponCode.trim());
             } catch (IllegalArgumentException e) {
                 throw new IllegalArgumentException("Error al aplicar el cupón: " + e.getMessage());
             }
         }
+        Coupon redeemed = coupon;
+
+        Order closed = updateOrder(order, current -> {
+            requireDelivered(current);
+
+            if (redeemed != null) {
+                applyCouponDiscount(current, redeemed);
+            }
 
-        order.changeStatus(OrderStatus.CLOSED);
-        orderRepository.save(order);
+            current.changeStatus(OrderStatus.CLOSED);
+            return true;
+        }).orElseThrow();
 
-        return order;
+        // El compareAndSet deja pasar un solo cierre por pedido: se registra exactamente una vez
+        salesAnalytics.recordClosedOrder(closed);
+        releaseTable(closed);
+        return closed;
+    }
+
+    private static void requireDelivered(Order order) {
+        if (order.getStatus() != OrderStatus.DELIVERED) {
+            throw new IllegalArgumentException("Solo se pueden cerrar pedidos en estado 'Entregado'. Estado actual: " + order.getStatus());
+        }
     }
 
     public boolean cancelOrder(UUID orderId) {
+        return cancelTimer.record(() -> cancel(orderId));
+    }
+
+    private boolean cancel(UUID orderId) {
         return orderRepository.findById(orderId)
-                .map(order -> {
-                    if (order.getStatus() == OrderStatus.DELIVERED || order.getStatus() == OrderStatus.CLOSED) {
+                .flatMap(order -> updateOrder(order, current -> {
+                    if (current.getStatus() == OrderStatus.DELIVERED || isTerminal(current.getStatus())) {
                         return false;
                     }
 
-                    order.changeStatus(OrderStatus.CANCELLED);
-                    orderRepository.save(order);
+                    current.changeStatus(OrderStatus.CANCELLED);
+                    return true;
+                }))
+                .map(cancelled -> {
+                    releaseTable(cancelled);
                     return true;
                 })
                 .orElse(false);
     }
 
+    public boolean markOrderAsDelivered(UUID orderId) {
+        return deliverTimer.record(() -> deliver(orderId));
+    }
+
+    private boolean deliver(UUID orderId) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new IllegalArgumentException("Pedido no encontrado"));
+
+        return updateOrder(order, current -> {
+            if (current.getStatus() != OrderStatus.IN_PROGRESS) {
+                return false;
+            }
+
+            current.changeStatus(OrderStatus.DELIVERED);
+            return true;
+        }).isPresent();
+    }
+
+    /**
+     * Actualización optimista: aplica 'change' sobre una copia del pedido y la guarda solo si nadie
+     * lo modificó entretanto; si otro escritor se adelantó, relee el pedido y vuelve a aplicar 'change'
+     * (sus validaciones se repiten sobre el estado más reciente). Sin locks globales: dos meseros
+     * en el mismo pedido nunca pierden líneas, y pedidos distintos no se esperan entre sí.
+     * Las validaciones de 'change' rechazan los pedidos cerrados o cancelados antes de escribir, así
+     * que uno archivado solo llega a compareAndSet si 'change' lo acepta (y entonces el repositorio falla).
+     * @return el pedido guardado, o vacío si 'change' devolvió false (no había nada que guardar)
+     */
+    private Optional<Order> updateOrder(Order order, Predicate<Order> change) {
+        Order current = order;
+        for (int attempt = 1; ; attempt++) {
+            Order updated = current.copy();
+            if (!change.test(updated)) {
+                return Optional.empty();
+            }
+            if (orderRepository.compareAndSet(updated, current.getVersion())) {
+                return Optional.of(updated);
+            }
+            if (attempt == MAX_UPDATE_ATTEMPTS) {
+                throw new IllegalStateException("El pedido se está modificando concurrentemente, intente de nuevo");
+            }
+            current = orderRepository.findById(order.getId())
+                    .orElseThrow(() -> new IllegalStateException("El pedido fue eliminado mientras se modificaba"));
+        }
+    }
+
+    // Solo recorre los índices de los estados activos, no el historial de pedidos cerrados/cancelados
     public List<Order> getActiveOrders() {
-        return orderRepository.findAll().stream()
-                .filter(order -> order.getStatus() != OrderStatus.CLOSED &&
-                        order.getStatus() != OrderStatus.CANCELLED)
-                .toList();
+        List<Order> activeOrders = new ArrayList<>();
+        for (OrderStatus status : ACTIVE_STATUSES) {
+            activeOrders.addAll(orderRepository.findByStatus(status));
+        }
+        return activeOrders;
+    }
+
+    public List<Order> getOrdersByTable(Integer tableNumber) {
+        return orderRepository.findByTableNumber(tableNumber);
     }
 
     public Optional<Order> getOrderById(UUID orderId) {
         return orderRepository.findById(orderId);
     }
+
+    // Pedido abierto de la mesa; sin FloorState se busca entre los pedidos de la mesa
+    public Optional<Order> getOpenOrderForTable(int tableNumber) {
+        if (floorState == null) {
+            return orderRepository.findByTableNumber(tableNumber).stream()
+                    .filter(order -> ACTIVE_STATUSES.contains(order.getStatus()))
+                    .findFirst();
+        }
+        // Entre el cierre y la liberación de la mesa, el pedido ya figura cerrado
+        return floorState.openOrder(tableNumber)
+                .flatMap(orderRepository::findById)
+                .filter(order -> ACTIVE_STATUSES.contains(order.getStatus()));
+    }
+
+    public List<Integer> getFreeTables() {
+        if (floorState == null) {
+            throw new IllegalStateException("El control de mesas no está habilitado");
+        }
+        return floorState.freeTables();
+    }
+
+    private void releaseTable(Order order) {
+        if (floorState != null && order.getTableNumber() != null && floorState.hasTable(order.getTableNumber())) {
+            floorState.release(order.getTableNumber(), order.getId());
+        }
+    }
+
+    private static boolean isTerminal(OrderStatus status) {
+        return status == OrderStatus.CLOSED || status == OrderStatus.CANCELLED;
+    }
 }
@@ -1,25 +1,47 @@
 package com.restaurant.usecase;
 
+import com.restaurant.domain.model.MenuSnapshot;
 import com.restaurant.domain.model.Product;
 import com.restaurant.domain.repository.ProductRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public class ProductUseCase {
+    private static final String METRIC = "restaurant.products.operations";
+
     private final ProductRepository productRepository;
 
+    private final TimedOperation findAllTimer;
+    private final TimedOperation findByCategoryTimer;
+    private final TimedOperation findByNameTimer;
+    private final TimedOperation suggestTimer;
+    private final TimedOperation findByIdTimer;
+
     public ProductUseCase(ProductRepository productRepository) {
+        this(productRepository, Metrics.globalRegistry);
+    }
+
+    // Los tiempos de las búsquedas se publican como restaurant.products.operations{operation, outcome}
+    public ProductUseCase(ProductRepository productRepository, MeterRegistry meterRegistry) {
         this.productRepository = productRepository;
+        this.findAllTimer = new TimedOperation(meterRegistry, METRIC, "findAll");
+        this.findByCategoryTimer = new TimedOperation(meterRegistry, METRIC, "findByCategory");
+        this.findByNameTimer = new TimedOperation(meterRegistry, METRIC, "findByName");
+        this.suggestTimer = new TimedOperation(meterRegistry, METRIC, "suggest");
+        this.findByIdTimer = new TimedOperation(meterRegistry, METRIC, "findById");
     }
 
-    public Product createProduct(String name, Double price, String category) {
+    // El precio va en unidades menores (ver Money)
+    public Product createProduct(String name, long price, String category) {
         if (name == null || name.isBlank()) {
             throw new IllegalArgumentException("El nombre del producto no puede estar vacío");
         }
 
-        if (price == null || price <= 0) {
+        if (price <= 0) {
             throw new IllegalArgumentException("El precio debe ser mayor que cero");
         }
 
@@ -32,16 +54,29 @@ public class ProductUseCase {
         return productRepository.save(product);
     }
 
+    // Carta inmutable ordenada por categoría y nombre; su versión cambia con cada cambio de productos
+    public MenuSnapshot getMenu() {
+        return findAllTimer.record(productRepository::snapshot);
+    }
+
     public List<Product> getAllProducts() {
-        return productRepository.findAll();
+        return getMenu().products();
     }
 
     public List<Product> getProductsByCategory(String category) {
-        return productRepository.findByCategory(category.toUpperCase());
+        return findByCategoryTimer.record(() -> productRepository.findByCategory(category.toUpperCase()));
+    }
+
+    public Optional<Product> findProductByName(String name) {
+        return findByNameTimer.record(() -> productRepository.findByName(name));
+    }
+
+    public List<Product> suggestProducts(String prefix, int limit) {
+        return suggestTimer.record(() -> productRepository.findByNamePrefix(prefix, limit));
     }
 
     public Optional<Product> getProductById(UUID id) {
-        return productRepository.findById(id);
+        return findByIdTimer.record(() -> productRepository.findById(id));
     }
 
     public Product updateProduct(Product product) {
@@ -0,0 +1,26 @@
+package com.restaurant.usecase;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.ZReport;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.domain.service.ZReportGenerator;
+
+import java.util.stream.Stream;
+
+public class ReportUseCase {
+    private final OrderRepository orderRepository;
+    private final ZReportGenerator reportGenerator;
+
+    public ReportUseCase(OrderRepository orderRepository, ZReportGenerator reportGenerator) {
+        this.orderRepository = orderRepository;
+        this.reportGenerator = reportGenerator;
+    }
+
+    // Reporte Z sobre los pedidos cerrados (usa el índice por estado, no findAll), incluidos los archivados
+    public ZReport getEndOfDayReport() {
+        try (Stream<Order> closed = orderRepository.streamByStatus(OrderStatus.CLOSED)) {
+            return reportGenerator.generate(closed);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.restaurant.usecase;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Timer de una operación de caso de uso, separado por resultado (success / error).
+ * Los timers se registran una sola vez: en cada llamada solo se toma System.nanoTime dos veces.
+ */
+final class TimedOperation {
+    private final Timer success;
+    private final Timer error;
+
+    TimedOperation(MeterRegistry registry, String name, String operation) {
+        this.success = timer(registry, name, operation, "success");
+        this.error = timer(registry, name, operation, "error");
+    }
+
+    <T> T record(Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            T result = action.get();
+            success.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return result;
+        } catch (RuntimeException e) {
+            error.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private static Timer timer(MeterRegistry registry, String name, String operation, String outcome) {
+        return Timer.builder(name)
+                .tag("operation", operation)
+                .tag("outcome", outcome)
+                .register(registry);
+    }
+}
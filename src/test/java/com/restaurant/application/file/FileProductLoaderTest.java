@@ -0,0 +1,89 @@
+package com.restaurant.application.file;
+
+import com.restaurant.domain.model.Product;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class FileProductLoaderTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void parallelLoadReportsMalformedLinesWithTheirLineNumber() throws Exception {
+		List<String> lines = new ArrayList<>();
+		for (int i = 1; i <= 2_000; i++) {
+			if (i == 7) {
+				lines.add("Sin precio, , BEBIDA");
+			} else if (i == 11) {
+				lines.add("Cortesía, 0, BEBIDA");
+			} else if (i == 12) {
+				lines.add("Reembolso, -5.00, POSTRE");
+			} else if (i == 1_500) {
+				lines.add("Solo dos campos, 1000");
+			} else if (i == 1_999) {
+				lines.add("");
+			} else {
+				lines.add("Tiramisú " + i + ", " + i + ".50, postre");
+			}
+		}
+		Path file = directory.resolve("menu.txt");
+		Files.write(file, lines, StandardCharsets.UTF_8);
+
+		InMemoryProductRepository repository = new InMemoryProductRepository();
+		// Bloques y lotes pequeños para repartir el archivo entre varios hilos
+		LoadReport report = new FileProductLoader(repository).loadProductsParallel(file, 4, 1_024, 64);
+
+		assertEquals(2_000, report.linesRead());
+		assertEquals(1_995, report.productsLoaded());
+		assertEquals(4, report.errorCount());
+		assertEquals(7, report.errors().get(0).line());
+		// Los precios en cero o negativos se rechazan con su número de línea
+		assertEquals(11, report.errors().get(1).line());
+		assertEquals(12, report.errors().get(2).line());
+		assertEquals("El precio debe ser mayor que cero", report.errors().get(2).reason());
+		assertEquals(1_500, report.errors().get(3).line());
+		assertEquals("Solo dos campos, 1000", report.errors().get(3).content());
+
+		Product product = repository.findByName("Tiramisú 42").orElseThrow();
+		assertEquals(4_250, product.getPrice());
+		assertEquals("POSTRE", product.getCategory());
+		assertEquals(1_995, repository.findAll().size());
+		assertNull(FileProductLoader.parseLine("Cortesía, 0, BEBIDA"));
+	}
+
+	@Test
+	void sequentialLoadSkipsUnparseablePricesWithTheirLineNumber() throws Exception {
+		Path file = directory.resolve("menu.txt");
+		Files.write(file, List.of(
+				"Agua, 1.50, BEBIDA",
+				"Limonada, abc, BEBIDA",
+				"",
+				"Flan, 3.00, POSTRE",
+				"Cortesía, 0, BEBIDA"), StandardCharsets.UTF_8);
+
+		InMemoryProductRepository repository = new InMemoryProductRepository();
+		LoadReport report = new FileProductLoader(repository).loadProducts(file);
+
+		// Un precio ilegible ya no aborta la carga: el resto de la carta se guarda igual
+		assertEquals(5, report.linesRead());
+		assertEquals(2, report.productsLoaded());
+		assertEquals(2, report.errorCount());
+		assertEquals(2, report.errors().get(0).line());
+		assertEquals("Precio inválido", report.errors().get(0).reason());
+		assertEquals(5, report.errors().get(1).line());
+		assertEquals("El precio debe ser mayor que cero", report.errors().get(1).reason());
+		assertEquals(2, repository.findAll().size());
+		assertNull(FileProductLoader.parseLine("Limonada, abc, BEBIDA"));
+	}
+}
@@ -0,0 +1,102 @@
+package com.restaurant.application.file;
+
+import com.restaurant.domain.model.Product;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MenuFileWatcherTest {
+
+	@TempDir
+	Path directory;
+
+	@Test
+	void reloadAppliesOnlyTheDeltaAndKeepsIdsStableByName() throws Exception {
+		List<String> lines = new ArrayList<>();
+		for (int i = 0; i < 5_000; i++) {
+			lines.add("Plato " + i + ", " + (10_000 + i) + ", ENTRADA");
+		}
+		Path file = directory.resolve("menu.txt");
+		Files.write(file, lines, StandardCharsets.UTF_8);
+
+		InMemoryProductRepository repository = new InMemoryProductRepository();
+		MenuFileWatcher watcher = new MenuFileWatcher(repository, file);
+		assertEquals(5_000, watcher.reload().added().size());
+		UUID repricedId = repository.findByName("Plato 10").orElseThrow().getId();
+		UUID untouchedId = repository.findByName("Plato 11").orElseThrow().getId();
+
+		// Sin cambios en el archivo no se toca el repositorio
+		long version = repository.snapshot().version();
+		assertTrue(watcher.reload().isEmpty());
+		assertEquals(version, repository.snapshot().version());
+
+		lines.set(10, "Plato 10, 99999, ENTRADA");
+		lines.remove(20);
+		lines.add("Limonada, 5000, bebida");
+		Files.write(file, lines, StandardCharsets.UTF_8);
+
+		MenuDiff diff = watcher.reload();
+		assertEquals(List.of("Limonada"), diff.added().stream().map(Product::getName).toList());
+		assertEquals(List.of("Plato 20"), diff.removed().stream().map(Product::getName).toList());
+		assertEquals(List.of(repricedId), diff.repriced().stream().map(Product::getId).toList());
+
+		assertEquals(5_000, repository.count());
+		assertEquals(9_999_900, repository.findById(repricedId).orElseThrow().getPrice());
+		assertEquals(untouchedId, repository.findByName("plato 11").orElseThrow().getId());
+		assertTrue(repository.findByName("Plato 20").isEmpty());
+		assertEquals("BEBIDA", repository.findByName("Limonada").orElseThrow().getCategory());
+
+		// Mover una línea no cambia la carta
+		lines.add(lines.remove(30));
+		Files.write(file, lines, StandardCharsets.UTF_8);
+		assertTrue(watcher.reload().isEmpty());
+		assertEquals(5_000, repository.count());
+
+		// Un cambio hecho fuera del archivo se corrige en la siguiente recarga
+		Product untouched = repository.findById(untouchedId).orElseThrow();
+		repository.save(Product.builder().id(untouchedId).name(untouched.getName()).price(1).category("ENTRADA").build());
+		assertEquals(List.of(untouchedId), watcher.reload().repriced().stream().map(Product::getId).toList());
+		assertEquals(1_001_100, repository.findById(untouchedId).orElseThrow().getPrice());
+
+		// Un archivo vacío (p. ej. a medio guardar) no borra la carta
+		Files.write(file, List.of(), StandardCharsets.UTF_8);
+		assertSame(MenuDiff.NONE, watcher.reload());
+		assertEquals(5_000, repository.count());
+	}
+
+	@Test
+	void watcherReloadsWhenTheFileChanges() throws Exception {
+		Path file = directory.resolve("menu.txt");
+		Files.write(file, List.of("Agua, 3000, BEBIDA", "Flan, 8000, POSTRE"), StandardCharsets.UTF_8);
+
+		InMemoryProductRepository repository = new InMemoryProductRepository();
+		BlockingQueue<MenuDiff> reloads = new LinkedBlockingQueue<>();
+		try (MenuFileWatcher watcher = new MenuFileWatcher(repository, file, reloads::add, 10)) {
+			assertEquals(2, watcher.start().added().size());
+			assertNotNull(reloads.poll(1, TimeUnit.SECONDS));
+			UUID waterId = repository.findByName("Agua").orElseThrow().getId();
+
+			Files.write(file, List.of("Agua, 3500, BEBIDA", "Flan, 8000, POSTRE"), StandardCharsets.UTF_8);
+
+			MenuDiff diff = reloads.poll(10, TimeUnit.SECONDS);
+			assertNotNull(diff, "El cambio del archivo no se aplicó");
+			assertEquals(1, diff.repriced().size());
+			assertEquals(350_000, repository.findById(waterId).orElseThrow().getPrice());
+		}
+	}
+}
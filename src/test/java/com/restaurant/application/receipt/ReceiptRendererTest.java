@@ -0,0 +1,110 @@
+package com.restaurant.application.receipt;
+
+import com.restaurant.domain.model.Money;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReceiptRendererTest {
+
+	private final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(ReceiptRenderer.DEFAULT_LOCALE);
+	private final ReceiptRenderer renderer = new ReceiptRenderer();
+
+	@Test
+	void formatsCurrencyLikeNumberFormat() {
+		long[] amounts = {0, 5, 99, 100, 1_234_567, -150_000, -7, 100_000_000_000L, Long.MAX_VALUE, Long.MIN_VALUE};
+		for (long amount : amounts) {
+			assertEquals(currencyFormat.format(Money.toBigDecimal(amount)), renderer.formatCurrency(amount));
+		}
+	}
+
+	@Test
+	void rendersSameReceiptAsStringFormat() {
+		for (Order order : sampleOrders()) {
+			assertEquals(formattedReceipt(order), renderer.renderReceipt(order));
+		}
+	}
+
+	@Test
+	void exportsReceiptsThroughOneChannel(@TempDir Path directory) throws Exception {
+		List<Order> orders = new ArrayList<>();
+		for (int i = 0; i < 2_000; i++) {
+			orders.addAll(sampleOrders());
+		}
+		StringBuilder expected = new StringBuilder();
+		orders.forEach(order -> expected.append(formattedReceipt(order)));
+
+		Path file = directory.resolve("recibos.txt");
+		assertEquals(orders.size(), new ReceiptExporter().export(file, orders));
+		assertEquals(expected.toString(), Files.readString(file, StandardCharsets.UTF_8));
+	}
+
+	private static List<Order> sampleOrders() {
+		Product pasta = product("Pasta Carbonara", 2_500_000);
+		Product longName = product("Bandeja paisa con chicharrón extra", 4_850_050);
+		Product juice = product("Jugo", 700_000);
+
+		Order open = new Order(3);
+		open.addItem(pasta, 1);
+		open.changeStatus(OrderStatus.IN_PROGRESS);
+
+		Order closed = new Order(12);
+		closed.addItem(longName, 12);
+		closed.addItem(juice, 3);
+		closed.applyCouponDiscount(12.345, 1_000_000);
+		closed.changeStatus(OrderStatus.CLOSED);
+
+		return List.of(open, closed, new Order(null));
+	}
+
+	// Texto que armaba la consola con String.format (OrderConsoleAdapter.printReceipt)
+	private String formattedReceipt(Order order) {
+		StringBuilder text = new StringBuilder("\n=== 🧾 RECIBO DE PAGO ===\n");
+		text.append("\n=================================\n");
+		text.append(String.format("📋 Pedido #%s\n", order.getId()));
+		text.append(String.format("🪑 Mesa: #%d\n", order.getTableNumber()));
+		text.append(String.format("📊 Estado: %s\n", switch (order.getStatus()) {
+			case CREATED -> "🆕 Creado";
+			case IN_PROGRESS -> "👨‍🍳 En preparación";
+			case DELIVERED -> "✅ Entregado";
+			case CANCELLED -> "❌ Cancelado";
+			case CLOSED -> "💰 Cerrado/Pagado";
+		}));
+		text.append("\n🍽️ Productos:\n");
+		order.getItems().forEach(item -> text.append(String.format("- %2d x %-20s %10s\n",
+				item.quantity(), item.product().getName(), money(item.product().getPrice()))));
+		text.append("\n💵 Subtotal: ").append(money(order.calculateSubtotal())).append('\n');
+		if (order.isDiscountApplied()) {
+			text.append(String.format("🎫 Descuento aplicado: -%s (%.2f%%)\n",
+					money(order.getDiscountAmount()), order.getDiscountPercentage()));
+		}
+		text.append("=================================\n");
+		text.append(String.format("\n💰 TOTAL A PAGAR: %s\n", money(order.calculateTotal())));
+		return text.toString();
+	}
+
+	private String money(long amount) {
+		return currencyFormat.format(Money.toBigDecimal(amount));
+	}
+
+	private static Product product(String name, long price) {
+		return Product.builder()
+				.id(UUID.randomUUID())
+				.name(name)
+				.price(price)
+				.category("PLATO_FUERTE")
+				.build();
+	}
+}
@@ -0,0 +1,64 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.domain.service.DiscountService;
+import com.restaurant.infrastructure.InMemoryCouponRepository;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import com.restaurant.usecase.OrderUseCase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Vista de pedidos activos con un historial grande de pedidos cerrados
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ActiveOrdersBenchmark {
+
+    @Param({"50000"})
+    private int closedOrders;
+
+    @Param({"50"})
+    private int activeOrders;
+
+    private OrderRepository repository;
+    private OrderUseCase orderUseCase;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+        orderUseCase = new OrderUseCase(repository, couponRepository, new DiscountService(couponRepository));
+
+        for (int i = 0; i < closedOrders; i++) {
+            Order order = new Order(1 + i % 50);
+            order.changeStatus(i % 10 == 0 ? OrderStatus.CANCELLED : OrderStatus.CLOSED);
+            repository.save(order);
+        }
+        for (int i = 0; i < activeOrders; i++) {
+            repository.save(new Order(1 + i % 50));
+        }
+    }
+
+    @Benchmark
+    public List<Order> indexedActiveOrders() {
+        return orderUseCase.getActiveOrders();
+    }
+
+    // Reproduce la implementación anterior: copiar todo el historial y filtrar
+    @Benchmark
+    public List<Order> filterAllOrders() {
+        return repository.findAll().stream()
+                .filter(order -> order.getStatus() != OrderStatus.CLOSED &&
+                        order.getStatus() != OrderStatus.CANCELLED)
+                .toList();
+    }
+}
@@ -0,0 +1,64 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.service.DiscountService;
+import com.restaurant.infrastructure.InMemoryCouponRepository;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import com.restaurant.usecase.OrderUseCase;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * El pedido completo de una mesa enviado desde una comandera: una llamada a addItemToOrder por
+ * línea contra una sola llamada a addItemsToOrder con todas las líneas
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchAddItemsBenchmark {
+
+    @Param({"4", "16"})
+    private int lines;
+
+    private OrderUseCase orderUseCase;
+    private List<OrderItem> tableOrder;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+        orderUseCase = new OrderUseCase(new InMemoryOrderRepository(), couponRepository,
+                new DiscountService(couponRepository), ticket -> true, new SimpleMeterRegistry());
+
+        tableOrder = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            Product product = Product.builder().id(UUID.randomUUID()).name("Plato " + i).price(1_500_000).category("PLATO_FUERTE").build();
+            tableOrder.add(new OrderItem(product, 1 + i % 3));
+        }
+    }
+
+    @Benchmark
+    public Order addOneByOne() {
+        UUID orderId = orderUseCase.createOrder(1).getId();
+        Order order = null;
+        for (OrderItem line : tableOrder) {
+            order = orderUseCase.addItemToOrder(orderId, line.product(), line.quantity());
+        }
+        return order;
+    }
+
+    @Benchmark
+    public Order addBatch() {
+        UUID orderId = orderUseCase.createOrder(1).getId();
+        return orderUseCase.addItemsToOrder(orderId, tableOrder);
+    }
+}
@@ -0,0 +1,54 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Coupon;
+import com.restaurant.domain.service.DiscountService;
+import com.restaurant.infrastructure.InMemoryCouponRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aplicación de cupones con un catálogo grande: cupón válido y cupón inexistente (rechazado por el filtro de Bloom)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiscountServiceBenchmark {
+
+    @Param({"100", "100000"})
+    private int coupons;
+
+    private DiscountService discountService;
+    private String validCode;
+
+    @Setup
+    public void setUp() {
+        InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+        List<Coupon> catalog = new ArrayList<>(coupons);
+        for (int i = 0; i < coupons; i++) {
+            catalog.add(new Coupon("PROMO" + i, 0, 1 + i % 10));
+        }
+        couponRepository.saveAll(catalog);
+        discountService = new DiscountService(couponRepository);
+        validCode = "PROMO" + (coupons / 2);
+    }
+
+    @Benchmark
+    public long validCoupon() {
+        return discountService.applyDiscount(8_750_000, validCode);
+    }
+
+    @Benchmark
+    public long invalidCoupon() {
+        try {
+            return discountService.applyDiscount(8_750_000, "NOEXISTE");
+        } catch (IllegalArgumentException e) {
+            return -1;
+        }
+    }
+}
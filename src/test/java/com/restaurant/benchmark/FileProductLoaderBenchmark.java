@@ -0,0 +1,60 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.application.file.FileProductLoader;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Carga de cartas grandes desde archivo hasta el repositorio en memoria:
+ * lectura secuencial con BufferedReader contra el lector mapeado en paralelo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FileProductLoaderBenchmark {
+    private static final String[] CATEGORIES = {"ENTRADA", "PLATO_FUERTE", "BEBIDA", "POSTRE"};
+
+    @Param({"10000", "200000"})
+    private int lines;
+
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void writeFile() throws IOException {
+        file = Files.createTempFile("menu-benchmark", ".txt");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                writer.write("Producto " + i + ", " + (1000 + i % 90_000) + "." + (i % 100) + ", " + CATEGORIES[i % CATEGORIES.length]);
+                writer.newLine();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int loadProducts() {
+        InMemoryProductRepository repository = new InMemoryProductRepository();
+        new FileProductLoader(repository).loadProducts(file);
+        return repository.findAll().size();
+    }
+
+    @Benchmark
+    public long loadProductsParallel() {
+        InMemoryProductRepository repository = new InMemoryProductRepository();
+        return new FileProductLoader(repository).loadProductsParallel(file).productsLoaded();
+    }
+}
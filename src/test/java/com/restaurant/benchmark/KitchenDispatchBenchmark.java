@@ -0,0 +1,85 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.KitchenTicket;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.Product;
+import com.restaurant.infrastructure.kitchen.KitchenDispatchPipeline;
+import com.restaurant.infrastructure.kitchen.StationStats;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Viernes en la noche: 8 meseros enviando líneas a cocina mientras cada estación tarda distinto
+ * (la parrilla es la más lenta). Mide el costo del envío para el mesero y cuántos tickets se aceptan
+ * o rechazan por cola llena; al final de cada iteración imprime la profundidad de cada estación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class KitchenDispatchBenchmark {
+    // Trabajo simulado por ticket en cada estación (unidades de Blackhole.consumeCPU)
+    private static final Map<String, Integer> PREPARATION_COST = Map.of(
+            "BEBIDA", 50,
+            "ENTRADA", 200,
+            "POSTRE", 100,
+            "PLATO_FUERTE", 1_000);
+    private static final String[] CATEGORIES = PREPARATION_COST.keySet().toArray(String[]::new);
+
+    @Param({"1024"})
+    private int stationCapacity;
+
+    @Param({"1", "64"})
+    private int maxBatch;
+
+    private KitchenDispatchPipeline pipeline;
+    private KitchenTicket[] tickets;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        pipeline = new KitchenDispatchPipeline((station, batch) ->
+                Blackhole.consumeCPU((long) PREPARATION_COST.get(station) * batch.size()),
+                stationCapacity, maxBatch);
+
+        tickets = new KitchenTicket[CATEGORIES.length];
+        for (int i = 0; i < CATEGORIES.length; i++) {
+            Product product = Product.builder().id(UUID.randomUUID()).name("Plato " + i).price(1_000_000).category(CATEGORIES[i]).build();
+            tickets[i] = new KitchenTicket(UUID.randomUUID(), 1 + i, new OrderItem(product, 1));
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        pipeline.close();
+        for (StationStats stats : pipeline.stats()) {
+            System.out.printf("%n  %-13s aceptados=%d rechazados=%d preparados=%d profundidad máx=%d/%d",
+                    stats.station(), stats.accepted(), stats.rejected(), stats.prepared(), stats.maxDepth(), stats.capacity());
+        }
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Counters {
+        public long accepted;
+        public long rejected;
+    }
+
+    @Benchmark
+    public boolean dispatch(Counters counters) {
+        boolean accepted = pipeline.dispatch(tickets[ThreadLocalRandom.current().nextInt(tickets.length)]);
+        if (accepted) {
+            counters.accepted++;
+        } else {
+            counters.rejected++;
+        }
+        return accepted;
+    }
+}
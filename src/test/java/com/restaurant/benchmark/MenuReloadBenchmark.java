@@ -0,0 +1,77 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.application.file.FileProductLoader;
+import com.restaurant.application.file.MenuFileWatcher;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recarga de una carta grande tras cambiar el precio de un producto: diferencia aplicada por
+ * MenuFileWatcher contra volver a cargar el archivo completo en un repositorio nuevo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MenuReloadBenchmark {
+    private static final String[] CATEGORIES = {"ENTRADA", "PLATO_FUERTE", "BEBIDA", "POSTRE"};
+
+    @Param({"10000", "100000"})
+    private int lines;
+
+    private Path file;
+    private InMemoryProductRepository repository;
+    private MenuFileWatcher watcher;
+    private int edits;
+
+    @Setup(Level.Trial)
+    public void loadMenu() throws IOException {
+        file = Files.createTempFile("menu-reload-benchmark", ".txt");
+        writeMenu(0);
+        repository = new InMemoryProductRepository();
+        watcher = new MenuFileWatcher(repository, file);
+        watcher.reload();
+    }
+
+    // Cada invocación ve el archivo con un precio distinto al ya cargado
+    @Setup(Level.Invocation)
+    public void editOnePrice() throws IOException {
+        writeMenu(++edits);
+    }
+
+    @TearDown(Level.Trial)
+    public void deleteFile() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public int reloadDiff() {
+        return watcher.reload().repriced().size();
+    }
+
+    @Benchmark
+    public long reloadFull() {
+        InMemoryProductRepository fresh = new InMemoryProductRepository();
+        new FileProductLoader(fresh).loadProducts(file);
+        return fresh.count();
+    }
+
+    private void writeMenu(int edit) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < lines; i++) {
+                long price = i == lines / 2 ? 1000 + edit : 1000 + i % 90_000;
+                writer.write("Producto " + i + ", " + price + ", " + CATEGORIES[i % CATEGORIES.length]);
+                writer.newLine();
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.repository.CouponRepository;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.domain.repository.ProductRepository;
+import com.restaurant.domain.service.DiscountService;
+import com.restaurant.infrastructure.InMemoryCouponRepository;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import com.restaurant.infrastructure.metrics.MeteredCouponRepository;
+import com.restaurant.infrastructure.metrics.MeteredOrderRepository;
+import com.restaurant.infrastructure.metrics.MeteredProductRepository;
+import com.restaurant.usecase.OrderUseCase;
+import com.restaurant.usecase.ProductUseCase;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de las métricas en el camino caliente: casos de uso sin registro (metros no-op) contra
+ * casos de uso y repositorios instrumentados con el registro de Prometheus
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    private static final int PRODUCTS = 1_000;
+
+    @Param({"none", "prometheus"})
+    private String registry;
+
+    private ProductUseCase productUseCase;
+    private OrderUseCase orderUseCase;
+    private List<Product> products;
+    private UUID orderId;
+
+    @Setup
+    public void setUp() {
+        // Un registro compuesto sin hijos entrega metros no-op: es la línea base sin métricas
+        MeterRegistry meterRegistry = registry.equals("prometheus")
+                ? new PrometheusMeterRegistry(PrometheusConfig.DEFAULT)
+                : new CompositeMeterRegistry();
+
+        ProductRepository productRepository = new InMemoryProductRepository();
+        OrderRepository orderRepository = new InMemoryOrderRepository();
+        CouponRepository couponRepository = new InMemoryCouponRepository();
+        if (registry.equals("prometheus")) {
+            productRepository = new MeteredProductRepository(productRepository, meterRegistry);
+            orderRepository = new MeteredOrderRepository(orderRepository, meterRegistry);
+            couponRepository = new MeteredCouponRepository(couponRepository, meterRegistry);
+        }
+
+        products = new ArrayList<>(PRODUCTS);
+        for (int i = 0; i < PRODUCTS; i++) {
+            products.add(productRepository.save(Product.builder()
+                    .name("Producto " + i)
+                    .price(10_000 + i)
+                    .category("PLATO_FUERTE")
+                    .build()));
+        }
+
+        productUseCase = new ProductUseCase(productRepository, meterRegistry);
+        orderUseCase = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository),
+                ticket -> true, meterRegistry);
+        Order order = orderUseCase.createOrder(1);
+        orderId = order.getId();
+    }
+
+    @Benchmark
+    public Object getProductById() {
+        Product product = products.get(ThreadLocalRandom.current().nextInt(PRODUCTS));
+        return productUseCase.getProductById(product.getId());
+    }
+
+    // Siempre el mismo plato: el pedido no crece en líneas, solo en cantidad
+    @Benchmark
+    public Order addItemToOrder() {
+        return orderUseCase.addItemToOrder(orderId, products.get(0), 1);
+    }
+}
@@ -0,0 +1,77 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Money;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Subtotal de un pedido (precio * cantidad por línea) más un descuento porcentual,
+ * con montos en long (Money), double y BigDecimal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyArithmeticBenchmark {
+    private static final double DISCOUNT_PERCENT = 7.5;
+    private static final BigDecimal DISCOUNT_RATE = new BigDecimal("0.075");
+
+    @Param({"100", "1000"})
+    private int lines;
+
+    private long[] minorPrices;
+    private double[] doublePrices;
+    private BigDecimal[] decimalPrices;
+    private int[] quantities;
+
+    @Setup
+    public void setUp() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        minorPrices = new long[lines];
+        doublePrices = new double[lines];
+        decimalPrices = new BigDecimal[lines];
+        quantities = new int[lines];
+
+        for (int i = 0; i < lines; i++) {
+            long cents = random.nextLong(100, 5_000_000);
+            minorPrices[i] = cents;
+            doublePrices[i] = cents / 100.0;
+            decimalPrices[i] = BigDecimal.valueOf(cents, 2);
+            quantities[i] = random.nextInt(1, 10);
+        }
+    }
+
+    @Benchmark
+    public long fixedPoint() {
+        long subtotal = Money.ZERO;
+        for (int i = 0; i < lines; i++) {
+            subtotal = Money.add(subtotal, Money.multiply(minorPrices[i], quantities[i]));
+        }
+        return Money.subtract(subtotal, Money.percentOf(subtotal, DISCOUNT_PERCENT));
+    }
+
+    @Benchmark
+    public double primitiveDouble() {
+        double subtotal = 0;
+        for (int i = 0; i < lines; i++) {
+            subtotal += doublePrices[i] * quantities[i];
+        }
+        return subtotal - subtotal * (DISCOUNT_PERCENT / 100);
+    }
+
+    @Benchmark
+    public BigDecimal bigDecimal() {
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int i = 0; i < lines; i++) {
+            subtotal = subtotal.add(decimalPrices[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        BigDecimal discount = subtotal.multiply(DISCOUNT_RATE).setScale(2, RoundingMode.HALF_UP);
+        return subtotal.subtract(discount);
+    }
+}
@@ -0,0 +1,73 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.service.DiscountService;
+import com.restaurant.infrastructure.InMemoryCouponRepository;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import com.restaurant.usecase.OrderUseCase;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Varios meseros agregando platos a los mismos pedidos: actualización optimista (compareAndSet con reintento)
+ * contra un lock global alrededor de leer-modificar-guardar
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class OrderContentionBenchmark {
+
+    // 1: todos los hilos sobre el mismo pedido; 64: contención baja
+    @Param({"1", "64"})
+    private int hotOrders;
+
+    private final Object globalLock = new Object();
+    private InMemoryOrderRepository lockedRepository;
+    private OrderUseCase orderUseCase;
+    private UUID[] orderIds;
+    private Product[] products;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+        orderUseCase = new OrderUseCase(new InMemoryOrderRepository(), couponRepository, new DiscountService(couponRepository));
+        lockedRepository = new InMemoryOrderRepository();
+
+        // Pocos productos: las líneas se fusionan y los pedidos no crecen durante la medición
+        products = new Product[8];
+        for (int i = 0; i < products.length; i++) {
+            products[i] = Product.builder().id(UUID.randomUUID()).name("Plato " + i).price(1_500_000).category("PLATO_FUERTE").build();
+        }
+        orderIds = new UUID[hotOrders];
+        for (int i = 0; i < hotOrders; i++) {
+            orderIds[i] = orderUseCase.createOrder(1 + i).getId();
+            lockedRepository.save(new Order(orderIds[i], 1 + i));
+        }
+    }
+
+    @Benchmark
+    public Order optimisticAddItem() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return orderUseCase.addItemToOrder(orderIds[random.nextInt(hotOrders)], products[random.nextInt(products.length)], 1);
+    }
+
+    @Benchmark
+    public Order globalLockAddItem() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        UUID orderId = orderIds[random.nextInt(hotOrders)];
+        Product product = products[random.nextInt(products.length)];
+        synchronized (globalLock) {
+            Order order = lockedRepository.findById(orderId).orElseThrow();
+            order.addItem(product, 1);
+            return lockedRepository.save(order);
+        }
+    }
+}
@@ -0,0 +1,310 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.RestaurantSystemApplication;
+import com.restaurant.application.file.FileCouponLoader;
+import com.restaurant.application.file.FileProductLoader;
+import com.restaurant.domain.model.Coupon;
+import com.restaurant.domain.model.MenuSnapshot;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.repository.CouponRepository;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.domain.repository.ProductRepository;
+import com.restaurant.domain.service.DiscountService;
+import com.restaurant.domain.service.FloorState;
+import com.restaurant.domain.service.KitchenDispatcher;
+import com.restaurant.domain.service.SalesAnalytics;
+import com.restaurant.infrastructure.InMemoryCouponRepository;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import com.restaurant.infrastructure.journal.ArchivingOrderRepository;
+import com.restaurant.infrastructure.journal.JournalingOrderRepository;
+import com.restaurant.usecase.OrderUseCase;
+import com.restaurant.usecase.ProductUseCase;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.composite.CompositeMeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Simulación de carga del flujo de pedidos sobre los casos de uso (sin HTTP): meseros virtuales
+ * abren un pedido en una mesa libre, consultan la carta, agregan platos (uno a uno o en lote,
+ * algunos buscados por nombre), entregan y cierran con o sin cupón; una parte se cancela.
+ * Se repite con cada implementación de repositorio y muestra el throughput y los percentiles
+ * p50/p99/p99.9 de cada operación, tomados de los mismos timers que publican los casos de uso.
+ *
+ * mvn test-compile exec:java -Dexec.mainClass=com.restaurant.benchmark.OrderFlowLoadSimulator -Dexec.classpathScope=test
+ * Parámetros opcionales: -Drepositories=memory,journal,archive,jpa -Dwaiters=16 -Dtables=50 -Dseconds=10
+ * -Dwarmup=3 -Ditems=4 -DbatchRate=0.5 -DcouponRate=0.3 -DcancelRate=0.05
+ */
+public class OrderFlowLoadSimulator {
+    private static final String[] METRICS = {"restaurant.orders.operations", "restaurant.products.operations"};
+    // Algunos meseros escriben mal el cupón: el cierre falla y se vuelve a cerrar sin descuento
+    private static final String INVALID_COUPON = "VENCIDO";
+    private static final double INVALID_COUPON_RATE = 0.05;
+
+    private final int waiters;
+    private final int tables;
+    private final int items;
+    private final double batchRate;
+    private final double couponRate;
+    private final double cancelRate;
+
+    private OrderFlowLoadSimulator(int waiters, int tables, int items, double batchRate, double couponRate,
+                                   double cancelRate) {
+        this.waiters = waiters;
+        this.tables = tables;
+        this.items = items;
+        this.batchRate = batchRate;
+        this.couponRate = couponRate;
+        this.cancelRate = cancelRate;
+    }
+
+    public static void main(String[] args) throws Exception {
+        String[] repositories = System.getProperty("repositories", "memory,journal,archive,jpa").split(",");
+        int seconds = Integer.getInteger("seconds", 10);
+        int warmup = Integer.getInteger("warmup", 3);
+        OrderFlowLoadSimulator simulator = new OrderFlowLoadSimulator(
+                Integer.getInteger("waiters", 16),
+                Integer.getInteger("tables", FloorState.DEFAULT_TABLES),
+                Integer.getInteger("items", 4),
+                Double.parseDouble(System.getProperty("batchRate", "0.5")),
+                Double.parseDouble(System.getProperty("couponRate", "0.3")),
+                Double.parseDouble(System.getProperty("cancelRate", "0.05")));
+
+        for (String repository : repositories) {
+            try (Repositories repos = Repositories.open(repository.trim())) {
+                // El calentamiento usa metros no-op: los percentiles solo cubren la medición
+                simulator.run(repos, new CompositeMeterRegistry(), warmup);
+                SimpleMeterRegistry registry = newRegistry();
+                Result result = simulator.run(repos, registry, seconds);
+                simulator.report(repository.trim(), result, registry);
+            }
+        }
+        System.exit(0);
+    }
+
+    private Result run(Repositories repos, MeterRegistry registry, int seconds) throws Exception {
+        ProductUseCase productUseCase = new ProductUseCase(repos.products(), registry);
+        OrderUseCase orderUseCase = new OrderUseCase(repos.orders(), repos.coupons(),
+                new DiscountService(repos.coupons()), KitchenDispatcher.NONE, new SalesAnalytics(),
+                new FloorState(tables), registry);
+        List<String> coupons = repos.coupons().getAllCoupons().stream().map(Coupon::code).toList();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService executor = Executors.newFixedThreadPool(waiters);
+        List<Future<Long>> results = new ArrayList<>();
+        long start = System.nanoTime();
+        for (int w = 0; w < waiters; w++) {
+            results.add(executor.submit(() -> {
+                long cycles = 0;
+                // Cada ciclo termina con el pedido cerrado o cancelado: al final todas las mesas quedan libres
+                while (System.nanoTime() < deadline) {
+                    if (serveTable(orderUseCase, productUseCase, coupons)) {
+                        cycles++;
+                    }
+                }
+                return cycles;
+            }));
+        }
+        long cycles = 0;
+        for (Future<Long> result : results) {
+            cycles += result.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        return new Result(cycles, elapsed);
+    }
+
+    // Un pedido completo; false si la mesa elegida ya estaba ocupada
+    private boolean serveTable(OrderUseCase orderUseCase, ProductUseCase productUseCase, List<String> coupons) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Order order;
+        try {
+            order = orderUseCase.createOrder(random.nextInt(1, tables + 1));
+        } catch (IllegalStateException e) {
+            return false;
+        }
+
+        MenuSnapshot menu = productUseCase.getMenu();
+        if (random.nextBoolean()) {
+            List<String> categories = new ArrayList<>(menu.byCategory().keySet());
+            productUseCase.getProductsByCategory(categories.get(random.nextInt(categories.size())));
+        }
+
+        List<OrderItem> lines = new ArrayList<>(items);
+        for (int i = 0; i < items; i++) {
+            Product product = menu.products().get(random.nextInt(menu.products().size()));
+            if (random.nextInt(4) == 0) {
+                product = productUseCase.findProductByName(product.getName()).orElse(product);
+            }
+            lines.add(new OrderItem(product, random.nextInt(1, 4)));
+        }
+        if (random.nextDouble() < batchRate) {
+            orderUseCase.addItemsToOrder(order.getId(), lines);
+        } else {
+            for (OrderItem line : lines) {
+                orderUseCase.addItemToOrder(order.getId(), line.product(), line.quantity());
+            }
+        }
+
+        if (random.nextDouble() < cancelRate) {
+            orderUseCase.cancelOrder(order.getId());
+            return true;
+        }
+
+        orderUseCase.markOrderAsDelivered(order.getId());
+        String coupon = null;
+        if (!coupons.isEmpty() && random.nextDouble() < couponRate) {
+            coupon = random.nextDouble() < INVALID_COUPON_RATE
+                    ? INVALID_COUPON
+                    : coupons.get(random.nextInt(coupons.size()));
+        }
+        try {
+            orderUseCase.closeOrder(order.getId(), coupon);
+        } catch (IllegalArgumentException e) {
+            orderUseCase.closeOrder(order.getId(), null);
+        }
+        return true;
+    }
+
+    private void report(String repository, Result result, MeterRegistry registry) {
+        List<Timer> timers = Stream.of(METRICS)
+                .flatMap(name -> registry.find(name).timers().stream())
+                .filter(timer -> timer.count() > 0)
+                .sorted(Comparator.comparing((Timer timer) -> timer.getId().getName())
+                        .thenComparing(timer -> timer.getId().getTag("operation"))
+                        .thenComparing(timer -> timer.getId().getTag("outcome")))
+                .toList();
+        long operations = timers.stream().mapToLong(Timer::count).sum();
+        double elapsedSeconds = result.elapsedNanos() / 1e9;
+
+        System.out.printf("%n=== %s: %d meseros, %d mesas, %.1f s ===%n", repository, waiters, tables, elapsedSeconds);
+        System.out.printf("Pedidos atendidos: %d (%.0f/s), operaciones: %d (%.0f/s)%n",
+                result.cycles(), result.cycles() / elapsedSeconds, operations, operations / elapsedSeconds);
+        System.out.printf("%-10s %-16s %-8s %10s %10s %10s %10s %10s%n",
+                "", "operación", "result.", "cantidad", "p50 µs", "p99 µs", "p99.9 µs", "máx µs");
+        for (Timer timer : timers) {
+            Meter.Id id = timer.getId();
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            System.out.printf("%-10s %-16s %-8s %10d %10.1f %10.1f %10.1f %10.1f%n",
+                    id.getName().contains("orders") ? "pedidos" : "productos",
+                    id.getTag("operation"), id.getTag("outcome"), timer.count(),
+                    percentile(snapshot, 0.5), percentile(snapshot, 0.99), percentile(snapshot, 0.999),
+                    timer.max(TimeUnit.MICROSECONDS));
+        }
+    }
+
+    /**
+     * Registro con percentiles en todos los timers. La ventana de los percentiles y del máximo
+     * dura más que cualquier corrida: cubren toda la medición en lugar de los últimos minutos.
+     */
+    private static SimpleMeterRegistry newRegistry() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        registry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                return DistributionStatisticConfig.builder()
+                        .percentiles(0.5, 0.99, 0.999)
+                        .percentilePrecision(2)
+                        .expiry(Duration.ofDays(1))
+                        .bufferLength(1)
+                        .build()
+                        .merge(config);
+            }
+        });
+        return registry;
+    }
+
+    private static double percentile(HistogramSnapshot snapshot, double percentile) {
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            if (value.percentile() == percentile) {
+                return value.value(TimeUnit.MICROSECONDS);
+            }
+        }
+        return Double.NaN;
+    }
+
+    private record Result(long cycles, long elapsedNanos) {
+    }
+
+    // Repositorios de una corrida: en memoria, con journal, con journal y archivo, o JPA/H2
+    private record Repositories(ProductRepository products, OrderRepository orders, CouponRepository coupons,
+                                Closeable resources) implements Closeable {
+
+        static Repositories open(String repository) throws IOException {
+            if (repository.equals("jpa")) {
+                // La aplicación carga la carta y los cupones al arrancar
+                ConfigurableApplicationContext context = new SpringApplicationBuilder(RestaurantSystemApplication.class)
+                        .web(WebApplicationType.NONE)
+                        .run("--restaurant.repository=jpa", "--spring.main.banner-mode=off", "--logging.level.root=warn");
+                return new Repositories(context.getBean(ProductRepository.class), context.getBean(OrderRepository.class),
+                        context.getBean(CouponRepository.class), context::close);
+            }
+
+            OrderRepository orders;
+            Closeable resources = () -> { };
+            switch (repository) {
+                case "memory" -> orders = new InMemoryOrderRepository();
+                case "journal" -> {
+                    Path directory = Files.createTempDirectory("load-journal");
+                    JournalingOrderRepository journal = new JournalingOrderRepository(directory);
+                    orders = journal;
+                    resources = () -> closeAndDelete(journal, directory);
+                }
+                case "archive" -> {
+                    Path directory = Files.createTempDirectory("load-archive");
+                    ArchivingOrderRepository archive = new ArchivingOrderRepository(
+                            new JournalingOrderRepository(directory.resolve("journal")), directory.resolve("archive"));
+                    orders = archive;
+                    resources = () -> closeAndDelete(archive, directory);
+                }
+                default -> throw new IllegalArgumentException("Unknown repository: " + repository);
+            }
+
+            ProductRepository products = new InMemoryProductRepository();
+            CouponRepository coupons = new InMemoryCouponRepository();
+            new FileProductLoader(products).loadProducts("menu.txt");
+            new FileCouponLoader(coupons).loadCoupons("coupons.txt");
+            return new Repositories(products, orders, coupons, resources);
+        }
+
+        @Override
+        public void close() throws IOException {
+            resources.close();
+        }
+
+        private static void closeAndDelete(Closeable repository, Path directory) throws IOException {
+            repository.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
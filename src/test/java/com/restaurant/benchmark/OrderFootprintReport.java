@@ -0,0 +1,85 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.Product;
+import com.restaurant.infrastructure.journal.JournalingOrderRepository;
+import org.openjdk.jol.info.ClassLayout;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Memoria que ocupan los pedidos medida con JOL: bytes por línea de pedido en los pedidos armados
+ * con los productos de la carta (compartidos) y en los recuperados desde el journal (cada línea
+ * decodificada por separado). La carta no se cuenta.
+ *
+ * mvn test-compile exec:java -Dexec.mainClass=com.restaurant.benchmark.OrderFootprintReport -Dexec.classpathScope=test
+ * Parámetros opcionales: -Dorders=10000 -DlinesPerOrder=8 -Dmenu=200
+ */
+public class OrderFootprintReport {
+    private static final String[] CATEGORIES = {"ENTRADA", "PLATO_FUERTE", "BEBIDA", "POSTRE"};
+
+    public static void main(String[] args) throws IOException {
+        // JOL no obtiene los offsets de los campos de un record sin esta opción; debe definirse antes de usarlo
+        System.setProperty("jol.magicFieldOffset", "true");
+        int orders = Integer.getInteger("orders", 10_000);
+        int linesPerOrder = Integer.getInteger("linesPerOrder", 8);
+        int menuSize = Integer.getInteger("menu", 200);
+
+        List<Product> menu = new ArrayList<>(menuSize);
+        for (int i = 0; i < menuSize; i++) {
+            // Categoría en un String nuevo por producto, como la deja el lector de la carta
+            menu.add(Product.builder()
+                    .id(UUID.randomUUID())
+                    .name("Producto " + i)
+                    .price(100_000 + i * 100L)
+                    .category(new String(CATEGORIES[i % CATEGORIES.length]))
+                    .build());
+        }
+
+        List<Order> built = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            Order order = new Order(1 + i % 50);
+            for (int line = 0; line < linesPerOrder; line++) {
+                order.addItem(menu.get((i * 7 + line * 13) % menuSize), 1 + line % 3);
+            }
+            built.add(order);
+        }
+        long lines = (long) orders * linesPerOrder;
+
+        System.out.println(ClassLayout.parseClass(Product.class).toPrintable());
+        System.out.println(ClassLayout.parseClass(OrderItem.class).toPrintable());
+        System.out.println(ClassLayout.parseClass(Order.class).toPrintable());
+
+        long menuBytes = GraphLayout.parseInstance(menu).totalSize();
+        System.out.printf("Carta: %d productos, %d bytes (%d por producto)%n", menuSize, menuBytes, menuBytes / menuSize);
+        report("Pedidos armados con la carta", GraphLayout.parseInstance(built, menu).totalSize() - menuBytes, orders, lines);
+
+        Path directory = Files.createTempDirectory("order-footprint");
+        try {
+            try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+                built.forEach(repository::save);
+            }
+            try (JournalingOrderRepository recovered = new JournalingOrderRepository(directory)) {
+                report("Pedidos recuperados del journal", GraphLayout.parseInstance(recovered.findAll()).totalSize(),
+                        orders, lines);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(directory)) {
+                files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+            }
+        }
+    }
+
+    private static void report(String label, long bytes, int orders, long lines) {
+        System.out.printf("%s: %d bytes, %d por pedido, %d por línea%n", label, bytes, bytes / orders, bytes / lines);
+    }
+}
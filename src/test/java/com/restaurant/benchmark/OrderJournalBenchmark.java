@@ -0,0 +1,125 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.infrastructure.journal.JournalingOrderRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Latencia de escritura del journal de pedidos (percentiles con SampleTime, varios escritores
+ * concurrentes para aprovechar el commit agrupado) y tiempo de recuperación de un journal grande.
+ */
+@Fork(1)
+public class OrderJournalBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Journal {
+        JournalingOrderRepository repository;
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void open() throws IOException {
+            directory = Files.createTempDirectory("order-journal-bench");
+            repository = new JournalingOrderRepository(directory);
+        }
+
+        @TearDown(Level.Trial)
+        public void close() throws IOException {
+            repository.close();
+            deleteRecursively(directory);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Waiter {
+        Order order;
+
+        @Setup(Level.Iteration)
+        public void newOrder() {
+            order = new Order(1);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Recovery {
+        @Param({"1000000"})
+        int entries;
+
+        Path directory;
+
+        @Setup(Level.Trial)
+        public void writeJournal() throws IOException {
+            directory = Files.createTempDirectory("order-journal-recovery");
+            try (JournalingOrderRepository repository = new JournalingOrderRepository(directory, Integer.MAX_VALUE)) {
+                int ordersCount = Math.max(1, entries / 5);
+                IntStream.range(0, ordersCount).parallel().forEach(i -> {
+                    Order order = repository.save(new Order(1 + i % 50));
+                    order.addItem(PRODUCTS[i % PRODUCTS.length], 1);
+                    repository.save(order);
+                    order.addItem(PRODUCTS[(i + 1) % PRODUCTS.length], 2);
+                    order.changeStatus(OrderStatus.IN_PROGRESS);
+                    repository.save(order);
+                    order.changeStatus(OrderStatus.DELIVERED);
+                    repository.save(order);
+                    order.applyDiscount(5);
+                    order.changeStatus(OrderStatus.CLOSED);
+                    repository.save(order);
+                });
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void delete() throws IOException {
+            deleteRecursively(directory);
+        }
+    }
+
+    private static final Product[] PRODUCTS = IntStream.range(0, 32)
+            .mapToObj(i -> Product.builder()
+                    .id(UUID.randomUUID())
+                    .name("Producto " + i)
+                    .price(500_000 + i * 10_000L)
+                    .category("PLATO_FUERTE")
+                    .build())
+            .toArray(Product[]::new);
+
+    @Benchmark
+    @BenchmarkMode(Mode.SampleTime)
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    @Warmup(iterations = 2, time = 2)
+    @Measurement(iterations = 3, time = 5)
+    @Threads(8)
+    public Order addItemAndSave(Journal journal, Waiter waiter) {
+        waiter.order.addItem(PRODUCTS[waiter.order.getItems().size() % PRODUCTS.length], 1);
+        return journal.repository.save(waiter.order);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 1)
+    @Measurement(iterations = 3)
+    public int recover(Recovery recovery) throws IOException {
+        try (JournalingOrderRepository repository = new JournalingOrderRepository(recovery.directory, Integer.MAX_VALUE)) {
+            return repository.findByStatus(OrderStatus.CLOSED).size();
+        }
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InMemoryOrderRepository con varios meseros escribiendo a la vez: altas de pedidos,
+ * actualizaciones de pedidos existentes (cambio de estado) y lecturas por mesa
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Threads(8)
+@Fork(1)
+public class OrderRepositoryBenchmark {
+    private static final int TABLES = 50;
+
+    @Param({"10000"})
+    private int existingOrders;
+
+    private InMemoryOrderRepository repository;
+    private Order[] orders;
+    private Product product;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        repository = new InMemoryOrderRepository();
+        product = Product.builder()
+                .id(UUID.randomUUID())
+                .name("Bandeja paisa")
+                .price(3_200_000)
+                .category("PLATO_FUERTE")
+                .build();
+
+        orders = new Order[existingOrders];
+        for (int i = 0; i < existingOrders; i++) {
+            Order order = new Order(1 + i % TABLES);
+            order.addItem(product, 1);
+            orders[i] = repository.save(order);
+        }
+    }
+
+    @Benchmark
+    public Order saveNewOrder() {
+        Order order = new Order(1 + ThreadLocalRandom.current().nextInt(TABLES));
+        order.addItem(product, 2);
+        return repository.save(order);
+    }
+
+    // Cambiar de estado mueve el pedido entre los índices por estado
+    @Benchmark
+    public Order updateExistingOrder() {
+        Order order = orders[ThreadLocalRandom.current().nextInt(orders.length)];
+        order.changeStatus(order.getStatus() == OrderStatus.IN_PROGRESS ? OrderStatus.DELIVERED : OrderStatus.IN_PROGRESS);
+        return repository.save(order);
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(6)
+    public Order mixedWriters() {
+        return saveNewOrder();
+    }
+
+    @Benchmark
+    @Group("mixed")
+    @GroupThreads(2)
+    public List<Order> mixedTableReaders() {
+        return repository.findByTableNumber(1 + ThreadLocalRandom.current().nextInt(TABLES));
+    }
+}
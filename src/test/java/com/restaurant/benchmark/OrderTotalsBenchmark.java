@@ -0,0 +1,74 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construcción de pedidos de distintos tamaños: totales acumulados contra recalcular el subtotal
+ * en cada línea, y consulta del subtotal de un pedido ya armado
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderTotalsBenchmark {
+
+    @Param({"5", "100", "500"})
+    private int lines;
+
+    private List<Product> products;
+    private Order builtOrder;
+
+    @Setup
+    public void setUp() {
+        products = new ArrayList<>(lines);
+        for (int i = 0; i < lines; i++) {
+            products.add(Product.builder()
+                    .id(UUID.randomUUID())
+                    .name("Producto " + i)
+                    .price(100_000 + i)
+                    .category("PLATO_FUERTE")
+                    .build());
+        }
+
+        builtOrder = new Order(1);
+        for (Product product : products) {
+            builtOrder.addItem(product, 2);
+        }
+    }
+
+    @Benchmark
+    public long calculateSubtotal() {
+        return builtOrder.calculateSubtotal();
+    }
+
+    @Benchmark
+    public long runningTotals() {
+        Order order = new Order(1);
+        for (Product product : products) {
+            order.addItem(product, 2);
+        }
+        return order.calculateTotal();
+    }
+
+    // Reproduce la implementación anterior: cada addItem vuelve a recorrer todas las líneas
+    @Benchmark
+    public long restreamPerItem() {
+        List<OrderItem> items = new ArrayList<>();
+        long total = 0;
+        for (Product product : products) {
+            items.add(new OrderItem(product, 2));
+            total = items.stream().mapToLong(OrderItem::getSubtotal).sum();
+        }
+        return total;
+    }
+}
@@ -0,0 +1,66 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Product;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compara la búsqueda por categoría indexada contra el recorrido completo del catálogo,
+ * y mide findAll (la carta completa que se muestra en consola y en la API)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ProductCategoryBenchmark {
+
+    @Param({"1000", "50000"})
+    private int catalogSize;
+
+    @Param({"20"})
+    private int categories;
+
+    private InMemoryProductRepository repository;
+    private Map<UUID, Product> scanCatalog;
+    private String category;
+
+    @Setup
+    public void setUp() {
+        repository = new InMemoryProductRepository();
+        scanCatalog = new ConcurrentHashMap<>();
+
+        for (int i = 0; i < catalogSize; i++) {
+            Product product = repository.save(Product.builder()
+                    .name("Producto " + i)
+                    .price(1000 + i)
+                    .category("CATEGORIA_" + (i % categories))
+                    .build());
+            scanCatalog.put(product.getId(), product);
+        }
+        category = "categoria_" + (categories / 2);
+    }
+
+    @Benchmark
+    public List<Product> indexedLookup() {
+        return repository.findByCategory(category);
+    }
+
+    @Benchmark
+    public List<Product> findAll() {
+        return repository.findAll();
+    }
+
+    // Reproduce la implementación anterior: recorrer todos los valores del mapa
+    @Benchmark
+    public List<Product> fullScan() {
+        return scanCatalog.values().stream()
+                .filter(p -> p.getCategory().equalsIgnoreCase(category))
+                .toList();
+    }
+}
@@ -0,0 +1,54 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Product;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Importación de catálogos: saveAll en bloque contra un save por producto
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ProductSaveAllBenchmark {
+    private static final String[] CATEGORIES = {"ENTRADA", "PLATO_FUERTE", "BEBIDA", "POSTRE"};
+
+    @Param({"10000", "200000"})
+    private int products;
+
+    private List<Product> catalog;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        catalog = new ArrayList<>(products);
+        for (int i = 0; i < products; i++) {
+            catalog.add(Product.builder()
+                    .name("Producto " + i)
+                    .price(100_000 + i)
+                    .category(CATEGORIES[i % CATEGORIES.length])
+                    .build());
+        }
+    }
+
+    @Benchmark
+    public InMemoryProductRepository bulkSaveAll() {
+        InMemoryProductRepository repository = new InMemoryProductRepository();
+        repository.saveAll(catalog);
+        return repository;
+    }
+
+    // Reproduce la implementación anterior: un save por producto
+    @Benchmark
+    public InMemoryProductRepository saveOneByOne() {
+        InMemoryProductRepository repository = new InMemoryProductRepository();
+        catalog.forEach(repository::save);
+        return repository;
+    }
+}
@@ -0,0 +1,120 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.application.receipt.ReceiptExporter;
+import com.restaurant.application.receipt.ReceiptRenderer;
+import com.restaurant.domain.model.Money;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Recibos: String.format con NumberFormat (como la consola) contra ReceiptRenderer, para un recibo
+ * y para exportar un turno completo a archivo. Con -prof gc se ven las asignaciones por operación.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReceiptBenchmark {
+    private static final int SHIFT_RECEIPTS = 5_000;
+
+    @Param({"5", "20"})
+    private int lines;
+
+    private final NumberFormat currencyFormat = NumberFormat.getCurrencyInstance(ReceiptRenderer.DEFAULT_LOCALE);
+    private final ReceiptRenderer renderer = new ReceiptRenderer();
+    private final ReceiptExporter exporter = new ReceiptExporter();
+    private Order order;
+    private List<Order> shift;
+    private Path file;
+
+    @Setup
+    public void setUp() throws IOException {
+        shift = new ArrayList<>(SHIFT_RECEIPTS);
+        for (int o = 0; o < SHIFT_RECEIPTS; o++) {
+            Order closed = new Order(o % 40 + 1);
+            for (int i = 0; i < lines; i++) {
+                closed.addItem(Product.builder()
+                        .id(UUID.randomUUID())
+                        .name("Producto " + i)
+                        .price(1_500_000 + i * 1_050)
+                        .category("PLATO_FUERTE")
+                        .build(), 1 + i % 3);
+            }
+            closed.applyCouponDiscount(10, closed.calculateSubtotal() / 10);
+            closed.changeStatus(OrderStatus.CLOSED);
+            shift.add(closed);
+        }
+        order = shift.get(0);
+        file = Files.createTempFile("recibos", ".txt");
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public String formatReceipt() {
+        return formattedReceipt(order);
+    }
+
+    @Benchmark
+    public String orderPrintDetails() {
+        return order.printDetails();
+    }
+
+    @Benchmark
+    public String rendererReceipt() {
+        return renderer.renderReceipt(order);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void exportShiftWithFormat() throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (Order closed : shift) {
+                writer.write(formattedReceipt(closed));
+            }
+        }
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public int exportShiftWithRenderer() {
+        return exporter.export(file, shift);
+    }
+
+    // Mismo texto que armaba OrderConsoleAdapter.printReceipt
+    private String formattedReceipt(Order order) {
+        StringBuilder text = new StringBuilder("\n=== 🧾 RECIBO DE PAGO ===\n");
+        text.append("\n=================================\n");
+        text.append(String.format("📋 Pedido #%s\n", order.getId()));
+        text.append(String.format("🪑 Mesa: #%d\n", order.getTableNumber()));
+        text.append(String.format("📊 Estado: %s\n", "💰 Cerrado/Pagado"));
+        text.append("\n🍽️ Productos:\n");
+        order.getItems().forEach(item -> text.append(String.format("- %2d x %-20s %10s\n",
+                item.quantity(), item.product().getName(),
+                currencyFormat.format(Money.toBigDecimal(item.product().getPrice())))));
+        text.append("\n💵 Subtotal: ").append(currencyFormat.format(Money.toBigDecimal(order.calculateSubtotal()))).append('\n');
+        text.append(String.format("🎫 Descuento aplicado: -%s (%.2f%%)\n",
+                currencyFormat.format(Money.toBigDecimal(order.getDiscountAmount())), order.getDiscountPercentage()));
+        text.append("=================================\n");
+        text.append(String.format("\n💰 TOTAL A PAGAR: %s\n", currencyFormat.format(Money.toBigDecimal(order.calculateTotal()))));
+        return text.toString();
+    }
+}
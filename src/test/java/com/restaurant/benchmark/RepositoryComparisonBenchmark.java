@@ -0,0 +1,111 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.RestaurantSystemApplication;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.repository.OrderRepository;
+import com.restaurant.domain.repository.ProductRepository;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import com.restaurant.infrastructure.InMemoryProductRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repositorios en memoria contra los JPA/H2 para las operaciones más frecuentes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryComparisonBenchmark {
+    private static final String[] CATEGORIES = {"ENTRADA", "PLATO_FUERTE", "BEBIDA", "POSTRE"};
+
+    @Param({"memory", "jpa"})
+    private String repository;
+
+    @Param({"500"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private ProductRepository productRepository;
+    private OrderRepository orderRepository;
+    private List<Product> menu;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        if (repository.equals("jpa")) {
+            context = new SpringApplicationBuilder(RestaurantSystemApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--restaurant.repository=jpa", "--spring.main.banner-mode=off", "--logging.level.root=warn");
+            productRepository = context.getBean(ProductRepository.class);
+            orderRepository = context.getBean(OrderRepository.class);
+        } else {
+            productRepository = new InMemoryProductRepository();
+            orderRepository = new InMemoryOrderRepository();
+        }
+
+        productRepository.saveAll(newProducts(2_000));
+        menu = productRepository.findAll();
+        for (int i = 0; i < 1_000; i++) {
+            saveOrder();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (context != null) {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int saveAllProducts() {
+        List<Product> batch = newProducts(batchSize);
+        productRepository.saveAll(batch);
+        return batch.size();
+    }
+
+    @Benchmark
+    public List<Product> findByCategory() {
+        return productRepository.findByCategory(CATEGORIES[ThreadLocalRandom.current().nextInt(CATEGORIES.length)]);
+    }
+
+    @Benchmark
+    public Order saveOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Order order = new Order(random.nextInt(1, 51));
+        for (int i = 0; i < 5; i++) {
+            order.addItem(menu.get(random.nextInt(menu.size())), random.nextInt(1, 4));
+        }
+        order.changeStatus(OrderStatus.IN_PROGRESS);
+        return orderRepository.save(order);
+    }
+
+    @Benchmark
+    public List<Order> findInProgressOrders() {
+        return orderRepository.findByStatus(OrderStatus.IN_PROGRESS);
+    }
+
+    private static List<Product> newProducts(int count) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        List<Product> products = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            products.add(Product.builder()
+                    .name("Producto " + random.nextLong())
+                    .price(random.nextLong(100_000, 5_000_000))
+                    .category(CATEGORIES[i % CATEGORIES.length])
+                    .build());
+        }
+        return products;
+    }
+}
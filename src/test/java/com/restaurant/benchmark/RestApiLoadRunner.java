@@ -0,0 +1,177 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.RestaurantSystemApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Prueba de carga de la API REST: levanta la aplicación en un puerto libre y simula miles de
+ * clientes concurrentes (meseros) que crean pedidos, agregan platos y los cierran.
+ * Al final muestra el throughput y los percentiles de latencia.
+ *
+ * mvn test-compile exec:java -Dexec.mainClass=com.restaurant.benchmark.RestApiLoadRunner -Dexec.classpathScope=test
+ * Parámetros opcionales: -Dclients=2000 -Dcycles=10
+ */
+public class RestApiLoadRunner {
+    private static final String USER = "mesero";
+    private static final String PASSWORD = "load-test";
+    private static final Pattern ID = Pattern.compile("\"id\":\"([0-9a-f-]{36})\"");
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final String authorization;
+    private final long[] latencies;
+    private final AtomicInteger recorded = new AtomicInteger();
+    private final AtomicInteger failures = new AtomicInteger();
+    private List<String> productIds;
+
+    private RestApiLoadRunner(HttpClient client, String baseUrl, int expectedRequests) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+        this.authorization = "Basic " + Base64.getEncoder()
+                .encodeToString((USER + ":" + PASSWORD).getBytes(StandardCharsets.UTF_8));
+        this.latencies = new long[expectedRequests];
+    }
+
+    public static void main(String[] args) throws Exception {
+        int clients = Integer.getInteger("clients", 2_000);
+        int cycles = Integer.getInteger("cycles", 10);
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(RestaurantSystemApplication.class)
+                .run("--server.port=0",
+                        "--spring.security.user.name=" + USER,
+                        "--spring.security.user.password=" + PASSWORD,
+                        "--spring.main.banner-mode=off",
+                        "--logging.level.root=warn");
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+        ExecutorService executor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        try {
+            HttpClient client = HttpClient.newBuilder()
+                    .executor(executor)
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            // Cada ciclo: crear pedido + 3 platos + entregar + cerrar
+            RestApiLoadRunner runner = new RestApiLoadRunner(client, "http://localhost:" + port, clients * cycles * 6);
+            runner.loadMenu();
+            runner.run(clients, cycles);
+        } finally {
+            executor.shutdown();
+            context.close();
+        }
+    }
+
+    private void loadMenu() throws Exception {
+        HttpResponse<String> response = client.send(request("/api/menu").GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        productIds = ID.matcher(response.body()).results().map(match -> match.group(1)).toList();
+        if (productIds.isEmpty()) {
+            throw new IllegalStateException("El menú está vacío (HTTP " + response.statusCode() + ")");
+        }
+    }
+
+    private void run(int clients, int cycles) {
+        long start = System.nanoTime();
+        CompletableFuture<?>[] waiters = new CompletableFuture<?>[clients];
+        for (int i = 0; i < clients; i++) {
+            waiters[i] = runCycles(i % 50 + 1, cycles);
+        }
+        CompletableFuture.allOf(waiters).join();
+        long elapsed = System.nanoTime() - start;
+
+        int count = recorded.get();
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("Clientes: %d, peticiones: %d, errores: %d, tiempo: %.2f s%n",
+                clients, count, failures.get(), elapsed / 1e9);
+        System.out.printf("Throughput: %.0f peticiones/s%n", count / (elapsed / 1e9));
+        System.out.printf("Latencia (ms)  p50: %.2f  p90: %.2f  p99: %.2f  p99.9: %.2f  max: %.2f%n",
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                percentile(sorted, 0.999), percentile(sorted, 1.0));
+    }
+
+    private CompletableFuture<Void> runCycles(int table, int remaining) {
+        if (remaining == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return post("/api/orders", "{\"tableNumber\":" + table + "}")
+                .thenCompose(body -> {
+                    Matcher matcher = ID.matcher(body);
+                    if (!matcher.find()) {
+                        return CompletableFuture.completedFuture(null);
+                    }
+                    String orders = "/api/orders/" + matcher.group(1);
+                    return addItem(orders)
+                            .thenCompose(ignored -> addItem(orders))
+                            .thenCompose(ignored -> addItem(orders))
+                            .thenCompose(ignored -> post(orders + "/deliver", ""))
+                            .thenCompose(ignored -> post(orders + "/close", "{}"));
+                })
+                .thenCompose(ignored -> runCycles(table, remaining - 1));
+    }
+
+    private CompletableFuture<String> addItem(String orders) {
+        String productId = productIds.get(ThreadLocalRandom.current().nextInt(productIds.size()));
+        int quantity = ThreadLocalRandom.current().nextInt(1, 4);
+        return post(orders + "/items", "{\"productId\":\"" + productId + "\",\"quantity\":" + quantity + "}");
+    }
+
+    private CompletableFuture<String> post(String path, String json) {
+        HttpRequest request = request(path)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+
+        long start = System.nanoTime();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .handle((response, error) -> {
+                    record(System.nanoTime() - start);
+                    if (error != null || response.statusCode() >= 400) {
+                        failures.incrementAndGet();
+                        return "";
+                    }
+                    return response.body();
+                });
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", authorization);
+    }
+
+    private void record(long nanos) {
+        int index = recorded.getAndIncrement();
+        if (index < latencies.length) {
+            latencies[index] = nanos;
+        }
+    }
+
+    private static double percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,93 @@
+package com.restaurant.benchmark;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.model.ZReport;
+import com.restaurant.domain.service.ZReportGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reporte Z sobre millones de pedidos cerrados: referencia secuencial contra fork/join con
+ * distintos grados de paralelismo. Para no necesitar decenas de GB, la lista repite un conjunto
+ * de hasta 1M pedidos distintos (el recorrido y la agregación son los mismos).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class ZReportBenchmark {
+    private static final int DISTINCT_ORDERS = 1_000_000;
+
+    @Param({"1000000", "10000000"})
+    private int orders;
+
+    @Param({"1", "2", "4", "8"})
+    private int parallelism;
+
+    private List<Order> closedOrders;
+    private ForkJoinPool pool;
+    private ZReportGenerator generator;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(7);
+        List<Product> products = new ArrayList<>();
+        String[] categories = {"ENTRADA", "PLATO_FUERTE", "POSTRE", "BEBIDA"};
+        for (int i = 0; i < 200; i++) {
+            products.add(Product.builder()
+                    .id(UUID.randomUUID())
+                    .name("Producto " + i)
+                    .price(5_000 + random.nextInt(300_000))
+                    .category(categories[i % categories.length])
+                    .build());
+        }
+
+        int distinct = Math.min(orders, DISTINCT_ORDERS);
+        List<Order> pool = new ArrayList<>(distinct);
+        for (int i = 0; i < distinct; i++) {
+            Order order = new Order(i % 50 + 1);
+            int lines = 1 + random.nextInt(4);
+            for (int l = 0; l < lines; l++) {
+                order.addItem(products.get(random.nextInt(products.size())), 1 + random.nextInt(3));
+            }
+            if (random.nextInt(5) == 0) {
+                order.applyCouponDiscount(10, order.calculateSubtotal() / 10);
+            }
+            order.changeStatus(OrderStatus.CLOSED);
+            pool.add(order);
+        }
+
+        closedOrders = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            closedOrders.add(pool.get(i % distinct));
+        }
+
+        this.pool = new ForkJoinPool(parallelism);
+        generator = new ZReportGenerator(this.pool, ZReportGenerator.DEFAULT_TOP_PRODUCTS);
+    }
+
+    @TearDown
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    public ZReport sequential() {
+        return generator.generateSequential(closedOrders);
+    }
+
+    @Benchmark
+    public ZReport forkJoin() {
+        return generator.generate(closedOrders);
+    }
+}
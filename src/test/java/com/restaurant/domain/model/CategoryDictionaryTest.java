@@ -0,0 +1,30 @@
+package com.restaurant.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CategoryDictionaryTest {
+
+	@Test
+	void productsShareTheDictionaryEntryOfTheirCategory() {
+		CategoryDictionary categories = new CategoryDictionary();
+		Product first = Product.builder().name("Agua").price(3_000).category(categories.intern(new String("BEBIDA"))).build();
+		// Se normaliza igual que el índice por categoría: conserva el nombre visto primero
+		Product second = Product.builder().name("Jugo").price(5_000).category(categories.intern(" bebida ")).build();
+		assertEquals("BEBIDA", second.getCategory());
+		assertSame(first.getCategory(), second.getCategory());
+		assertNull(categories.intern(null));
+
+		for (int i = 0; i < 40; i++) {
+			categories.intern("CATEGORIA_" + i);
+		}
+		for (int i = 0; i < 40; i++) {
+			assertEquals("CATEGORIA_" + i, categories.intern(" categoria_" + i));
+		}
+		assertEquals(41, categories.size());
+		assertSame(first.getCategory(), categories.intern("Bebida"));
+	}
+}
@@ -0,0 +1,33 @@
+package com.restaurant.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MoneyTest {
+
+	@Test
+	void parsesMajorUnitsIntoMinorUnits() {
+		assertEquals(1_500_000, Money.parse(" 15000 "));
+		assertEquals(1_500_050, Money.parse("15000.5"));
+		assertEquals(-325, Money.parse("-3.25"));
+		assertEquals(1_001, Money.parse("10.005"));
+		assertThrows(IllegalArgumentException.class, () -> Money.parse("12,5"));
+	}
+
+	@Test
+	void percentRoundsHalfUp() {
+		assertEquals(150_000, Money.percentOf(1_500_000, 10));
+		assertEquals(13, Money.percentOf(125, 10));
+		assertEquals(-13, Money.percentOf(-125, 10));
+		assertEquals(94, Money.percentOf(1_250, 7.5));
+	}
+
+	@Test
+	void formatsWithTwoDecimals() {
+		assertEquals("15000.00", Money.toPlainString(1_500_000));
+		assertEquals("-0.05", Money.toPlainString(-5));
+	}
+
+}
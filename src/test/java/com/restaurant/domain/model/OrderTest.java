@@ -0,0 +1,77 @@
+package com.restaurant.domain.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class OrderTest {
+
+	@Test
+	void linesKeepTheUnitPriceOfTheSaleAndMergeRepeatedProductsPastTheIndexThreshold() {
+		Order order = new Order(4);
+		Product[] menu = new Product[12];
+		for (int i = 0; i < menu.length; i++) {
+			menu[i] = product(UUID.randomUUID(), "Plato " + i, 10_000 + i);
+			order.addItem(menu[i], 1);
+		}
+		// Con más de ocho líneas la fusión pasa por el índice por producto
+		order.addItem(menu[2], 2);
+		order.addItem(menu[11], 1);
+		assertEquals(12, order.getLineCount());
+		assertEquals(3, order.getLineQuantity(2));
+		assertEquals(2, order.getLineQuantity(11));
+
+		// Un cambio de precio abre una línea nueva; la anterior conserva su precio y el subtotal no cambia
+		long subtotal = order.calculateSubtotal();
+		Product repriced = product(menu[2].getId(), "Plato 2", 50_000);
+		order.addItem(repriced, 1);
+		assertEquals(13, order.getLineCount());
+		assertEquals(10_002, order.getItems().get(2).unitPrice());
+		assertEquals(subtotal + 50_000, order.calculateSubtotal());
+		order.addItem(repriced, 1);
+		assertEquals(2, order.getLineQuantity(12));
+
+		Order copy = order.copy();
+		copy.addItem(menu[0], 5);
+		assertEquals(1, order.getLineQuantity(0));
+		assertEquals(6, copy.getLineQuantity(0));
+		assertSame(menu[0], order.getItems().get(0).product());
+		assertThrows(IndexOutOfBoundsException.class, () -> order.getLineQuantity(13));
+		assertThrows(UnsupportedOperationException.class, () -> order.getItems().remove(0));
+	}
+
+	@Test
+	void overflowingAdditionsLeaveLinesAndSubtotalUntouched() {
+		Order order = new Order(4);
+		Product water = product(UUID.randomUUID(), "Agua", 1);
+		order.addItem(water, Integer.MAX_VALUE);
+
+		// La cantidad fusionada desborda el int de la línea
+		assertThrows(ArithmeticException.class, () -> order.addItem(water, 1));
+		assertThrows(ArithmeticException.class, () -> order.addItems(List.of(new OrderItem(water, 1))));
+		assertEquals(1, order.getLineCount());
+		assertEquals(Integer.MAX_VALUE, order.getLineQuantity(0));
+		assertEquals(Integer.MAX_VALUE, order.calculateSubtotal());
+
+		// El subtotal desborda: la línea nueva no llega a agregarse
+		Product caviar = product(UUID.randomUUID(), "Caviar", Long.MAX_VALUE / 2);
+		assertThrows(ArithmeticException.class, () -> order.addItem(caviar, 3));
+		assertEquals(1, order.getLineCount());
+		assertEquals(Integer.MAX_VALUE, order.calculateSubtotal());
+		assertEquals(order.calculateSubtotal(), order.getTotal());
+	}
+
+	private static Product product(UUID id, String name, long price) {
+		return Product.builder()
+				.id(id)
+				.name(name)
+				.price(price)
+				.category("PLATO_FUERTE")
+				.build();
+	}
+}
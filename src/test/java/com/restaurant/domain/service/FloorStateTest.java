@@ -0,0 +1,71 @@
+package com.restaurant.domain.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FloorStateTest {
+
+	@Test
+	void freeTablesMatchOpenOrdersAfterConcurrentChurn() throws Exception {
+		// Más de una palabra del bitset, con la última incompleta
+		FloorState floorState = new FloorState(70);
+
+		int workers = 4;
+		ExecutorService executor = Executors.newFixedThreadPool(workers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<>();
+		for (int w = 0; w < workers; w++) {
+			int seed = w;
+			results.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < 20_000; i++) {
+					int table = (i * 7 + seed) % floorState.tables() + 1;
+					UUID orderId = UUID.randomUUID();
+					if (floorState.claim(table, orderId) && i % 3 != 0) {
+						floorState.release(table, orderId);
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> result : results) {
+			result.get();
+		}
+		executor.shutdown();
+
+		List<Integer> expectedFree = new ArrayList<>();
+		for (int table = 1; table <= floorState.tables(); table++) {
+			if (floorState.openOrder(table).isEmpty()) {
+				expectedFree.add(table);
+			}
+		}
+		assertEquals(expectedFree, floorState.freeTables());
+		assertEquals(floorState.tables() - expectedFree.size(), floorState.occupiedCount());
+		assertEquals(expectedFree.isEmpty() ? -1 : expectedFree.get(0), floorState.firstFreeTable());
+		assertFalse(floorState.freeTables().contains(floorState.tables() + 1));
+	}
+
+	@Test
+	void releaseMatchesTheOrderIdByValue() {
+		FloorState floorState = new FloorState(5);
+		UUID orderId = UUID.randomUUID();
+		assertTrue(floorState.claim(2, orderId));
+
+		// Un pedido releído del repositorio trae su propia instancia del UUID
+		assertFalse(floorState.release(2, UUID.randomUUID()));
+		assertTrue(floorState.release(2, UUID.fromString(orderId.toString())));
+		assertEquals(List.of(1, 2, 3, 4, 5), floorState.freeTables());
+	}
+}
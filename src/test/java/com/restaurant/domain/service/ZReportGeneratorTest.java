@@ -0,0 +1,64 @@
+package com.restaurant.domain.service;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.model.ZReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ZReportGeneratorTest {
+
+	private static final String[] CATEGORIES = {"ENTRADA", "PLATO_FUERTE", "POSTRE", "BEBIDA"};
+
+	@Test
+	void parallelReportMatchesSequentialReference() {
+		Random random = new Random(42);
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < 40; i++) {
+			products.add(Product.builder()
+					.id(UUID.randomUUID())
+					.name("Plato " + i)
+					.price(5_000 + random.nextInt(200_000))
+					.category(CATEGORIES[i % CATEGORIES.length])
+					.build());
+		}
+
+		List<Order> orders = new ArrayList<>();
+		for (int i = 0; i < 20_000; i++) {
+			Order order = new Order(i % 30 + 1);
+			int lines = 1 + random.nextInt(5);
+			for (int l = 0; l < lines; l++) {
+				order.addItem(products.get(random.nextInt(products.size())), 1 + random.nextInt(3));
+			}
+			if (random.nextInt(4) == 0) {
+				order.applyCouponDiscount(15, order.calculateSubtotal() * 15 / 100);
+			}
+			order.changeStatus(random.nextInt(10) == 0 ? OrderStatus.CANCELLED : OrderStatus.CLOSED);
+			orders.add(order);
+		}
+
+		ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			ZReportGenerator generator = new ZReportGenerator(pool, 5, 64);
+			ZReport sequential = generator.generateSequential(orders);
+			ZReport parallel = generator.generate(orders);
+
+			assertEquals(sequential, parallel);
+			assertEquals(sequential, generator.generate(orders.stream()));
+			assertEquals(orders.stream().filter(order -> order.getStatus() == OrderStatus.CLOSED).count(), parallel.orders());
+			assertEquals(parallel.gross() - parallel.discounts(), parallel.net());
+			assertEquals(parallel.gross(), parallel.categoryRevenue().values().stream().mapToLong(Long::longValue).sum());
+			assertEquals(5, parallel.topProducts().size());
+		} finally {
+			pool.shutdown();
+		}
+	}
+}
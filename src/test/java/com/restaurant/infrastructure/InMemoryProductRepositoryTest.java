@@ -0,0 +1,124 @@
+package com.restaurant.infrastructure;
+
+import com.restaurant.domain.model.MenuSnapshot;
+import com.restaurant.domain.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryProductRepositoryTest {
+
+	@Test
+	void saveAllAssignsIdsAndKeepsIndexesInSyncWithRepricingAndRecategorisation() {
+		InMemoryProductRepository repository = new InMemoryProductRepository();
+		repository.save(product(null, "Limonada", 500_000, "BEBIDA"));
+
+		List<Product> imported = new ArrayList<>();
+		for (int i = 0; i < 1_000; i++) {
+			imported.add(product(null, "Plato " + i, 1_000_000 + i, i % 2 == 0 ? "ENTRADA" : "POSTRE"));
+		}
+		repository.saveAll(imported);
+
+		List<Product> all = repository.findAll();
+		assertEquals(1_001, all.size());
+		assertEquals(1_001, new HashSet<>(all.stream().map(Product::getId).toList()).size());
+		all.forEach(product -> assertEquals(4, product.getId().version()));
+		assertEquals(500, repository.findByCategory("entrada").size());
+
+		// Un segundo lote cambia de categoría y de precio productos existentes, repitiendo uno de ellos
+		UUID id = repository.findByName("Plato 0").orElseThrow().getId();
+		repository.saveAll(List.of(
+				product(id, "Plato 0", 1_200_000, "POSTRE"),
+				product(id, "Plato cero", 1_300_000, "BEBIDA")));
+
+		assertEquals(499, repository.findByCategory("ENTRADA").size());
+		assertEquals(500, repository.findByCategory("POSTRE").size());
+		assertEquals(2, repository.findByCategory("BEBIDA").size());
+		assertTrue(repository.findByName("Plato 0").isEmpty());
+		Product renamed = repository.findByName("plato cero").orElseThrow();
+		assertEquals(1_300_000, renamed.getPrice());
+		assertNotNull(repository.findById(id).orElseThrow());
+		assertEquals(1_001, repository.findAll().size());
+
+		// Los productos de una categoría comparten su nombre, aunque lleguen escritos de otra forma
+		Product water = repository.save(product(null, "Agua", 300_000, new String(" bebida")));
+		assertSame(repository.findByName("Limonada").orElseThrow().getCategory(), water.getCategory());
+		assertEquals(3, repository.findByCategory("BEBIDA").size());
+	}
+
+	@Test
+	void productsSharingANameKeepTheirNameIndexEntries() {
+		InMemoryProductRepository repository = new InMemoryProductRepository();
+		Product lunch = repository.save(product(null, "Menú del día", 1_500_000, "PLATO_FUERTE"));
+		Product dinner = repository.save(product(null, "menú del día ", 2_000_000, "PLATO_FUERTE"));
+		repository.saveAll(List.of(product(null, "Menú del día", 800_000, "ENTRADA")));
+
+		assertEquals(3, repository.findByNamePrefix("menú", 10).size());
+		assertEquals(2, repository.findByNamePrefix("menú", 2).size());
+
+		// Borrar o renombrar uno no saca a los demás del índice
+		repository.deleteById(dinner.getId());
+		assertTrue(repository.findByName("MENÚ DEL DÍA").isPresent());
+		repository.save(product(lunch.getId(), "Almuerzo", 1_500_000, "PLATO_FUERTE"));
+		Product remaining = repository.findByName("menú del día").orElseThrow();
+		assertEquals(800_000, remaining.getPrice());
+		assertEquals(List.of(remaining), repository.findByNamePrefix("menú", 10));
+
+		repository.deleteById(remaining.getId());
+		assertTrue(repository.findByName("menú del día").isEmpty());
+		assertEquals(1, repository.findByNamePrefix("alm", 10).size());
+	}
+
+	@Test
+	void snapshotIsReusedUntilTheMenuChangesAndIsSortedByCategoryAndName() {
+		InMemoryProductRepository repository = new InMemoryProductRepository();
+		assertSame(MenuSnapshot.EMPTY, repository.snapshot());
+
+		repository.saveAll(List.of(
+				product(null, "Torta", 900_000, "POSTRE"),
+				product(null, "Agua", 300_000, "BEBIDA"),
+				product(null, "Flan", 800_000, "POSTRE")));
+		MenuSnapshot menu = repository.snapshot();
+		assertSame(menu, repository.snapshot());
+		assertEquals(List.of("Agua", "Flan", "Torta"), menu.products().stream().map(Product::getName).toList());
+		assertEquals(List.of("BEBIDA", "POSTRE"), List.copyOf(menu.byCategory().keySet()));
+		assertEquals(2, menu.byCategory().get("POSTRE").size());
+		assertThrows(UnsupportedOperationException.class, () -> menu.products().clear());
+
+		// Borrar un ID inexistente no cambia la carta; borrar o repreciar uno existente sí
+		repository.deleteById(UUID.randomUUID());
+		assertSame(menu, repository.snapshot());
+
+		Product water = repository.findByName("agua").orElseThrow();
+		repository.save(product(water.getId(), "Agua", 350_000, "BEBIDA"));
+		MenuSnapshot repriced = repository.snapshot();
+		assertNotSame(menu, repriced);
+		assertTrue(repriced.version() > menu.version());
+		assertEquals(350_000, repriced.products().get(0).getPrice());
+		assertEquals(300_000, menu.products().get(0).getPrice());
+
+		repository.deleteById(water.getId());
+		MenuSnapshot withoutWater = repository.snapshot();
+		assertTrue(withoutWater.version() > repriced.version());
+		assertEquals(List.of("POSTRE"), List.copyOf(withoutWater.byCategory().keySet()));
+	}
+
+	private static Product product(UUID id, String name, long price, String category) {
+		return Product.builder()
+				.id(id)
+				.name(name)
+				.price(price)
+				.category(category)
+				.build();
+	}
+}
@@ -0,0 +1,208 @@
+package com.restaurant.infrastructure.journal;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.model.ZReport;
+import com.restaurant.domain.service.SalesAnalytics;
+import com.restaurant.domain.service.ZReportGenerator;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import com.restaurant.usecase.ReportUseCase;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchivingOrderRepositoryTest {
+
+	@TempDir
+	Path directory;
+
+	private final Product pasta = product("Pasta Carbonara", 2_500_000);
+	private final Product juice = product("Jugo natural", 700_000);
+
+	@Test
+	void movesOldestTerminalOrdersToArchiveAndFindsThemById() throws Exception {
+		List<UUID> closed = new ArrayList<>();
+		int archived;
+		try (ArchivingOrderRepository repository = new ArchivingOrderRepository(
+				new InMemoryOrderRepository(), directory, 10, 4, 16)) {
+			for (int i = 0; i < 50; i++) {
+				closed.add(repository.save(closedOrder(i % 8 + 1)).getId());
+			}
+			UUID open = repository.save(new Order(3)).getId();
+
+			// Solo quedan en memoria el pedido abierto y entre 10 y 10 + bloque pedidos cerrados
+			int hotClosed = repository.findByStatus(OrderStatus.CLOSED).size();
+			assertTrue(hotClosed >= 10 && hotClosed < 14, "hot closed orders: " + hotClosed);
+			archived = 50 - hotClosed;
+			assertTrue(repository.segmentCount() > 1);
+			assertEquals(51, repository.count());
+			assertEquals(50, repository.countByStatus(OrderStatus.CLOSED));
+			assertEquals(open, repository.findByStatus(OrderStatus.CREATED).get(0).getId());
+
+			Order first = repository.findById(closed.get(0)).orElseThrow();
+			assertEquals(OrderStatus.CLOSED, first.getStatus());
+			assertEquals(1, first.getTableNumber());
+			assertEquals(5_700_000, first.calculateSubtotal());
+			assertEquals(570_000, first.getDiscountAmount());
+		}
+
+		try (ArchivingOrderRepository repository = new ArchivingOrderRepository(
+				new InMemoryOrderRepository(), directory, 10, 4, 16)) {
+			// Se archivan primero los más antiguos: tras reiniciar solo quedan los archivados
+			for (UUID id : closed.subList(0, archived)) {
+				assertTrue(repository.findById(id).isPresent(), "archived order " + id);
+			}
+			assertTrue(repository.findById(closed.get(49)).isEmpty());
+			assertEquals(archived, repository.countByStatus(OrderStatus.CLOSED));
+		}
+	}
+
+	@Test
+	void endOfDayReportIncludesArchivedClosedOrders() throws Exception {
+		try (ArchivingOrderRepository repository = new ArchivingOrderRepository(
+				new InMemoryOrderRepository(), directory, 10, 4, 16)) {
+			Set<UUID> closed = new HashSet<>();
+			for (int i = 0; i < 50; i++) {
+				closed.add(repository.save(closedOrder(i % 8 + 1)).getId());
+			}
+			repository.save(new Order(3));
+			UUID deleted = closed.iterator().next();
+			repository.deleteById(deleted);
+			closed.remove(deleted);
+			assertTrue(repository.findByStatus(OrderStatus.CLOSED).size() < 14);
+
+			// Varios segmentos sellados más el activo, sin duplicados ni pedidos eliminados
+			try (Stream<Order> stream = repository.streamByStatus(OrderStatus.CLOSED)) {
+				assertEquals(closed, stream.map(Order::getId).collect(Collectors.toSet()));
+			}
+			try (Stream<Order> stream = repository.streamByStatus(OrderStatus.CLOSED)) {
+				assertEquals(closed.size(), stream.count());
+			}
+
+			ZReport report = new ReportUseCase(repository, new ZReportGenerator()).getEndOfDayReport();
+			assertEquals(49, report.orders());
+			assertEquals(49 * 5_700_000L, report.gross());
+		}
+	}
+
+	@Test
+	void deletesArchivedOrdersAndTruncatesTornSegmentTail() throws Exception {
+		List<UUID> closed = new ArrayList<>();
+		try (ArchivingOrderRepository repository = new ArchivingOrderRepository(
+				new InMemoryOrderRepository(), directory, 0, 2, 1_000)) {
+			for (int i = 0; i < 6; i++) {
+				closed.add(repository.save(closedOrder(i + 1)).getId());
+			}
+			assertEquals(0, repository.findAll().size());
+			repository.deleteById(closed.get(2));
+		}
+
+		// Simula un bloque a medio escribir al caer el proceso
+		try (var files = Files.list(directory)) {
+			Path segment = files.sorted().reduce((first, last) -> last).orElseThrow();
+			Files.write(segment, new byte[]{0, 0, 1, 0, 0, 0}, StandardOpenOption.APPEND);
+		}
+
+		try (ArchivingOrderRepository repository = new ArchivingOrderRepository(
+				new InMemoryOrderRepository(), directory, 0, 2, 1_000)) {
+			assertTrue(repository.findById(closed.get(2)).isEmpty());
+			assertEquals(5, repository.count());
+			assertEquals(OrderStatus.CLOSED, repository.findById(closed.get(5)).orElseThrow().getStatus());
+
+			UUID next = repository.save(closedOrder(9)).getId();
+			repository.save(closedOrder(10));
+			assertTrue(repository.findById(next).isPresent());
+			assertEquals(7, repository.count());
+		}
+	}
+
+	@Test
+	void archivedBlocksLeaveTheJournalOfTheHotTier() throws Exception {
+		Path journal = directory.resolve("journal");
+		Path archive = directory.resolve("archive");
+		List<UUID> closed = new ArrayList<>();
+		try (ArchivingOrderRepository repository = new ArchivingOrderRepository(
+				new JournalingOrderRepository(journal), archive, 4, 8, 1_000)) {
+			for (int i = 0; i < 40; i++) {
+				closed.add(repository.save(closedOrder(i % 8 + 1)).getId());
+			}
+			assertTrue(repository.findByStatus(OrderStatus.CLOSED).size() < 12);
+		}
+
+		// Los bloques archivados se borraron del journal: al reabrir solo vuelven los que quedaron en memoria
+		try (JournalingOrderRepository hot = new JournalingOrderRepository(journal)) {
+			assertTrue(hot.count() < 12, "orders left in the journal: " + hot.count());
+		}
+		try (ArchivingOrderRepository repository = new ArchivingOrderRepository(
+				new JournalingOrderRepository(journal), archive, 4, 8, 1_000)) {
+			assertEquals(40, repository.count());
+			for (UUID id : closed) {
+				assertTrue(repository.findById(id).isPresent(), "order " + id);
+			}
+		}
+	}
+
+	@Test
+	void salesAnalyticsStartsFromTheAggregatesSealedWithTheArchive() throws Exception {
+		try (ArchivingOrderRepository repository = new ArchivingOrderRepository(
+				new InMemoryOrderRepository(), directory, 10, 4, 16)) {
+			for (int i = 0; i < 50; i++) {
+				repository.save(closedOrder(i % 8 + 1));
+			}
+		}
+
+		try (ArchivingOrderRepository repository = new ArchivingOrderRepository(
+				new InMemoryOrderRepository(), directory, 10, 4, 16)) {
+			long archived = repository.countByStatus(OrderStatus.CLOSED);
+			assertTrue(repository.segmentCount() > 2);
+			repository.save(closedOrder(2));
+			repository.save(closedOrder(3));
+
+			// Segmentos sellados (acumulados guardados) + segmento activo + nivel 'hot', como si se releyera todo
+			SalesAnalytics seeded = new SalesAnalytics();
+			repository.seedSalesAnalytics(seeded);
+			SalesAnalytics replayed = new SalesAnalytics();
+			try (Stream<Order> closed = repository.streamByStatus(OrderStatus.CLOSED)) {
+				replayed.seed(closed);
+			}
+			assertEquals(archived + 2, seeded.total().orders());
+			assertEquals(replayed.total(), seeded.total());
+			assertEquals(replayed.products(), seeded.products());
+			assertEquals(replayed.categories(), seeded.categories());
+			assertEquals(replayed.tables(), seeded.tables());
+		}
+	}
+
+	private Order closedOrder(int table) {
+		Order order = new Order(table);
+		order.addItem(pasta, 2);
+		order.addItem(juice, 1);
+		order.applyDiscount(10);
+		order.changeStatus(OrderStatus.DELIVERED);
+		order.changeStatus(OrderStatus.CLOSED);
+		return order;
+	}
+
+	private static Product product(String name, long price) {
+		return Product.builder()
+				.id(UUID.randomUUID())
+				.name(name)
+				.price(price)
+				.category("PLATO_FUERTE")
+				.build();
+	}
+}
@@ -0,0 +1,213 @@
+package com.restaurant.infrastructure.journal;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JournalingOrderRepositoryTest {
+
+	@TempDir
+	Path directory;
+
+	private final Product pasta = product("Pasta Carbonara", 2_500_000);
+	private final Product juice = product("Jugo natural", 700_000);
+
+	@Test
+	void recoversOrdersFromJournalAfterRestart() throws Exception {
+		UUID closedId;
+		UUID openId;
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+			Order closed = repository.save(new Order(4));
+			closed.addItem(pasta, 2);
+			closed.changeStatus(OrderStatus.IN_PROGRESS);
+			repository.save(closed);
+			closed.addItem(pasta, 1);
+			closed.addItem(juice, 3);
+			closed.applyDiscount(10);
+			closed.changeStatus(OrderStatus.CLOSED);
+			repository.save(closed);
+			closedId = closed.getId();
+
+			Order open = new Order(7);
+			open.addItem(juice, 1);
+			openId = repository.save(open).getId();
+		}
+
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+			Order closed = repository.findById(closedId).orElseThrow();
+			assertEquals(OrderStatus.CLOSED, closed.getStatus());
+			assertEquals(2, closed.getItems().size());
+			assertEquals(3, closed.getItems().get(0).quantity());
+			assertEquals(9_600_000, closed.calculateSubtotal());
+			assertEquals(960_000, closed.getDiscountAmount());
+			assertEquals(8_640_000, closed.getTotal());
+			assertEquals(1, repository.findByStatus(OrderStatus.CREATED).size());
+			assertEquals(openId, repository.findByTableNumber(7).get(0).getId());
+		}
+	}
+
+	@Test
+	void replaysEntriesAfterSnapshotAndIgnoresTornTail() throws Exception {
+		UUID id;
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+			Order order = new Order(2);
+			order.addItem(pasta, 1);
+			id = repository.save(order).getId();
+			repository.checkpoint();
+
+			order.addItem(juice, 2);
+			order.changeStatus(OrderStatus.IN_PROGRESS);
+			repository.save(order);
+		}
+
+		// Simula un registro a medio escribir al caer el proceso
+		Files.write(directory.resolve("orders.journal"), new byte[]{0, 0, 0, 40, 1, 2},
+				StandardOpenOption.APPEND);
+
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+			Order order = repository.findById(id).orElseThrow();
+			assertEquals(OrderStatus.IN_PROGRESS, order.getStatus());
+			assertEquals(3_900_000, order.calculateSubtotal());
+
+			order.changeStatus(OrderStatus.DELIVERED);
+			repository.save(order);
+		}
+
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+			assertTrue(repository.findById(id).isPresent());
+			assertEquals(OrderStatus.DELIVERED, repository.findById(id).get().getStatus());
+		}
+	}
+
+	@Test
+	void writesDuringCheckpointsSurviveRestart() throws Exception {
+		int writers = 4;
+		int ordersPerWriter = 150;
+		List<UUID> ids = new ArrayList<>();
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory, 64)) {
+			ExecutorService executor = Executors.newFixedThreadPool(writers);
+			try {
+				List<Future<List<UUID>>> results = new ArrayList<>();
+				for (int w = 0; w < writers; w++) {
+					int table = w + 1;
+					results.add(executor.submit(() -> {
+						List<UUID> created = new ArrayList<>();
+						for (int i = 0; i < ordersPerWriter; i++) {
+							Order order = repository.save(new Order(table));
+							order.addItem(pasta, 1);
+							repository.save(order);
+							order.addItem(juice, 2);
+							order.changeStatus(OrderStatus.IN_PROGRESS);
+							// Los pedidos pares se cierran: dejan de tener copia en 'persisted' pero siguen en el snapshot
+							if (i % 2 == 0) {
+								order.changeStatus(OrderStatus.DELIVERED);
+								order.changeStatus(OrderStatus.CLOSED);
+							}
+							repository.save(order);
+							created.add(order.getId());
+							if (i % 50 == 0) {
+								repository.checkpoint();
+							}
+						}
+						return created;
+					}));
+				}
+				for (Future<List<UUID>> result : results) {
+					ids.addAll(result.get());
+				}
+			} finally {
+				executor.shutdown();
+			}
+		}
+
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+			assertEquals(writers * ordersPerWriter, repository.count());
+			assertEquals(writers * ordersPerWriter / 2, repository.countByStatus(OrderStatus.CLOSED));
+			for (UUID id : ids) {
+				assertEquals(3_900_000, repository.findById(id).orElseThrow().calculateSubtotal());
+			}
+		}
+		// Cada snapshot escrito borra los journals rotados que cubre
+		try (Stream<Path> files = Files.list(directory)) {
+			assertTrue(files.noneMatch(file -> file.getFileName().toString().matches("orders\\.journal\\.\\d+")));
+		}
+	}
+
+	@Test
+	void checkpointsWriteOnlyNewlyClosedOrdersAndCompactDeletedOnes() throws Exception {
+		int closedOrders = JournalingOrderRepository.MIN_CLOSED_GARBAGE + 200;
+		List<UUID> closedIds = new ArrayList<>();
+		UUID openId;
+		UUID lateId;
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+			for (int i = 0; i < closedOrders; i++) {
+				Order order = new Order(1 + i % 20);
+				order.addItem(pasta, 1);
+				order.changeStatus(OrderStatus.IN_PROGRESS);
+				order.changeStatus(OrderStatus.CLOSED);
+				closedIds.add(repository.save(order).getId());
+			}
+			Order open = new Order(3);
+			open.addItem(juice, 2);
+			openId = repository.save(open).getId();
+			repository.checkpoint();
+
+			// El snapshot solo lleva el pedido abierto; los cerrados van al archivo de terminados
+			assertTrue(Files.size(directory.resolve("orders.snapshot")) < 1_000);
+			long closedFileSize = Files.size(directory.resolve("orders.closed.0"));
+			repository.checkpoint();
+			assertEquals(closedFileSize, Files.size(directory.resolve("orders.closed.0")));
+
+			// Los borrados dejan registros obsoletos; al superar a los vigentes el archivo se reescribe
+			repository.deleteAllById(closedIds.subList(0, closedOrders - 100));
+			repository.checkpoint();
+			repository.checkpoint();
+			assertTrue(Files.exists(directory.resolve("orders.closed.1")));
+			assertTrue(Files.notExists(directory.resolve("orders.closed.0")));
+
+			Order late = repository.findById(openId).orElseThrow();
+			late.changeStatus(OrderStatus.IN_PROGRESS);
+			late.changeStatus(OrderStatus.CLOSED);
+			lateId = repository.save(late).getId();
+		}
+
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+			assertEquals(101, repository.count());
+			assertEquals(101, repository.countByStatus(OrderStatus.CLOSED));
+			assertTrue(repository.findById(closedIds.get(0)).isEmpty());
+			assertEquals(2_500_000, repository.findById(closedIds.get(closedOrders - 1)).orElseThrow().calculateSubtotal());
+			assertEquals(1_400_000, repository.findById(lateId).orElseThrow().calculateSubtotal());
+			repository.checkpoint();
+		}
+
+		try (JournalingOrderRepository repository = new JournalingOrderRepository(directory)) {
+			assertEquals(101, repository.countByStatus(OrderStatus.CLOSED));
+		}
+	}
+
+	private static Product product(String name, long price) {
+		return Product.builder()
+				.id(UUID.randomUUID())
+				.name(name)
+				.price(price)
+				.category("PLATO_FUERTE")
+				.build();
+	}
+
+}
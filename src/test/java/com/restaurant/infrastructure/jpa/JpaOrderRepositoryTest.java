@@ -0,0 +1,103 @@
+package com.restaurant.infrastructure.jpa;
+
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE, properties = "restaurant.repository=jpa")
+class JpaOrderRepositoryTest {
+
+	private static final Product SOUP = Product.builder()
+			.id(UUID.randomUUID()).name("Sopa del día").price(12_000).category("ENTRADA").build();
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Test
+	void streamByStatusReadsOutsideACallerTransaction() {
+		Order order = new Order(9);
+		order.addItem(SOUP, 2);
+		order.changeStatus(OrderStatus.CANCELLED);
+		orderRepository.save(order);
+
+		try (Stream<Order> cancelled = orderRepository.streamByStatus(OrderStatus.CANCELLED)) {
+			assertTrue(cancelled.anyMatch(found -> found.getId().equals(order.getId())));
+		}
+	}
+
+	@Test
+	void quantityOnlyChangeBumpsTheVersionSoAStaleCompareAndSetFails() {
+		Order order = new Order(4);
+		order.addItem(SOUP, 1);
+		orderRepository.save(order);
+
+		// Dos escritores leen la misma versión y suman 1 a la misma línea
+		Order first = orderRepository.findById(order.getId()).orElseThrow();
+		Order second = orderRepository.findById(order.getId()).orElseThrow();
+		long version = first.getVersion();
+		first.addItem(SOUP, 1);
+		second.addItem(SOUP, 1);
+
+		assertTrue(orderRepository.compareAndSet(first, version));
+		assertFalse(orderRepository.compareAndSet(second, version));
+
+		Order stored = orderRepository.findById(order.getId()).orElseThrow();
+		assertEquals(2, stored.getItems().get(0).quantity());
+		assertEquals(version + 1, stored.getVersion());
+	}
+
+	@Test
+	void concurrentAddsToTheSameLineAreNotLost() throws Exception {
+		Order order = new Order(5);
+		order.addItem(SOUP, 1);
+		orderRepository.save(order);
+
+		int writers = 4;
+		int addsPerWriter = 10;
+		ExecutorService executor = Executors.newFixedThreadPool(writers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<>();
+		for (int w = 0; w < writers; w++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < addsPerWriter; i++) {
+					// Reintento como OrderUseCase.updateOrder: releer y volver a aplicar
+					while (true) {
+						Order current = orderRepository.findById(order.getId()).orElseThrow();
+						long version = current.getVersion();
+						current.addItem(SOUP, 1);
+						if (orderRepository.compareAndSet(current, version)) {
+							break;
+						}
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> result : results) {
+			result.get();
+		}
+		executor.shutdown();
+
+		Order stored = orderRepository.findById(order.getId()).orElseThrow();
+		assertEquals(1 + writers * addsPerWriter, stored.getItems().get(0).quantity());
+	}
+}
@@ -0,0 +1,139 @@
+package com.restaurant.infrastructure.kitchen;
+
+import com.restaurant.domain.model.KitchenTicket;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.Product;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KitchenDispatchPipelineTest {
+
+	@Test
+	void slowStationRejectsWhenFullWithoutBlockingOtherStations() throws Exception {
+		CountDownLatch grillStarted = new CountDownLatch(1);
+		CountDownLatch grillReleased = new CountDownLatch(1);
+		Map<String, AtomicInteger> prepared = new ConcurrentHashMap<>();
+		KitchenDispatchPipeline pipeline = new KitchenDispatchPipeline((station, batch) -> {
+			if (station.equals("PLATO_FUERTE")) {
+				grillStarted.countDown();
+				await(grillReleased);
+			}
+			prepared.computeIfAbsent(station, key -> new AtomicInteger()).addAndGet(batch.size());
+		}, 4, 2);
+
+		// La parrilla se queda con el primer lote y su cola de 4 se llena; las bebidas siguen saliendo
+		int grillAccepted = 0;
+		int grillAttempts = 0;
+		for (int i = 0; i < 20; i++) {
+			grillAttempts++;
+			if (pipeline.dispatch(ticket("plato_fuerte"))) {
+				grillAccepted++;
+			}
+		}
+		grillStarted.await();
+		for (int i = 0; i < 10; i++) {
+			assertTrue(pipeline.dispatch(ticket("BEBIDA")));
+			Thread.sleep(2);
+		}
+
+		// Con el trabajador bloqueado, la cola se vuelve a llenar y se queda llena
+		while (true) {
+			grillAttempts++;
+			if (!pipeline.dispatch(ticket("PLATO_FUERTE"))) {
+				break;
+			}
+			grillAccepted++;
+		}
+		grillAttempts++;
+		assertFalse(pipeline.dispatch(ticket("PLATO_FUERTE")));
+
+		grillReleased.countDown();
+		pipeline.close();
+
+		List<StationStats> stats = pipeline.stats();
+		StationStats drinks = stats.get(0);
+		StationStats grill = stats.get(1);
+		assertEquals("BEBIDA", drinks.station());
+		assertEquals(10, drinks.prepared());
+		assertEquals(grillAccepted, grill.accepted());
+		assertEquals(grillAttempts - grillAccepted, grill.rejected());
+		assertEquals(grillAccepted, prepared.get("PLATO_FUERTE").get());
+		assertEquals(0, grill.depth());
+		assertEquals(4, grill.maxDepth());
+	}
+
+	@Test
+	void everyAcceptedTicketIsPreparedWhenClosingWhileDispatching() throws Exception {
+		AtomicInteger prepared = new AtomicInteger();
+		KitchenDispatchPipeline pipeline = new KitchenDispatchPipeline(
+				(station, batch) -> prepared.addAndGet(batch.size()), 1 << 16, 64);
+		AtomicInteger accepted = new AtomicInteger();
+		CountDownLatch dispatching = new CountDownLatch(2);
+		List<Thread> waiters = new ArrayList<>();
+		for (String category : List.of("BEBIDA", "POSTRE")) {
+			Thread waiter = new Thread(() -> {
+				dispatching.countDown();
+				// Tras el cierre cada dispatch devuelve false; lo aceptado antes tiene que salir de cocina
+				while (pipeline.dispatch(ticket(category))) {
+					accepted.incrementAndGet();
+				}
+			});
+			waiter.start();
+			waiters.add(waiter);
+		}
+		dispatching.await();
+		Thread.sleep(5);
+		pipeline.close();
+		for (Thread waiter : waiters) {
+			waiter.join();
+		}
+
+		assertTrue(accepted.get() > 0);
+		assertEquals(accepted.get(), prepared.get());
+	}
+
+	@Test
+	void ticketsOfAFailedBatchAreCountedAsFailedNotPrepared() {
+		KitchenDispatchPipeline pipeline = new KitchenDispatchPipeline((station, batch) -> {
+			if (station.equals("POSTRE")) {
+				throw new IllegalStateException("Impresora de postres sin papel");
+			}
+		}, 16, 4);
+		for (int i = 0; i < 3; i++) {
+			assertTrue(pipeline.dispatch(ticket("POSTRE")));
+			assertTrue(pipeline.dispatch(ticket("BEBIDA")));
+		}
+		pipeline.close();
+
+		StationStats drinks = pipeline.stats().get(0);
+		StationStats desserts = pipeline.stats().get(1);
+		assertEquals(3, drinks.prepared());
+		assertEquals(0, drinks.failed());
+		assertEquals(0, desserts.prepared());
+		assertEquals(3, desserts.failed());
+	}
+
+	private static KitchenTicket ticket(String category) {
+		Product product = Product.builder().id(UUID.randomUUID()).name("Plato").price(1_000_000).category(category).build();
+		return new KitchenTicket(UUID.randomUUID(), 5, new OrderItem(product, 1));
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,360 @@
+package com.restaurant.usecase;
+
+import com.restaurant.domain.model.Coupon;
+import com.restaurant.domain.model.KitchenTicket;
+import com.restaurant.domain.model.Order;
+import com.restaurant.domain.model.OrderItem;
+import com.restaurant.domain.model.OrderStatus;
+import com.restaurant.domain.model.Product;
+import com.restaurant.domain.service.DiscountService;
+import com.restaurant.domain.service.FloorState;
+import com.restaurant.domain.service.KitchenDispatcher;
+import com.restaurant.domain.service.SalesAnalytics;
+import com.restaurant.domain.service.SalesAnalytics.SalesTotals;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import com.restaurant.infrastructure.InMemoryCouponRepository;
+import com.restaurant.infrastructure.InMemoryOrderRepository;
+import com.restaurant.infrastructure.journal.ArchivingOrderRepository;
+import com.restaurant.infrastructure.metrics.MeteredCouponRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OrderUseCaseTest {
+
+	@Test
+	void concurrentWaitersAddingToTheSameOrderDoNotLoseItems() throws Exception {
+		InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+		InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+		OrderUseCase orderUseCase = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository));
+
+		List<Product> products = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			products.add(Product.builder().id(UUID.randomUUID()).name("Plato " + i).price(10_000).category("ENTRADA").build());
+		}
+		UUID orderId = orderUseCase.createOrder(7).getId();
+
+		int waiters = 8;
+		int itemsPerWaiter = 500;
+		ExecutorService executor = Executors.newFixedThreadPool(waiters);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> results = new ArrayList<>();
+		for (int w = 0; w < waiters; w++) {
+			Product product = products.get(w % products.size());
+			results.add(executor.submit(() -> {
+				start.await();
+				for (int i = 0; i < itemsPerWaiter; i++) {
+					orderUseCase.addItemToOrder(orderId, product, 1);
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> result : results) {
+			result.get();
+		}
+		executor.shutdown();
+
+		Order order = orderUseCase.getOrderById(orderId).orElseThrow();
+		assertEquals(products.size(), order.getItems().size());
+		assertEquals(waiters * itemsPerWaiter, order.getItems().stream().mapToInt(OrderItem::quantity).sum());
+		assertEquals(waiters * itemsPerWaiter * 10_000L, order.calculateSubtotal());
+		assertEquals(waiters * itemsPerWaiter, order.getVersion());
+	}
+
+	@Test
+	void concurrentClosesRecordEachOrderOnceInSalesAnalytics() throws Exception {
+		InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+		InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+		couponRepository.saveAll(List.of(new Coupon("DESCUENTO10", 0, 10)));
+		SalesAnalytics salesAnalytics = new SalesAnalytics();
+		OrderUseCase orderUseCase = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository),
+				KitchenDispatcher.NONE, salesAnalytics, new SimpleMeterRegistry());
+
+		Product pasta = Product.builder().id(UUID.randomUUID()).name("Pasta").price(30_001).category("PLATO_FUERTE").build();
+		Product soup = Product.builder().id(UUID.randomUUID()).name("Sopa").price(10_000).category("ENTRADA").build();
+		Product rice = Product.builder().id(UUID.randomUUID()).name("Arroz").price(20_000).category("PLATO_FUERTE").build();
+		UUID orderId = orderUseCase.createOrder(5).getId();
+		orderUseCase.addItemToOrder(orderId, pasta, 1);
+		orderUseCase.addItemToOrder(orderId, soup, 2);
+		orderUseCase.addItemToOrder(orderId, rice, 1);
+		orderUseCase.markOrderAsDelivered(orderId);
+
+		// Varios meseros cierran el mismo pedido a la vez: solo un cierre gana
+		int waiters = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(waiters);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Boolean>> results = new ArrayList<>();
+		for (int w = 0; w < waiters; w++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				try {
+					orderUseCase.closeOrder(orderId, "DESCUENTO10");
+					return true;
+				} catch (IllegalArgumentException e) {
+					return false;
+				}
+			}));
+		}
+		start.countDown();
+		int closed = 0;
+		for (Future<Boolean> result : results) {
+			closed += result.get() ? 1 : 0;
+		}
+		executor.shutdown();
+		assertEquals(1, closed);
+
+		Order order = orderUseCase.getOrderById(orderId).orElseThrow();
+		SalesTotals total = salesAnalytics.total();
+		assertEquals(new SalesTotals(order.getTotal(), 4, order.getDiscountAmount(), 1), total);
+		assertEquals(total, salesAnalytics.byTable(5));
+
+		// El descuento repartido por líneas suma exactamente el del pedido
+		SalesTotals mains = salesAnalytics.byCategory("PLATO_FUERTE");
+		SalesTotals starters = salesAnalytics.byCategory("ENTRADA");
+		assertEquals(order.getTotal(), mains.revenue() + starters.revenue());
+		assertEquals(order.getDiscountAmount(), mains.discount() + starters.discount());
+		assertEquals(1, mains.orders());
+		assertEquals(2, salesAnalytics.byProduct(soup.getId()).units());
+		assertThrows(IllegalArgumentException.class, () -> salesAnalytics.byHour(24));
+	}
+
+	@Test
+	void salesAnalyticsStartsFromOrdersClosedBeforeAndCountsEachOrderOncePerProduct() {
+		InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+		InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+		OrderUseCase before = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository));
+
+		// El precio cambia a mitad del pedido: el mismo producto queda en dos líneas
+		UUID productId = UUID.randomUUID();
+		Product soup = Product.builder().id(productId).name("Sopa").price(10_000).category("ENTRADA").build();
+		Product pricierSoup = Product.builder().id(productId).name("Sopa").price(12_000).category("ENTRADA").build();
+		UUID orderId = before.createOrder(2).getId();
+		before.addItemToOrder(orderId, soup, 1);
+		before.addItemToOrder(orderId, pricierSoup, 1);
+		before.markOrderAsDelivered(orderId);
+		before.closeOrder(orderId, null);
+
+		// Se carga al armar la aplicación; una segunda carga no vuelve a sumar
+		SalesAnalytics salesAnalytics = new SalesAnalytics();
+		orderRepository.seedSalesAnalytics(salesAnalytics);
+		orderRepository.seedSalesAnalytics(salesAnalytics);
+		OrderUseCase orderUseCase = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository),
+				KitchenDispatcher.NONE, salesAnalytics, new SimpleMeterRegistry());
+
+		assertEquals(new SalesTotals(22_000, 2, 0, 1), salesAnalytics.total());
+		assertEquals(new SalesTotals(22_000, 2, 0, 1), salesAnalytics.byProduct(productId));
+		assertEquals(1, salesAnalytics.byCategory("ENTRADA").orders());
+		// Sin hora de cierre, los pedidos cargados al arrancar no caen en ninguna franja
+		for (int hour = 0; hour < SalesAnalytics.HOURS; hour++) {
+			assertEquals(SalesTotals.EMPTY, salesAnalytics.byHour(hour));
+		}
+
+		orderUseCase.closeOrder(deliveredOrder(orderUseCase, soup), null);
+		assertEquals(2, salesAnalytics.total().orders());
+		assertEquals(2, salesAnalytics.byProduct(productId).orders());
+	}
+
+	@Test
+	void closingWithACouponLooksItUpOnce() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		InMemoryCouponRepository coupons = new InMemoryCouponRepository();
+		coupons.saveAll(List.of(new Coupon("DESCUENTO10", 0, 10)));
+		MeteredCouponRepository couponRepository = new MeteredCouponRepository(coupons, registry);
+		OrderUseCase orderUseCase = new OrderUseCase(new InMemoryOrderRepository(), couponRepository,
+				new DiscountService(couponRepository), KitchenDispatcher.NONE, registry);
+		Product soup = Product.builder().id(UUID.randomUUID()).name("Sopa").price(10_000).category("ENTRADA").build();
+
+		UUID withCoupon = deliveredOrder(orderUseCase, soup);
+		assertEquals(1_000, orderUseCase.closeOrder(withCoupon, "DESCUENTO10").getDiscountAmount());
+		UUID withInvalidCoupon = deliveredOrder(orderUseCase, soup);
+		assertThrows(IllegalArgumentException.class, () -> orderUseCase.closeOrder(withInvalidCoupon, "NOEXISTE"));
+
+		assertEquals(1, registry.get("restaurant.coupons.lookups").tag("result", "hit").counter().count());
+		assertEquals(1, registry.get("restaurant.coupons.lookups").tag("result", "miss").counter().count());
+	}
+
+	private static UUID deliveredOrder(OrderUseCase orderUseCase, Product product) {
+		UUID orderId = orderUseCase.createOrder(1).getId();
+		orderUseCase.addItemToOrder(orderId, product, 1);
+		orderUseCase.markOrderAsDelivered(orderId);
+		return orderId;
+	}
+
+	@Test
+	void batchAddWritesTheOrderOnceAndDispatchesEveryLine() {
+		AtomicInteger writes = new AtomicInteger();
+		InMemoryOrderRepository orderRepository = new InMemoryOrderRepository() {
+			@Override
+			public boolean compareAndSet(Order order, long expectedVersion) {
+				writes.incrementAndGet();
+				return super.compareAndSet(order, expectedVersion);
+			}
+		};
+		InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+		List<KitchenTicket> tickets = new ArrayList<>();
+		OrderUseCase orderUseCase = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository),
+				tickets::add, new SimpleMeterRegistry());
+
+		Product soup = Product.builder().id(UUID.randomUUID()).name("Sopa").price(10_000).category("ENTRADA").build();
+		Product rice = Product.builder().id(UUID.randomUUID()).name("Arroz").price(20_000).category("PLATO_FUERTE").build();
+		UUID orderId = orderUseCase.createOrder(9).getId();
+
+		Order order = orderUseCase.addItemsToOrder(orderId,
+				List.of(new OrderItem(soup, 2), new OrderItem(rice, 1), new OrderItem(soup, 1)));
+		assertEquals(1, writes.get());
+		assertEquals(OrderStatus.IN_PROGRESS, order.getStatus());
+		assertEquals(2, order.getLineCount());
+		assertEquals(3, order.getLineQuantity(0));
+		assertEquals(50_000, order.calculateSubtotal());
+		assertEquals(3, tickets.size());
+
+		// Un lote con una línea que desborda el subtotal no agrega ninguna
+		Product caviar = Product.builder().id(UUID.randomUUID()).name("Caviar").price(Long.MAX_VALUE / 2).category("ENTRADA").build();
+		assertThrows(ArithmeticException.class, () -> orderUseCase.addItemsToOrder(orderId,
+				List.of(new OrderItem(rice, 1), new OrderItem(caviar, 3))));
+		assertEquals(50_000, orderUseCase.getOrderById(orderId).orElseThrow().calculateSubtotal());
+		assertThrows(IllegalArgumentException.class, () -> orderUseCase.addItemsToOrder(orderId, List.of()));
+
+		orderUseCase.markOrderAsDelivered(orderId);
+		assertThrows(IllegalStateException.class, () -> orderUseCase.addItemsToOrder(orderId, List.of(new OrderItem(rice, 1))));
+		assertTrue(tickets.stream().allMatch(ticket -> ticket.orderId().equals(orderId)));
+		assertEquals(3, tickets.size());
+	}
+
+	@Test
+	void ticketsRejectedByTheKitchenAreCountedAndKeepTheLine() {
+		InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		OrderUseCase orderUseCase = new OrderUseCase(new InMemoryOrderRepository(), couponRepository,
+				new DiscountService(couponRepository), ticket -> false, registry);
+
+		Product soup = Product.builder().id(UUID.randomUUID()).name("Sopa").price(10_000).category("ENTRADA").build();
+		UUID orderId = orderUseCase.createOrder(3).getId();
+		orderUseCase.addItemToOrder(orderId, soup, 1);
+		orderUseCase.addItemsToOrder(orderId, List.of(new OrderItem(soup, 2), new OrderItem(soup, 1)));
+
+		assertEquals(3, registry.get("restaurant.kitchen.tickets.rejected").counter().count());
+		assertEquals(4, orderUseCase.getOrderById(orderId).orElseThrow().getLineQuantity(0));
+	}
+
+	@Test
+	void eachTableHasAtMostOneOpenOrderUnderConcurrentCreation() throws Exception {
+		InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+		InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+		FloorState floorState = new FloorState(10);
+		OrderUseCase orderUseCase = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository),
+				KitchenDispatcher.NONE, new SalesAnalytics(), floorState, new SimpleMeterRegistry());
+
+		int waiters = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(waiters);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicInteger created = new AtomicInteger();
+		List<Future<?>> results = new ArrayList<>();
+		for (int w = 0; w < waiters; w++) {
+			results.add(executor.submit(() -> {
+				start.await();
+				for (int table = 1; table <= floorState.tables(); table++) {
+					try {
+						orderUseCase.createOrder(table);
+						created.incrementAndGet();
+					} catch (IllegalStateException e) {
+						// Otro mesero abrió la mesa primero
+					}
+				}
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> result : results) {
+			result.get();
+		}
+		executor.shutdown();
+
+		assertEquals(floorState.tables(), created.get());
+		assertEquals(floorState.tables(), orderRepository.count());
+		assertTrue(orderUseCase.getFreeTables().isEmpty());
+
+		// Cancelar libera la mesa y permite abrir un pedido nuevo en ella
+		Order open = orderUseCase.getOpenOrderForTable(3).orElseThrow();
+		assertTrue(orderUseCase.cancelOrder(open.getId()));
+		assertEquals(List.of(3), orderUseCase.getFreeTables());
+		assertFalse(orderUseCase.getOpenOrderForTable(3).isPresent());
+		Order reopened = orderUseCase.createOrder(3);
+		assertEquals(reopened.getId(), orderUseCase.getOpenOrderForTable(3).orElseThrow().getId());
+		assertThrows(IllegalStateException.class, () -> orderUseCase.createOrder(3));
+	}
+
+	@Test
+	void tableNumbersOutsideTheFloorAreRejectedOnCreationAndSkippedAtStartup() {
+		InMemoryOrderRepository orderRepository = new InMemoryOrderRepository();
+		InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+		OrderUseCase orderUseCase = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository),
+				KitchenDispatcher.NONE, new SalesAnalytics(), new FloorState(10), new SimpleMeterRegistry());
+
+		IllegalArgumentException rejected = assertThrows(IllegalArgumentException.class, () -> orderUseCase.createOrder(11));
+		assertEquals("La mesa 11 no existe: el salón tiene mesas de 1 a 10", rejected.getMessage());
+		assertThrows(IllegalArgumentException.class, () -> orderUseCase.getOpenOrderForTable(0));
+		assertEquals(0, orderRepository.count());
+
+		// Un pedido recuperado que quedó abierto fuera del salón no impide arrancar: no ocupa mesa y se puede cancelar
+		UUID recovered = orderRepository.save(new Order(12)).getId();
+		FloorState floor = new FloorState(10);
+		OrderUseCase restarted = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository),
+				KitchenDispatcher.NONE, new SalesAnalytics(), floor, new SimpleMeterRegistry());
+		assertEquals(0, floor.occupiedCount());
+		assertTrue(restarted.cancelOrder(recovered));
+		assertEquals(OrderStatus.CANCELLED, orderRepository.findById(recovered).orElseThrow().getStatus());
+	}
+
+	@Test
+	void archivedOrdersAreRejectedWithoutRetrying(@TempDir Path archiveDir) throws Exception {
+		AtomicInteger writes = new AtomicInteger();
+		InMemoryOrderRepository hot = new InMemoryOrderRepository() {
+			@Override
+			public boolean compareAndSet(Order order, long expectedVersion) {
+				writes.incrementAndGet();
+				return super.compareAndSet(order, expectedVersion);
+			}
+		};
+		InMemoryCouponRepository couponRepository = new InMemoryCouponRepository();
+		try (ArchivingOrderRepository orderRepository = new ArchivingOrderRepository(hot, archiveDir, 0)) {
+			OrderUseCase orderUseCase = new OrderUseCase(orderRepository, couponRepository, new DiscountService(couponRepository));
+			Product soup = Product.builder().id(UUID.randomUUID()).name("Sopa").price(12_000).category("ENTRADA").build();
+
+			UUID orderId = orderUseCase.createOrder(2).getId();
+			orderUseCase.addItemToOrder(orderId, soup, 1);
+			orderUseCase.markOrderAsDelivered(orderId);
+			orderUseCase.closeOrder(orderId, null);
+			orderRepository.archiveTerminalOrders();
+			assertTrue(hot.findById(orderId).isEmpty());
+
+			writes.set(0);
+			// Cancelar o entregar un pedido terminado sigue devolviendo false, como antes de archivarlo
+			assertFalse(orderUseCase.cancelOrder(orderId));
+			assertFalse(orderUseCase.markOrderAsDelivered(orderId));
+			IllegalStateException error = assertThrows(IllegalStateException.class, () -> orderUseCase.addItemToOrder(orderId, soup, 1));
+			assertTrue(error.getMessage().contains("CLOSED"), error.getMessage());
+			assertThrows(IllegalArgumentException.class, () -> orderUseCase.closeOrder(orderId, null));
+			assertEquals(0, writes.get());
+
+			// Sin pasar por el caso de uso, el repositorio tampoco deja reintentar sobre un pedido archivado
+			Order archived = orderRepository.findById(orderId).orElseThrow();
+			assertThrows(IllegalStateException.class, () -> orderRepository.compareAndSet(archived, archived.getVersion()));
+		}
+	}
+}